@@ -0,0 +1,22 @@
+package com.example.Joinify.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Several threads, so a long job (rebuilding autocomplete) can't hold up the seat ledger
+    // flush or hold expiry, which run every few hundred milliseconds
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${joinify.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("joinify-scheduling-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.Joinify.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Column changes that {@code ddl-auto=update} won't make on an existing database: it adds
+ * tables and columns but never alters one. Runs once Hibernate has updated the schema
+ * (the entity manager factory is built first), before the application takes requests.
+ */
+@Component
+public class SchemaUpgrade {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaUpgrade.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Only here so Hibernate's own schema update has run by the time upgrade() does
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void upgrade() {
+        widenRsvpStatus();
+    }
+
+    // Hibernate 6 created rsvp.status as a native enum('PENDING','CONFIRMED','CANCELLED'), so
+    // storing WAITLISTED or HELD fails with "Data truncated". The entity now maps it as varchar(20).
+    private void widenRsvpStatus() {
+        List<String> types = jdbcTemplate.queryForList("SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'rsvp' AND COLUMN_NAME = 'status'", String.class);
+        if (!types.isEmpty() && "enum".equalsIgnoreCase(types.get(0))) {
+            jdbcTemplate.execute("ALTER TABLE rsvp MODIFY status varchar(20) NOT NULL");
+            logger.info("Changed rsvp.status from a MySQL enum to varchar(20)");
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.Joinify.config;
 
+import com.example.Joinify.security.IdempotencyFilter;
 import com.example.Joinify.security.JwtAuthenticationFilter;
+import com.example.Joinify.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -18,8 +22,10 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.Filter;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 @Configuration
 @EnableWebSecurity
@@ -29,7 +35,41 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    // Public reads that never look at the caller: events, counts, user listings and static files
+    private static final Pattern PUBLIC_READS = Pattern.compile(
+            "^/api/events(/(upcoming|past|available|\\d+(/capacity)?|search(/(title|location))?|suggest|nearby|within|date-range|organizer/\\d+))?/?$"
+                    + "|^/api/rsvp/(counts|event/\\d+/count)$"
+                    + "|^/api/users/(stats|organizers|attendees)$"
+                    + "|^/(index|hello|dashboard-attendee|dashboard-organizer|test)\\.html$"
+                    + "|^/(css|js|images|static)/.*$"
+                    + "|^/favicon\\.ico$");
+
+    // Fast path for public GETs: no JWT parsing, rate limiting or idempotency, and no
+    // session, CSRF or request-cache work. A bearer token sent along is ignored.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicReadFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(request -> "GET".equals(request.getMethod())
+                        && PUBLIC_READS.matcher(request.getRequestURI()).matches())
+                .csrf(csrf -> csrf.disable())
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .sessionManagement(session -> session.disable())
+                .requestCache(cache -> cache.disable())
+                .anonymous(anonymous -> anonymous.disable())
+                .logout(logout -> logout.disable());
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
@@ -51,6 +91,7 @@ public class SecurityConfig {
                                 "/api/events",
                                 "/api/events/**",        // Allow all event endpoints publicly for testing
                                 "/api/rsvp/event/*/count",
+                                "/api/rsvp/counts",
                                 "/api/users/stats",
                                 "/api/users/organizers",
                                 "/api/users/attendees",
@@ -67,11 +108,38 @@ public class SecurityConfig {
                             response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access denied");
                         })
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Turns abusive callers away before any token or database work
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+                // Needs the authenticated user to scope keys, so it runs after the JWT filter
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // These filters run inside the security chain only; registered with the servlet container
+    // as well, they would run on every request, the public fast path included
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        return disabledRegistration(jwtAuthenticationFilter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        return disabledRegistration(rateLimitFilter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration() {
+        return disabledRegistration(idempotencyFilter);
+    }
+
+    private static <T extends Filter> FilterRegistrationBean<T> disabledRegistration(T filter) {
+        FilterRegistrationBean<T> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -88,6 +156,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "Retry-After"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
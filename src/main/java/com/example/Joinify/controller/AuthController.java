@@ -2,10 +2,12 @@ package com.example.Joinify.controller;
 
 import com.example.Joinify.dto.LoginRequest;
 import com.example.Joinify.dto.LoginResponse;
+import com.example.Joinify.dto.RefreshRequest;
 import com.example.Joinify.dto.RegisterRequest;
 import com.example.Joinify.dto.RegisterResponse;
 import com.example.Joinify.exception.BadRequestException;
 import com.example.Joinify.exception.DuplicateResourceException;
+import com.example.Joinify.exception.ServiceUnavailableException;
 import com.example.Joinify.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +54,8 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             LoginResponse errorResponse = new LoginResponse(
                     null,
@@ -64,6 +68,23 @@ public class AuthController {
         }
     }
 
+    // Refresh Endpoint: a refresh token for a new access token (the refresh token is rotated)
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshRequest refreshRequest) {
+        return ResponseEntity.ok(authService.refresh(refreshRequest.getRefreshToken()));
+    }
+
+    // Logout Endpoint: revokes the refresh token in the body and the bearer access token
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequest refreshRequest,
+                                       @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String refreshToken = refreshRequest != null ? refreshRequest.getRefreshToken() : null;
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(refreshToken, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
     // Check Username Availability
     @GetMapping("/check-username/{username}")
     public ResponseEntity<Boolean> checkUsername(@PathVariable String username) {
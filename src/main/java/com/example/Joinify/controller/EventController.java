@@ -1,23 +1,44 @@
 package com.example.Joinify.controller;
 
+import com.example.Joinify.dto.CapacitySnapshot;
+import com.example.Joinify.dto.EventSearchCriteria;
+import com.example.Joinify.dto.EventSummary;
 import com.example.Joinify.entity.Event;
-import com.example.Joinify.entity.User;
+import com.example.Joinify.exception.BadRequestException;
 import com.example.Joinify.exception.ResourceNotFoundException;
+import com.example.Joinify.service.CapacityService;
+import com.example.Joinify.service.EventSearchIndex;
+import com.example.Joinify.service.EventGeoIndex;
 import com.example.Joinify.service.EventService;
+import com.example.Joinify.service.EventSuggestionService;
 import com.example.Joinify.service.UserService;
 import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.security.AuthenticatedUser;
+import com.example.Joinify.util.GeoGrid;
+import com.example.Joinify.util.InvertedIndex;
+import com.example.Joinify.util.KeysetCursor;
+import com.example.Joinify.util.SearchCursor;
+import com.example.Joinify.util.SuggestionTrie;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/events")
@@ -33,6 +54,38 @@ public class EventController {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private CapacityService capacityService;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventSuggestionService eventSuggestionService;
+
+    @Autowired
+    private EventGeoIndex eventGeoIndex;
+
+    @Value("${joinify.events.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${joinify.events.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${joinify.search.max-keyword-ids:1000}")
+    private int maxKeywordIds;
+
+    @Value("${joinify.geo.max-radius-km:500}")
+    private double maxRadiusKm;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Index lookups per nearby page, in case most hits are fully booked
+    private static final int MAX_NEARBY_ROUNDS = 10;
+
+    // Listing rows read at a time when a common keyword is checked against the search index
+    private static final int KEYWORD_SCAN_BATCH = 200;
+
     // Response class for event capacity
     public static class EventCapacityResponse {
         public final int maxCapacity;
@@ -48,36 +101,78 @@ public class EventController {
         }
     }
 
-    // Get all events with organizer data (JOIN FETCH)
+    // Response class for autocomplete suggestions
+    public static class SuggestionResponse {
+        public final String text;
+        public final String type;
+        public final long eventId;
+        public final int events;
+
+        public SuggestionResponse(String text, String type, long eventId, int events) {
+            this.text = text;
+            this.type = type;
+            this.eventId = eventId;
+            this.events = events;
+        }
+    }
+
+    // Response class for nearby search: the event card and how far away it is
+    public static class NearbyEventResponse {
+        public final EventSummary event;
+        public final double distanceKm;
+
+        public NearbyEventResponse(EventSummary event, double distanceKm) {
+            this.event = event;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    // Listings below return one page of event cards (EventSummary), ordered by (dateTime, id).
+    // Pass ?limit= for the page size (capped) and ?cursor= with the previous page's
+    // X-Next-Cursor header to continue; the header is absent on the last page.
+    // GET /{id} returns the full event.
+
+    // Get all events
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getAllEvents() {
-        List<Event> events = eventRepository.findAllEventsWithOrganizer();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventSummary>> getAllEvents(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit) {
+        KeysetCursor after = cursor(cursor, true);
+        int size = pageSize(limit);
+        return page(eventRepository.findSummaryPage(after.getDateTime(), after.getId(), fetch(size)), size);
     }
 
-    // Get upcoming events with organizer data (JOIN FETCH)
+    // Get upcoming events
     @GetMapping("/upcoming")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getUpcomingEvents() {
-        List<Event> events = eventRepository.findUpcomingEventsWithOrganizer(LocalDateTime.now());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventSummary>> getUpcomingEvents(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit) {
+        KeysetCursor after = cursor(cursor, true);
+        int size = pageSize(limit);
+        return page(eventRepository.findUpcomingSummaryPage(LocalDateTime.now(),
+                after.getDateTime(), after.getId(), fetch(size)), size);
     }
 
-    // Get past events with organizer data (JOIN FETCH)
+    // Get past events, most recent first
     @GetMapping("/past")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getPastEvents() {
-        List<Event> events = eventRepository.findPastEventsWithOrganizer(LocalDateTime.now());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventSummary>> getPastEvents(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        KeysetCursor after = cursor(cursor, false);
+        int size = pageSize(limit);
+        return page(eventRepository.findPastSummaryPage(LocalDateTime.now(),
+                after.getDateTime(), after.getId(), fetch(size)), size);
     }
 
-    // Get events with available capacity and organizer data (JOIN FETCH)
+    // Get events with available capacity
     @GetMapping("/available")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getEventsWithAvailableCapacity() {
-        List<Event> events = eventRepository.findEventsWithAvailableCapacityAndOrganizer(LocalDateTime.now());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventSummary>> getEventsWithAvailableCapacity(@RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer limit) {
+        KeysetCursor after = cursor(cursor, true);
+        int size = pageSize(limit);
+        return page(eventRepository.findAvailableSummaryPage(LocalDateTime.now(),
+                after.getDateTime(), after.getId(), fetch(size)), size);
     }
 
     // Get event by ID with organizer data
@@ -92,41 +187,184 @@ public class EventController {
         }
     }
 
-    // Search events by title with organizer data (JOIN FETCH)
-    @GetMapping("/search/title")
+    // Any combination of filters in one query, as a (dateTime, id) listing like the ones above:
+    // keyword (title or description), location, from/to (ISO date-times), minFee/maxFee,
+    // organizerId and hasCapacity. The keyword matches words as in the ranked searches below
+    // (every word, the last may be a prefix); location is a plain substring.
+    @GetMapping("/search")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> searchEventsByTitle(@RequestParam String keyword) {
-        try {
-            List<Event> events = eventRepository.findByTitleContainingIgnoreCaseWithOrganizer(keyword);
-            return ResponseEntity.ok(events);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+    public ResponseEntity<List<EventSummary>> searchEvents(@RequestParam(required = false) String keyword,
+                                                           @RequestParam(required = false) String location,
+                                                           @RequestParam(required = false) String from,
+                                                           @RequestParam(required = false) String to,
+                                                           @RequestParam(required = false) BigDecimal minFee,
+                                                           @RequestParam(required = false) BigDecimal maxFee,
+                                                           @RequestParam(required = false) Long organizerId,
+                                                           @RequestParam(defaultValue = "false") boolean hasCapacity,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit) {
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setKeyword(keyword);
+        criteria.setLocation(location);
+        criteria.setFrom(dateTime(from, "from"));
+        criteria.setTo(dateTime(to, "to"));
+        criteria.setMinFee(minFee);
+        criteria.setMaxFee(maxFee);
+        criteria.setOrganizerId(organizerId);
+        criteria.setHasCapacity(hasCapacity);
+        if (criteria.getFrom() != null && criteria.getTo() != null && criteria.getFrom().isAfter(criteria.getTo())) {
+            throw new BadRequestException("Start date cannot be after end date");
+        }
+        if (minFee != null && maxFee != null && minFee.compareTo(maxFee) > 0) {
+            throw new BadRequestException("Minimum fee cannot be above maximum fee");
+        }
+
+        KeysetCursor after = cursor(cursor, true);
+        int size = pageSize(limit);
+
+        // Look the keyword up in the search index and filter on the matching ids (by primary
+        // key) rather than scanning titles and descriptions with LIKE. A keyword so common that
+        // more than maxKeywordIds events match is checked against the index row by row instead:
+        // matches are then dense enough that walking the (date_time, id) index fills a page
+        // after a few rows, and the keyword means the same either way.
+        if (keyword != null && !keyword.isBlank()) {
+            criteria.setKeyword(null);
+            List<Long> ids = eventSearchIndex.matching(keyword, maxKeywordIds + 1,
+                    EventSearchIndex.TITLE, EventSearchIndex.DESCRIPTION);
+            if (ids.isEmpty()) {
+                return ResponseEntity.ok(List.of());
+            }
+            if (ids.size() > maxKeywordIds) {
+                return page(keywordPage(keyword, criteria, after, size + 1), size);
+            }
+            criteria.setEventIds(ids);
+        }
+
+        return page(eventRepository.searchSummaryPage(criteria, after.getDateTime(), after.getId(), size + 1), size);
+    }
+
+    // Up to limit events of the filtered listing whose title or description matches the keyword
+    // in the search index, reading the listing a batch at a time
+    private List<EventSummary> keywordPage(String keyword, EventSearchCriteria criteria, KeysetCursor after,
+                                           int limit) {
+        int batch = Math.max(limit, KEYWORD_SCAN_BATCH);
+        LocalDateTime afterDateTime = after.getDateTime();
+        long afterId = after.getId();
+        List<EventSummary> matched = new ArrayList<>(limit);
+        while (true) {
+            List<EventSummary> rows = eventRepository.searchSummaryPage(criteria, afterDateTime, afterId, batch);
+            for (EventSummary row : rows) {
+                if (!eventSearchIndex.matches(row.getId(), keyword, EventSearchIndex.TITLE,
+                        EventSearchIndex.DESCRIPTION)) {
+                    continue;
+                }
+                matched.add(row);
+                if (matched.size() == limit) {
+                    return matched;
+                }
+            }
+            if (rows.size() < batch) {
+                return matched;
+            }
+            EventSummary last = rows.get(rows.size() - 1);
+            afterDateTime = last.getDateTime();
+            afterId = last.getId();
         }
     }
 
-    // Search events by location with organizer data (JOIN FETCH)
+    // Search results come from the in-memory index, best match (BM25) first rather than by date.
+    // Every word of the query has to match unless ?matchAll=false; the last may be a prefix.
+    // With ?fuzzy=true words also match a close spelling ("confrence"), ranked below exact ones.
+    // The cursor for the next page is in X-Next-Cursor, as for the listings.
+
+    // Search events by title
+    @GetMapping("/search/title")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EventSummary>> searchEventsByTitle(@RequestParam String keyword,
+                                                                  @RequestParam(defaultValue = "true") boolean matchAll,
+                                                                  @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return search(keyword, matchAll, fuzzy, cursor, limit, EventSearchIndex.TITLE);
+    }
+
+    // Search events by location
     @GetMapping("/search/location")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> searchEventsByLocation(@RequestParam String location) {
+    public ResponseEntity<List<EventSummary>> searchEventsByLocation(@RequestParam String location,
+                                                                     @RequestParam(defaultValue = "true") boolean matchAll,
+                                                                     @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit) {
+        return search(location, matchAll, fuzzy, cursor, limit, EventSearchIndex.LOCATION);
+    }
+
+    // Autocomplete for the search box: titles and locations of upcoming events with a word
+    // starting with the prefix, most booked first (at most joinify.suggest.top-k). eventId is the best event with that text and
+    // events how many upcoming events share it. Served from memory.
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(@RequestParam String prefix,
+                                                            @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionResponse> suggestions = eventSuggestionService.suggest(prefix, Math.max(1, limit)).stream()
+                .map(EventController::suggestionResponse)
+                .toList();
+        return ResponseEntity.ok(suggestions);
+    }
+
+    // Nearby search covers upcoming events with a position (latitude/longitude) and seats left,
+    // nearest first, from an in-memory grid. The cursor for the next page is in X-Next-Cursor,
+    // as for the listings.
+
+    // Events within radiusKm (at most joinify.geo.max-radius-km) of a point
+    @GetMapping("/nearby")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<NearbyEventResponse>> getNearbyEvents(@RequestParam double lat,
+                                                                     @RequestParam double lng,
+                                                                     @RequestParam(defaultValue = "25") double radiusKm,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit) {
+        checkPosition(lat, lng);
+        if (!(radiusKm > 0 && radiusKm <= maxRadiusKm)) {
+            throw new BadRequestException("Radius must be greater than 0 and at most " + maxRadiusKm + " km");
+        }
+        return nearby(lat, lng, radiusKm, GeoGrid.Box.WORLD, cursor, limit);
+    }
+
+    // Events inside a map area, nearest its centre first. The area can't cross the antimeridian.
+    @GetMapping("/within")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<NearbyEventResponse>> getEventsWithin(@RequestParam double minLat,
+                                                                     @RequestParam double minLng,
+                                                                     @RequestParam double maxLat,
+                                                                     @RequestParam double maxLng,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit) {
+        checkPosition(minLat, minLng);
+        checkPosition(maxLat, maxLng);
+        GeoGrid.Box box;
         try {
-            List<Event> events = eventRepository.findByLocationContainingIgnoreCaseWithOrganizer(location);
-            return ResponseEntity.ok(events);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            box = new GeoGrid.Box(minLat, minLng, maxLat, maxLng);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid area: " + e.getMessage());
         }
+        return nearby((minLat + maxLat) / 2, (minLng + maxLng) / 2, Double.POSITIVE_INFINITY, box, cursor, limit);
     }
 
-    // Get events between dates with organizer data (JOIN FETCH)
+    // Get events between dates
     @GetMapping("/date-range")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getEventsBetweenDates(
+    public ResponseEntity<List<EventSummary>> getEventsBetweenDates(
             @RequestParam String startDate,
-            @RequestParam String endDate) {
+            @RequestParam String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             LocalDateTime start = LocalDateTime.parse(startDate);
             LocalDateTime end = LocalDateTime.parse(endDate);
-            List<Event> events = eventRepository.findEventsBetweenDatesWithOrganizer(start, end);
-            return ResponseEntity.ok(events);
+            KeysetCursor after = cursor(cursor, true);
+            int size = pageSize(limit);
+            return page(eventRepository.findBetweenDatesSummaryPage(start, end,
+                    after.getDateTime(), after.getId(), fetch(size)), size);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -135,17 +373,10 @@ public class EventController {
     // Create new event (Organizers only)
     @PostMapping
     @PreAuthorize("hasRole('ORGANIZER')")
-    public ResponseEntity<Event> createEvent(@Valid @RequestBody Event event, Authentication authentication) {
+    public ResponseEntity<Event> createEvent(@Valid @RequestBody Event event, @AuthenticationPrincipal AuthenticatedUser organizer) {
         try {
-            // Get current user as organizer
-            String username = authentication.getName();
-            Optional<User> organizer = userService.getUserByUsername(username);
-
-            if (organizer.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            event.setOrganizer(organizer.get());
+            // Current user as organizer (a primary key lookup; the response includes the organizer)
+            event.setOrganizer(userService.getUserById(organizer.getId()));
             Event savedEvent = eventService.saveEvent(event);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedEvent);
 
@@ -161,14 +392,13 @@ public class EventController {
     @PreAuthorize("hasRole('ORGANIZER')")
     public ResponseEntity<Event> updateEvent(@PathVariable Long id,
                                              @Valid @RequestBody Event updatedEvent,
-                                             Authentication authentication) {
+                                             @AuthenticationPrincipal AuthenticatedUser organizer) {
         try {
             // Check if event exists and get it
             Event existingEvent = eventService.getEventById(id);
-            String username = authentication.getName();
 
             // Check if current user is the organizer of this event
-            if (!existingEvent.getOrganizer().getUsername().equals(username)) {
+            if (!existingEvent.getOrganizer().getId().equals(organizer.getId())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
@@ -187,14 +417,13 @@ public class EventController {
     // Delete event (Organizers only - own events)
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ORGANIZER')")
-    public ResponseEntity<Void> deleteEvent(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<Void> deleteEvent(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser organizer) {
         try {
             // Check if event exists and get it
             Event existingEvent = eventService.getEventById(id);
-            String username = authentication.getName();
 
             // Check if current user is the organizer of this event
-            if (!existingEvent.getOrganizer().getUsername().equals(username)) {
+            if (!existingEvent.getOrganizer().getId().equals(organizer.getId())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
@@ -208,13 +437,17 @@ public class EventController {
         }
     }
 
-    // Get events by organizer with organizer data (JOIN FETCH)
+    // Get events by organizer, latest first
     @GetMapping("/organizer/{organizerId}")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getEventsByOrganizer(@PathVariable Long organizerId) {
+    public ResponseEntity<List<EventSummary>> getEventsByOrganizer(@PathVariable Long organizerId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit) {
         try {
-            List<Event> events = eventRepository.findByOrganizerIdWithOrganizer(organizerId);
-            return ResponseEntity.ok(events);
+            KeysetCursor after = cursor(cursor, false);
+            int size = pageSize(limit);
+            return page(eventRepository.findSummaryPageByOrganizerId(organizerId,
+                    after.getDateTime(), after.getId(), fetch(size)), size);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -224,16 +457,9 @@ public class EventController {
     @GetMapping("/my-events")
     @PreAuthorize("hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getMyEvents(Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> organizer = userService.getUserByUsername(username);
-
-        if (organizer.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
+    public ResponseEntity<List<Event>> getMyEvents(@AuthenticationPrincipal AuthenticatedUser organizer) {
         try {
-            List<Event> events = eventRepository.findByOrganizerIdWithOrganizer(organizer.get().getId());
+            List<Event> events = eventRepository.findByOrganizerIdWithOrganizer(organizer.getId());
             return ResponseEntity.ok(events);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -244,17 +470,10 @@ public class EventController {
     @GetMapping("/my-events/upcoming")
     @PreAuthorize("hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getMyUpcomingEvents(Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> organizer = userService.getUserByUsername(username);
-
-        if (organizer.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
+    public ResponseEntity<List<Event>> getMyUpcomingEvents(@AuthenticationPrincipal AuthenticatedUser organizer) {
         try {
             List<Event> events = eventRepository.findUpcomingEventsByOrganizerWithOrganizer(
-                    organizer.get().getId(),
+                    organizer.getId(),
                     LocalDateTime.now()
             );
             return ResponseEntity.ok(events);
@@ -267,17 +486,10 @@ public class EventController {
     @GetMapping("/my-events/past")
     @PreAuthorize("hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> getMyPastEvents(Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> organizer = userService.getUserByUsername(username);
-
-        if (organizer.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
+    public ResponseEntity<List<Event>> getMyPastEvents(@AuthenticationPrincipal AuthenticatedUser organizer) {
         try {
             List<Event> events = eventRepository.findPastEventsByOrganizerWithOrganizer(
-                    organizer.get().getId(),
+                    organizer.getId(),
                     LocalDateTime.now()
             );
             return ResponseEntity.ok(events);
@@ -290,16 +502,13 @@ public class EventController {
     @GetMapping("/{id}/capacity")
     public ResponseEntity<EventCapacityResponse> getEventCapacityInfo(@PathVariable Long id) {
         try {
-            Event event = eventService.getEventById(id);
-            long confirmedCount = eventService.getConfirmedAttendeeCount(id);
-            int availableSpots = eventService.getAvailableSpots(id);
-            boolean isAtCapacity = eventService.isEventAtCapacity(id);
+            CapacitySnapshot snapshot = capacityService.getSnapshot(id);
 
             EventCapacityResponse response = new EventCapacityResponse(
-                    event.getMaxCapacity(),
-                    confirmedCount,
-                    availableSpots,
-                    isAtCapacity
+                    snapshot.getMaxCapacity(),
+                    snapshot.getConfirmedSeats(),
+                    snapshot.getAvailableSpots(),
+                    snapshot.isAtCapacity()
             );
 
             return ResponseEntity.ok(response);
@@ -310,4 +519,154 @@ public class EventController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    // Where a listing resumes: after the cursor's row, or from the start without one
+    private KeysetCursor cursor(String cursor, boolean ascending) {
+        if (cursor == null || cursor.isBlank()) {
+            return KeysetCursor.start(ascending);
+        }
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static SuggestionResponse suggestionResponse(SuggestionTrie.Suggestion suggestion) {
+        String type = suggestion.getKind() == EventSuggestionService.TITLE ? "TITLE" : "LOCATION";
+        return new SuggestionResponse(suggestion.getText(), type, suggestion.getBestItemId(), suggestion.getItemCount());
+    }
+
+    private static LocalDateTime dateTime(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + name + " date, expected e.g. 2025-06-01T18:00:00");
+        }
+    }
+
+    private static void checkPosition(double lat, double lng) {
+        if (!(lat >= -90 && lat <= 90)) {
+            throw new BadRequestException("Latitude must be between -90 and 90");
+        }
+        if (!(lng >= -180 && lng <= 180)) {
+            throw new BadRequestException("Longitude must be between -180 and 180");
+        }
+    }
+
+    private SearchCursor searchCursor(String cursor, SearchCursor start) {
+        if (cursor == null || cursor.isBlank()) {
+            return start;
+        }
+        try {
+            return SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    // One row more than the page, to tell whether another page follows
+    private Pageable fetch(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    // One page of index hits as cards, kept in rank order
+    private ResponseEntity<List<EventSummary>> search(String query, boolean matchAll, boolean fuzzy, String cursor,
+                                                      Integer limit, int... fields) {
+        SearchCursor after = searchCursor(cursor, SearchCursor.start());
+        int size = pageSize(limit);
+        List<InvertedIndex.Hit> hits = eventSearchIndex.search(query, matchAll, fuzzy, after, size + 1, fields);
+        boolean more = hits.size() > size;
+        if (more) {
+            hits = hits.subList(0, size);
+        }
+        if (hits.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        Map<Long, EventSummary> cards = new HashMap<>();
+        for (EventSummary card : eventRepository.findSummariesByIds(hits.stream().map(InvertedIndex.Hit::getId).toList())) {
+            cards.put(card.getId(), card);
+        }
+        // A hit deleted since it was ranked has no card and is skipped
+        List<EventSummary> page = hits.stream().map(hit -> cards.get(hit.getId())).filter(Objects::nonNull).toList();
+        if (!more) {
+            return ResponseEntity.ok(page);
+        }
+        InvertedIndex.Hit last = hits.get(size - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new SearchCursor(last.getScore(), last.getId()).encode())
+                .body(page);
+    }
+
+    // One page of nearest grid hits with seats left, as cards. Fully booked events are skipped, so
+    // the grid is asked again for the rest of the page a few times before the page is cut short.
+    private ResponseEntity<List<NearbyEventResponse>> nearby(double lat, double lng, double maxKm, GeoGrid.Box box,
+                                                             String cursor, Integer limit) {
+        SearchCursor after = searchCursor(cursor, SearchCursor.nearest());
+        int size = pageSize(limit);
+        double afterKm = after.getScore();
+        long afterId = after.getId();
+        List<NearbyEventResponse> page = new ArrayList<>();
+        boolean more = false;
+        for (int round = 0; round < MAX_NEARBY_ROUNDS && !more; round++) {
+            // One hit more than the page still needs, to tell whether another page follows
+            int wanted = size + 1 - page.size();
+            List<GeoGrid.Hit> hits = eventGeoIndex.nearest(lat, lng, maxKm, box, afterKm, afterId, wanted);
+            if (hits.isEmpty()) {
+                break;
+            }
+
+            Map<Long, EventSummary> cards = new HashMap<>();
+            for (EventSummary card : eventRepository.findSummariesByIds(hits.stream().map(GeoGrid.Hit::getId).toList())) {
+                cards.put(card.getId(), card);
+            }
+            for (GeoGrid.Hit hit : hits) {
+                if (page.size() == size) {
+                    more = true;
+                    break;
+                }
+                afterKm = hit.getDistanceKm();
+                afterId = hit.getId();
+                // A hit deleted since it was indexed has no card and is skipped
+                EventSummary card = cards.get(hit.getId());
+                if (card != null && card.getConfirmedCount() < card.getMaxCapacity()) {
+                    page.add(new NearbyEventResponse(card, hit.getDistanceKm()));
+                }
+            }
+            if (hits.size() < wanted) {
+                break;
+            }
+            // Out of rounds with hits left over: hand back what there is and let the client go on
+            more |= round == MAX_NEARBY_ROUNDS - 1;
+        }
+
+        if (!more) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new SearchCursor(afterKm, afterId).encode())
+                .body(page);
+    }
+
+    private ResponseEntity<List<EventSummary>> page(List<EventSummary> events, int size) {
+        if (events.size() <= size) {
+            return ResponseEntity.ok(events);
+        }
+        List<EventSummary> page = events.subList(0, size);
+        EventSummary last = page.get(size - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getDateTime(), last.getId()).encode())
+                .body(page);
+    }
 }
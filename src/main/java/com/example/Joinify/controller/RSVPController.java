@@ -1,20 +1,29 @@
 package com.example.Joinify.controller;
 
+import com.example.Joinify.dto.BatchRSVPRequest;
+import com.example.Joinify.dto.BatchRSVPResult;
+import com.example.Joinify.dto.BulkConfirmResponse;
+import com.example.Joinify.dto.CapacitySnapshot;
+import com.example.Joinify.dto.RSVPCounts;
+import com.example.Joinify.dto.RSVPSummary;
 import com.example.Joinify.entity.RSVP;
 import com.example.Joinify.entity.RSVPStatus;
 import com.example.Joinify.entity.User;
 import com.example.Joinify.repository.RSVPRepository;
+import com.example.Joinify.security.AuthenticatedUser;
+import com.example.Joinify.service.CapacityService;
 import com.example.Joinify.service.RSVPService;
-import com.example.Joinify.service.UserService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -26,24 +35,19 @@ public class RSVPController {
     private RSVPService rsvpService;
 
     @Autowired
-    private UserService userService;
+    private RSVPRepository rsvpRepository;
 
     @Autowired
-    private RSVPRepository rsvpRepository;
+    private CapacityService capacityService;
 
-    // Create RSVP (Attendees only)
+    // Create RSVP (Attendees only), optionally for a party taking several seats
     @PostMapping("/event/{eventId}")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
-    public ResponseEntity<RSVP> createRSVP(@PathVariable Long eventId, Authentication authentication) {
+    public ResponseEntity<RSVP> createRSVP(@PathVariable Long eventId,
+                                           @RequestParam(defaultValue = "1") int partySize,
+                                           @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String username = authentication.getName();
-            Optional<User> user = userService.getUserByUsername(username);
-
-            if (user.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            RSVP rsvp = rsvpService.createRSVP(user.get().getId(), eventId);
+            RSVP rsvp = rsvpService.createRSVP(user.getId(), eventId, partySize);
             return ResponseEntity.status(HttpStatus.CREATED).body(rsvp);
 
         } catch (IllegalArgumentException e) {
@@ -55,19 +59,29 @@ public class RSVPController {
         }
     }
 
+    // RSVP to several events at once (Attendees only)
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
+    public ResponseEntity<List<BatchRSVPResult>> createRSVPs(@Valid @RequestBody BatchRSVPRequest request,
+                                                             @AuthenticationPrincipal AuthenticatedUser user) {
+        List<BatchRSVPResult> results = rsvpService.createRSVPs(user.getId(), request.getEventIds());
+        return ResponseEntity.ok(results);
+    }
+
+    // Complete checkout on a seat held for a paid event
+    @PostMapping("/event/{eventId}/checkout")
+    @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
+    public ResponseEntity<RSVP> completeCheckout(@PathVariable Long eventId, @AuthenticationPrincipal AuthenticatedUser user) {
+        RSVP rsvp = rsvpService.confirmHold(user.getId(), eventId);
+        return ResponseEntity.ok(rsvp);
+    }
+
     // Cancel RSVP (Attendees only)
     @DeleteMapping("/event/{eventId}")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
-    public ResponseEntity<Void> cancelRSVP(@PathVariable Long eventId, Authentication authentication) {
+    public ResponseEntity<Void> cancelRSVP(@PathVariable Long eventId, @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String username = authentication.getName();
-            Optional<User> user = userService.getUserByUsername(username);
-
-            if (user.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            rsvpService.cancelRSVP(user.get().getId(), eventId);
+            rsvpService.cancelRSVP(user.getId(), eventId);
             return ResponseEntity.noContent().build();
 
         } catch (IllegalArgumentException e) {
@@ -82,16 +96,9 @@ public class RSVPController {
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     public ResponseEntity<RSVP> updateRSVPStatus(@PathVariable Long eventId,
                                                  @RequestParam RSVPStatus status,
-                                                 Authentication authentication) {
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String username = authentication.getName();
-            Optional<User> user = userService.getUserByUsername(username);
-
-            if (user.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            RSVP updatedRSVP = rsvpService.updateRSVPStatus(user.get().getId(), eventId, status);
+            RSVP updatedRSVP = rsvpService.updateRSVPStatus(user.getId(), eventId, status);
             return ResponseEntity.ok(updatedRSVP);
 
         } catch (IllegalArgumentException e) {
@@ -106,15 +113,8 @@ public class RSVPController {
     @GetMapping("/event/{eventId}/status")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<RSVPStatus> getRSVPStatus(@PathVariable Long eventId, Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> user = userService.getUserByUsername(username);
-
-        if (user.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        Optional<RSVPStatus> status = rsvpService.getRSVPStatus(user.get().getId(), eventId);
+    public ResponseEntity<RSVPStatus> getRSVPStatus(@PathVariable Long eventId, @AuthenticationPrincipal AuthenticatedUser user) {
+        Optional<RSVPStatus> status = rsvpService.getRSVPStatus(user.getId(), eventId);
         if (status.isPresent()) {
             return ResponseEntity.ok(status.get());
         } else {
@@ -128,15 +128,8 @@ public class RSVPController {
     @GetMapping("/event/{eventId}/check")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<Boolean> hasUserRSVPd(@PathVariable Long eventId, Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> user = userService.getUserByUsername(username);
-
-        if (user.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        boolean hasRSVPd = rsvpService.hasUserRSVPd(user.get().getId(), eventId);
+    public ResponseEntity<Boolean> hasUserRSVPd(@PathVariable Long eventId, @AuthenticationPrincipal AuthenticatedUser user) {
+        boolean hasRSVPd = rsvpService.hasUserRSVPd(user.getId(), eventId);
         return ResponseEntity.ok(hasRSVPd);
     }
 
@@ -172,18 +165,10 @@ public class RSVPController {
     @GetMapping("/my-rsvps")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<RSVP>> getMyRSVPs(Authentication authentication) {
+    public ResponseEntity<List<RSVPSummary>> getMyRSVPs(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOpt = userService.getUserByUsername(username);
-
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            User user = userOpt.get();
-            // Use the new JOIN FETCH method
-            List<RSVP> rsvps = rsvpRepository.findByUserIdWithEventDetails(user.getId());
+            // Card projections: no RSVP, event or organizer entities are loaded
+            List<RSVPSummary> rsvps = rsvpRepository.findSummariesByUserId(user.getId());
             return ResponseEntity.ok(rsvps);
 
         } catch (Exception e) {
@@ -195,15 +180,8 @@ public class RSVPController {
     @GetMapping("/my-rsvps/upcoming")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<RSVP>> getMyUpcomingRSVPs(Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> user = userService.getUserByUsername(username);
-
-        if (user.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        List<RSVP> rsvps = rsvpService.getUpcomingRSVPsForUser(user.get().getId());
+    public ResponseEntity<List<RSVPSummary>> getMyUpcomingRSVPs(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<RSVPSummary> rsvps = rsvpService.getUpcomingRSVPsForUser(user.getId());
         return ResponseEntity.ok(rsvps);
     }
 
@@ -211,15 +189,8 @@ public class RSVPController {
     @GetMapping("/my-rsvps/past")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<RSVP>> getPastRSVPs(Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> user = userService.getUserByUsername(username);
-
-        if (user.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        List<RSVP> rsvps = rsvpService.getPastRSVPsForUser(user.get().getId());
+    public ResponseEntity<List<RSVPSummary>> getPastRSVPs(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<RSVPSummary> rsvps = rsvpService.getPastRSVPsForUser(user.getId());
         return ResponseEntity.ok(rsvps);
     }
 
@@ -237,14 +208,19 @@ public class RSVPController {
         }
     }
 
+    // RSVP figures for many events in one request (one GROUP BY over the RSVPs), for the dashboards
+    @GetMapping("/counts")
+    public ResponseEntity<Map<Long, RSVPCounts>> getRSVPCountsForEvents(@RequestParam List<Long> eventIds) {
+        return ResponseEntity.ok(capacityService.getCounts(eventIds));
+    }
+
+    // All figures come from one capacity snapshot (one aggregate query, or none when cached)
     @GetMapping("/event/{eventId}/count")
     public ResponseEntity<RSVPCountResponse> getRSVPCounts(@PathVariable Long eventId) {
-        long confirmedCount = rsvpService.getConfirmedRSVPCount(eventId);
-        long totalCount = rsvpService.getTotalRSVPCount(eventId);
-        int availableSpots = rsvpService.getAvailableSpots(eventId);
-        boolean atCapacity = rsvpService.isEventAtCapacity(eventId);
+        CapacitySnapshot snapshot = capacityService.getSnapshot(eventId);
 
-        RSVPCountResponse response = new RSVPCountResponse(confirmedCount, totalCount, availableSpots, atCapacity);
+        RSVPCountResponse response = new RSVPCountResponse(snapshot.getConfirmedSeats(), snapshot.getTotalRSVPs(),
+                snapshot.getAvailableSpots(), snapshot.isAtCapacity());
         return ResponseEntity.ok(response);
     }
 
@@ -252,11 +228,10 @@ public class RSVPController {
     // Bulk confirm pending RSVPs (Organizers only)
     @PostMapping("/event/{eventId}/confirm-pending")
     @PreAuthorize("hasRole('ORGANIZER')")
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<RSVP>> confirmPendingRSVPs(@PathVariable Long eventId) {
+    public ResponseEntity<BulkConfirmResponse> confirmPendingRSVPs(@PathVariable Long eventId) {
         try {
-            List<RSVP> confirmedRSVPs = rsvpService.confirmPendingRSVPs(eventId);
-            return ResponseEntity.ok(confirmedRSVPs);
+            BulkConfirmResponse result = rsvpService.confirmPendingRSVPs(eventId);
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
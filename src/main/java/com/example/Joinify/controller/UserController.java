@@ -3,17 +3,18 @@ package com.example.Joinify.controller;
 import com.example.Joinify.entity.User;
 import com.example.Joinify.entity.UserRole;
 import com.example.Joinify.exception.ResourceNotFoundException;
+import com.example.Joinify.exception.ServiceUnavailableException;
+import com.example.Joinify.security.AuthenticatedUser;
 import com.example.Joinify.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
@@ -39,13 +40,10 @@ public class UserController {
     // Get current user profile
     @GetMapping("/profile")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
-    public ResponseEntity<User> getCurrentUserProfile(Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> user = userService.getUserByUsername(username);
-
-        if (user.isPresent()) {
-            return ResponseEntity.ok(user.get());
-        } else {
+    public ResponseEntity<User> getCurrentUserProfile(@AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            return ResponseEntity.ok(userService.getUserById(user.getId()));
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -54,16 +52,9 @@ public class UserController {
     @PutMapping("/profile")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     public ResponseEntity<User> updateCurrentUserProfile(@Valid @RequestBody User updatedUser,
-                                                         Authentication authentication) {
+                                                         @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String username = authentication.getName();
-            Optional<User> currentUserOpt = userService.getUserByUsername(username);
-
-            if (currentUserOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            User currentUser = currentUserOpt.get();
+            User currentUser = userService.getUserById(user.getId());
 
             // Update only allowed fields - DON'T update password here
             currentUser.setEmail(updatedUser.getEmail());
@@ -87,18 +78,14 @@ public class UserController {
     @PutMapping("/change-password")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
     public ResponseEntity<String> changePassword(@RequestParam String newPassword,
-                                                 Authentication authentication) {
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOpt = userService.getUserByUsername(username);
-
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            userService.updateUserPassword(userOpt.get().getId(), newPassword);
+            // Also revokes the user's tokens, so they sign in again with the new password
+            userService.updateUserPassword(user.getId(), newPassword);
             return ResponseEntity.ok("Password updated successfully");
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to update password");
@@ -166,16 +153,9 @@ public class UserController {
     // Delete current user account
     @DeleteMapping("/profile")
     @PreAuthorize("hasRole('ATTENDEE') or hasRole('ORGANIZER')")
-    public ResponseEntity<String> deleteCurrentUser(Authentication authentication) {
+    public ResponseEntity<String> deleteCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOpt = userService.getUserByUsername(username);
-
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            userService.deleteUser(userOpt.get().getId());
+            userService.deleteUser(user.getId());
             return ResponseEntity.ok("Account deleted successfully");
 
         } catch (Exception e) {
@@ -0,0 +1,24 @@
+package com.example.Joinify.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchRSVPRequest {
+
+    @NotEmpty(message = "At least one event ID is required")
+    @Size(max = 50, message = "Cannot RSVP to more than 50 events at once")
+    private List<Long> eventIds;
+
+    // Constructors
+    public BatchRSVPRequest() {}
+
+    public BatchRSVPRequest(List<Long> eventIds) {
+        this.eventIds = eventIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getEventIds() { return eventIds; }
+    public void setEventIds(List<Long> eventIds) { this.eventIds = eventIds; }
+}
@@ -0,0 +1,42 @@
+package com.example.Joinify.dto;
+
+import com.example.Joinify.entity.RSVPStatus;
+
+public class BatchRSVPResult {
+
+    private Long eventId;
+    private boolean success;
+    private RSVPStatus status;
+    private String message;
+
+    // Constructors
+    public BatchRSVPResult() {}
+
+    public BatchRSVPResult(Long eventId, boolean success, RSVPStatus status, String message) {
+        this.eventId = eventId;
+        this.success = success;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BatchRSVPResult succeeded(Long eventId, RSVPStatus status) {
+        return new BatchRSVPResult(eventId, true, status, null);
+    }
+
+    public static BatchRSVPResult failed(Long eventId, String message) {
+        return new BatchRSVPResult(eventId, false, null, message);
+    }
+
+    // Getters and Setters
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public RSVPStatus getStatus() { return status; }
+    public void setStatus(RSVPStatus status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
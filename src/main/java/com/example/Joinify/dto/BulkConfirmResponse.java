@@ -0,0 +1,48 @@
+package com.example.Joinify.dto;
+
+public class BulkConfirmResponse {
+
+    private int confirmed;
+    // Seats held for checkout instead, on paid events
+    private int held;
+    private long remainingPending;
+
+    // Constructors
+    public BulkConfirmResponse() {}
+
+    public BulkConfirmResponse(int confirmed, long remainingPending) {
+        this.confirmed = confirmed;
+        this.remainingPending = remainingPending;
+    }
+
+    public BulkConfirmResponse(int confirmed, int held, long remainingPending) {
+        this.confirmed = confirmed;
+        this.held = held;
+        this.remainingPending = remainingPending;
+    }
+
+    // Getters and Setters
+    public int getConfirmed() {
+        return confirmed;
+    }
+
+    public void setConfirmed(int confirmed) {
+        this.confirmed = confirmed;
+    }
+
+    public int getHeld() {
+        return held;
+    }
+
+    public void setHeld(int held) {
+        this.held = held;
+    }
+
+    public long getRemainingPending() {
+        return remainingPending;
+    }
+
+    public void setRemainingPending(long remainingPending) {
+        this.remainingPending = remainingPending;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.Joinify.dto;
+
+public class CapacitySnapshot {
+
+    private Long eventId;
+    private int maxCapacity;
+    // Seats taken by confirmed RSVPs and checkout holds
+    private int seatsTaken;
+    // Seats taken by confirmed RSVPs only
+    private long confirmedSeats;
+    private long totalRSVPs;
+
+    // Constructors
+    public CapacitySnapshot() {}
+
+    public CapacitySnapshot(Long eventId, Integer maxCapacity, Integer seatsTaken, Long confirmedSeats, Long totalRSVPs) {
+        this.eventId = eventId;
+        this.maxCapacity = maxCapacity;
+        this.seatsTaken = seatsTaken;
+        this.confirmedSeats = confirmedSeats;
+        this.totalRSVPs = totalRSVPs;
+    }
+
+    // Copy with the seat total replaced, for events whose live count is kept in memory
+    public CapacitySnapshot withSeatsTaken(int seatsTaken) {
+        return new CapacitySnapshot(eventId, maxCapacity, seatsTaken, confirmedSeats, totalRSVPs);
+    }
+
+    public int getAvailableSpots() {
+        return Math.max(0, maxCapacity - seatsTaken);
+    }
+
+    public boolean isAtCapacity() {
+        return seatsTaken >= maxCapacity;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    public int getSeatsTaken() {
+        return seatsTaken;
+    }
+
+    public void setSeatsTaken(int seatsTaken) {
+        this.seatsTaken = seatsTaken;
+    }
+
+    public long getConfirmedSeats() {
+        return confirmedSeats;
+    }
+
+    public void setConfirmedSeats(long confirmedSeats) {
+        this.confirmedSeats = confirmedSeats;
+    }
+
+    public long getTotalRSVPs() {
+        return totalRSVPs;
+    }
+
+    public void setTotalRSVPs(long totalRSVPs) {
+        this.totalRSVPs = totalRSVPs;
+    }
+}
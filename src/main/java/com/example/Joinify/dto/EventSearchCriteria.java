@@ -0,0 +1,56 @@
+package com.example.Joinify.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Filters for the combined event search; a null (or blank) filter is not applied
+public class EventSearchCriteria {
+
+    // Matched anywhere in the title or description, ignoring case
+    private String keyword;
+    // Only these events; how a keyword is narrowed to the index's matches
+    private Collection<Long> eventIds;
+    // Matched anywhere in the location, ignoring case
+    private String location;
+    // Start time range, both ends included
+    private LocalDateTime from;
+    private LocalDateTime to;
+    // Fee range, both ends included; an event without a fee counts as free
+    private BigDecimal minFee;
+    private BigDecimal maxFee;
+    private Long organizerId;
+    // Only events with seats left
+    private boolean hasCapacity;
+
+    // Constructors
+    public EventSearchCriteria() {}
+
+    // Getters and Setters
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+
+    public Collection<Long> getEventIds() { return eventIds; }
+    public void setEventIds(Collection<Long> eventIds) { this.eventIds = eventIds; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public BigDecimal getMinFee() { return minFee; }
+    public void setMinFee(BigDecimal minFee) { this.minFee = minFee; }
+
+    public BigDecimal getMaxFee() { return maxFee; }
+    public void setMaxFee(BigDecimal maxFee) { this.maxFee = maxFee; }
+
+    public Long getOrganizerId() { return organizerId; }
+    public void setOrganizerId(Long organizerId) { this.organizerId = organizerId; }
+
+    public boolean isHasCapacity() { return hasCapacity; }
+    public void setHasCapacity(boolean hasCapacity) { this.hasCapacity = hasCapacity; }
+}
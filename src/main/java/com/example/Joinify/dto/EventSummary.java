@@ -0,0 +1,77 @@
+package com.example.Joinify.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only card view of an event for listings; /api/events/{id} has the full event
+public class EventSummary {
+
+    // Listings carry the start of the description; the card shows no more than this
+    public static final int DESCRIPTION_EXCERPT_LENGTH = 150;
+
+    private Long id;
+    private String title;
+    private LocalDateTime dateTime;
+    private String location;
+    private int maxCapacity;
+    // Seats taken by confirmed RSVPs and checkout holds
+    private int confirmedCount;
+    private String imageUrl;
+    private BigDecimal fee;
+    private String description;
+    private Long organizerId;
+    private String organizerUsername;
+
+    // Constructors
+    public EventSummary() {}
+
+    public EventSummary(Long id, String title, LocalDateTime dateTime, String location, Integer maxCapacity,
+                        Integer confirmedCount, String imageUrl, BigDecimal fee, String description,
+                        Long organizerId, String organizerUsername) {
+        this.id = id;
+        this.title = title;
+        this.dateTime = dateTime;
+        this.location = location;
+        this.maxCapacity = maxCapacity;
+        this.confirmedCount = confirmedCount;
+        this.imageUrl = imageUrl;
+        this.fee = fee;
+        this.description = description;
+        this.organizerId = organizerId;
+        this.organizerUsername = organizerUsername;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public LocalDateTime getDateTime() { return dateTime; }
+    public void setDateTime(LocalDateTime dateTime) { this.dateTime = dateTime; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public int getMaxCapacity() { return maxCapacity; }
+    public void setMaxCapacity(int maxCapacity) { this.maxCapacity = maxCapacity; }
+
+    public int getConfirmedCount() { return confirmedCount; }
+    public void setConfirmedCount(int confirmedCount) { this.confirmedCount = confirmedCount; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public BigDecimal getFee() { return fee; }
+    public void setFee(BigDecimal fee) { this.fee = fee; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Long getOrganizerId() { return organizerId; }
+    public void setOrganizerId(Long organizerId) { this.organizerId = organizerId; }
+
+    public String getOrganizerUsername() { return organizerUsername; }
+    public void setOrganizerUsername(String organizerUsername) { this.organizerUsername = organizerUsername; }
+}
@@ -5,6 +5,7 @@ import com.example.Joinify.entity.UserRole;
 public class LoginResponse {
 
     private String token;
+    private String refreshToken;
     private String username;
     private String email;
     private UserRole role;
@@ -30,6 +31,14 @@ public class LoginResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -0,0 +1,97 @@
+package com.example.Joinify.dto;
+
+// Per-event RSVP figures for the dashboards. Status fields count seats (party sizes
+// included), total counts RSVPs.
+public class RSVPCounts {
+
+    private Long eventId;
+    private int maxCapacity;
+    private long confirmed;
+    private long held;
+    private long pending;
+    private long waitlisted;
+    private long total;
+    private int available;
+    private boolean atCapacity;
+
+    // Constructors
+    public RSVPCounts() {}
+
+    public RSVPCounts(Long eventId, int maxCapacity) {
+        this.eventId = eventId;
+        this.maxCapacity = maxCapacity;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    public long getConfirmed() {
+        return confirmed;
+    }
+
+    public void setConfirmed(long confirmed) {
+        this.confirmed = confirmed;
+    }
+
+    public long getHeld() {
+        return held;
+    }
+
+    public void setHeld(long held) {
+        this.held = held;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public void setPending(long pending) {
+        this.pending = pending;
+    }
+
+    public long getWaitlisted() {
+        return waitlisted;
+    }
+
+    public void setWaitlisted(long waitlisted) {
+        this.waitlisted = waitlisted;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+
+    public boolean isAtCapacity() {
+        return atCapacity;
+    }
+
+    public void setAtCapacity(boolean atCapacity) {
+        this.atCapacity = atCapacity;
+    }
+}
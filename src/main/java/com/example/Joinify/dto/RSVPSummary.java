@@ -0,0 +1,52 @@
+package com.example.Joinify.dto;
+
+import com.example.Joinify.entity.RSVPStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only view of one of a user's RSVPs for listings, with the event as a card
+public class RSVPSummary {
+
+    private Long id;
+    private RSVPStatus status;
+    private int partySize;
+    private LocalDateTime rsvpDate;
+    private LocalDateTime holdExpiresAt;
+    private EventSummary event;
+
+    // Constructors
+    public RSVPSummary() {}
+
+    public RSVPSummary(Long id, RSVPStatus status, Integer partySize, LocalDateTime rsvpDate,
+                       LocalDateTime holdExpiresAt, Long eventId, String title, LocalDateTime dateTime,
+                       String location, Integer maxCapacity, Integer confirmedCount, String imageUrl,
+                       BigDecimal fee, String description, Long organizerId, String organizerUsername) {
+        this.id = id;
+        this.status = status;
+        this.partySize = partySize;
+        this.rsvpDate = rsvpDate;
+        this.holdExpiresAt = holdExpiresAt;
+        this.event = new EventSummary(eventId, title, dateTime, location, maxCapacity, confirmedCount,
+                imageUrl, fee, description, organizerId, organizerUsername);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public RSVPStatus getStatus() { return status; }
+    public void setStatus(RSVPStatus status) { this.status = status; }
+
+    public int getPartySize() { return partySize; }
+    public void setPartySize(int partySize) { this.partySize = partySize; }
+
+    public LocalDateTime getRsvpDate() { return rsvpDate; }
+    public void setRsvpDate(LocalDateTime rsvpDate) { this.rsvpDate = rsvpDate; }
+
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
+
+    public EventSummary getEvent() { return event; }
+    public void setEvent(EventSummary event) { this.event = event; }
+}
@@ -2,7 +2,10 @@ package com.example.Joinify.entity;
 
 import com.example.Joinify.validation.FutureDate;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +17,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// Keyset pages seek on (date_time, id), overall and per organizer
+@Table(indexes = {
+        @Index(name = "idx_event_date_time_id", columnList = "date_time, id"),
+        @Index(name = "idx_event_organizer_date_time_id", columnList = "organizer_id, date_time, id")
+})
 public class Event {
 
     @Id
@@ -35,6 +43,15 @@ public class Event {
     @Size(min = 3, max = 100, message = "Location must be between 3 and 100 characters")
     private String location;
 
+    // Optional map position of the venue, for nearby search
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     @Min(value = 1, message = "Maximum capacity must be at least 1")
     private int maxCapacity;
 
@@ -47,6 +64,12 @@ public class Event {
     @Min(value = 0, message = "Minimum Fee is Rs 0")
     private BigDecimal fee;
 
+    // Denormalized count of taken seats (confirmed RSVPs and checkout holds), only ever changed through the
+    // conditional updates in EventRepository so entity saves can't overwrite it
+    @Column(name = "confirmed_count", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int confirmedCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
@@ -86,9 +109,18 @@ public class Event {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public int getMaxCapacity() { return maxCapacity; }
     public void setMaxCapacity(int maxCapacity) { this.maxCapacity = maxCapacity; }
 
+    public int getConfirmedCount() { return confirmedCount; }
+    public void setConfirmedCount(int confirmedCount) { this.confirmedCount = confirmedCount; }
+
     public User getOrganizer() { return organizer; }
     public void setOrganizer(User organizer) { this.organizer = organizer; }
 
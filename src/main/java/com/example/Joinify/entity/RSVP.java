@@ -2,10 +2,16 @@ package com.example.Joinify.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_rsvp_user_event", columnNames = {"user_id", "event_id"}),
+        indexes = {
+                @Index(name = "idx_rsvp_event_status", columnList = "event_id, status"),
+                @Index(name = "idx_rsvp_status_hold_expires_at", columnList = "status, hold_expires_at")
+        })
 public class RSVP {
 
     @Id
@@ -22,13 +28,25 @@ public class RSVP {
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
+    // A plain string column: Hibernate would otherwise create a MySQL enum of the values known
+    // at the time, and adding a status would then need the column rewritten (see SchemaUpgrade)
     @NotNull(message = "RSVP status is required")
     @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(20)")
     private RSVPStatus status;
 
     @NotNull(message = "RSVP date is required")
     private LocalDateTime rsvpDate;
 
+    // Seats this RSVP takes; the default keeps rows written before party sizes existed at one seat
+    @Min(value = 1, message = "Party size must be at least 1")
+    @Column(name = "party_size", nullable = false, columnDefinition = "int default 1")
+    private int partySize = 1;
+
+    // When a HELD seat on a paid event goes back if checkout isn't finished
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     // Constructors
     public RSVP() {
         this.rsvpDate = LocalDateTime.now();
@@ -83,4 +101,20 @@ public class RSVP {
     public void setRsvpDate(LocalDateTime rsvpDate) {
         this.rsvpDate = rsvpDate;
     }
+
+    public int getPartySize() {
+        return partySize;
+    }
+
+    public void setPartySize(int partySize) {
+        this.partySize = partySize;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
 }
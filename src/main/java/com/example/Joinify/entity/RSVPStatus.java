@@ -3,5 +3,7 @@ package com.example.Joinify.entity;
 public enum RSVPStatus {
     PENDING,
     CONFIRMED,
+    HELD,
+    WAITLISTED,
     CANCELLED
 }
@@ -36,6 +36,12 @@ public class User {
     @Column(nullable = false)
     private UserRole role;
 
+    // Carried in every JWT; bumping it revokes the user's outstanding tokens. Only changed
+    // through UserRepository.incrementTokenVersion so entity saves can't reset it
+    @Column(name = "token_version", nullable = false, updatable = false)
+    @JsonIgnore
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "organizer", cascade = CascadeType.ALL)
     @JsonIgnore
     private List<Event> organizedEvents = new ArrayList<>();
@@ -98,6 +104,14 @@ public class User {
         this.role = role;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public List<Event> getOrganizedEvents() {
         return organizedEvents;
     }
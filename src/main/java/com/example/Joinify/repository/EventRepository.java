@@ -1,17 +1,35 @@
 package com.example.Joinify.repository;
 
+import com.example.Joinify.dto.CapacitySnapshot;
+import com.example.Joinify.dto.EventSummary;
 import com.example.Joinify.entity.Event;
 import com.example.Joinify.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventSearchRepository {
+
+    // Keyset conditions: rows strictly after the cursor in ascending or descending (dateTime, id) order
+    String AFTER_CURSOR = "(e.dateTime > :cursorDateTime OR (e.dateTime = :cursorDateTime AND e.id > :cursorId))";
+    String BEFORE_CURSOR = "(e.dateTime < :cursorDateTime OR (e.dateTime = :cursorDateTime AND e.id < :cursorId))";
+
+    // Card fields only, for listings
+    String SUMMARY = "SELECT new com.example.Joinify.dto.EventSummary(e.id, e.title, e.dateTime, e.location, " +
+            "e.maxCapacity, e.confirmedCount, e.imageUrl, e.fee, " +
+            "SUBSTRING(e.description, 1, " + EventSummary.DESCRIPTION_EXCERPT_LENGTH + "), o.id, o.username) " +
+            "FROM Event e JOIN e.organizer o";
 
     // Find upcoming events (events after current date/time)
     @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.dateTime > :currentDateTime ORDER BY e.dateTime ASC")
@@ -48,8 +66,7 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findEventsBetweenDates(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
     // Find events with available capacity
-    @Query("SELECT e FROM Event e WHERE e.dateTime > :currentDateTime AND " +
-            "(SELECT COUNT(r) FROM RSVP r WHERE r.event = e AND r.status = 'CONFIRMED') < e.maxCapacity")
+    @Query("SELECT e FROM Event e WHERE e.dateTime > :currentDateTime AND e.confirmedCount < e.maxCapacity")
     List<Event> findEventsWithAvailableCapacity(@Param("currentDateTime") LocalDateTime currentDateTime);
 
     // Count events by organizer
@@ -78,8 +95,7 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     // JOIN FETCH for events with available capacity
     @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.dateTime > :currentDateTime AND " +
-            "(SELECT COUNT(r) FROM RSVP r WHERE r.event = e AND r.status = 'CONFIRMED') < e.maxCapacity " +
-            "ORDER BY e.dateTime ASC")
+            "e.confirmedCount < e.maxCapacity ORDER BY e.dateTime ASC")
     List<Event> findEventsWithAvailableCapacityAndOrganizer(@Param("currentDateTime") LocalDateTime currentDateTime);
 
     // JOIN FETCH for search by title
@@ -105,4 +121,107 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // JOIN FETCH for organizer's past events
     @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :organizerId AND e.dateTime < :currentDateTime ORDER BY e.dateTime DESC")
     List<Event> findPastEventsByOrganizerWithOrganizer(@Param("organizerId") Long organizerId, @Param("currentDateTime") LocalDateTime currentDateTime);
+
+    // Keyset pages of event cards (read-only, nothing managed by the persistence context);
+    // the pageable only carries the page size
+    @Query(SUMMARY + " WHERE " + AFTER_CURSOR +
+            " ORDER BY e.dateTime ASC, e.id ASC")
+    List<EventSummary> findSummaryPage(@Param("cursorDateTime") LocalDateTime cursorDateTime,
+                                       @Param("cursorId") long cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE e.dateTime > :currentDateTime AND " + AFTER_CURSOR +
+            " ORDER BY e.dateTime ASC, e.id ASC")
+    List<EventSummary> findUpcomingSummaryPage(@Param("currentDateTime") LocalDateTime currentDateTime,
+                                               @Param("cursorDateTime") LocalDateTime cursorDateTime,
+                                               @Param("cursorId") long cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE e.dateTime < :currentDateTime AND " + BEFORE_CURSOR +
+            " ORDER BY e.dateTime DESC, e.id DESC")
+    List<EventSummary> findPastSummaryPage(@Param("currentDateTime") LocalDateTime currentDateTime,
+                                           @Param("cursorDateTime") LocalDateTime cursorDateTime,
+                                           @Param("cursorId") long cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE e.dateTime > :currentDateTime AND " +
+            "e.confirmedCount < e.maxCapacity AND " + AFTER_CURSOR + " ORDER BY e.dateTime ASC, e.id ASC")
+    List<EventSummary> findAvailableSummaryPage(@Param("currentDateTime") LocalDateTime currentDateTime,
+                                                @Param("cursorDateTime") LocalDateTime cursorDateTime,
+                                                @Param("cursorId") long cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE e.organizer.id = :organizerId AND " + BEFORE_CURSOR +
+            " ORDER BY e.dateTime DESC, e.id DESC")
+    List<EventSummary> findSummaryPageByOrganizerId(@Param("organizerId") Long organizerId,
+                                                    @Param("cursorDateTime") LocalDateTime cursorDateTime,
+                                                    @Param("cursorId") long cursorId, Pageable pageable);
+
+    // Cards for the given events, in no particular order (search hits are ranked in memory)
+    @Query(SUMMARY + " WHERE e.id IN :eventIds")
+    List<EventSummary> findSummariesByIds(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query(SUMMARY + " WHERE e.dateTime BETWEEN :startDate AND :endDate AND " +
+            AFTER_CURSOR + " ORDER BY e.dateTime ASC, e.id ASC")
+    List<EventSummary> findBetweenDatesSummaryPage(@Param("startDate") LocalDateTime startDate,
+                                                   @Param("endDate") LocalDateTime endDate,
+                                                   @Param("cursorDateTime") LocalDateTime cursorDateTime,
+                                                   @Param("cursorId") long cursorId, Pageable pageable);
+
+    // Claim seats all-or-nothing; matches no row if they don't fit, so concurrent callers can't oversell
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount + :seats " +
+            "WHERE e.id = :eventId AND e.confirmedCount + :seats <= e.maxCapacity")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    // Give seats back
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = " +
+            "CASE WHEN e.confirmedCount > :seats THEN e.confirmedCount - :seats ELSE 0 END WHERE e.id = :eventId")
+    int releaseSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    // Recompute every seat counter from the RSVP table
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = " +
+            "(SELECT COALESCE(SUM(r.partySize), 0) FROM RSVP r WHERE r.event = e AND r.status IN ('CONFIRMED', 'HELD'))")
+    int resyncConfirmedCounts();
+
+    // Capacity, seat counter, confirmed seats and RSVP count of one event in a single aggregate
+    @Query("SELECT new com.example.Joinify.dto.CapacitySnapshot(e.id, e.maxCapacity, e.confirmedCount, " +
+            "COALESCE(SUM(CASE WHEN r.status = 'CONFIRMED' THEN r.partySize ELSE 0 END), 0L), COUNT(r)) " +
+            "FROM Event e LEFT JOIN e.rsvps r WHERE e.id = :eventId GROUP BY e.id, e.maxCapacity, e.confirmedCount")
+    Optional<CapacitySnapshot> findCapacitySnapshot(@Param("eventId") Long eventId);
+
+    // Id, capacity and seat counter of each of the given events
+    @Query("SELECT e.id, e.maxCapacity, e.confirmedCount FROM Event e WHERE e.id IN :eventIds")
+    List<Object[]> findCapacities(@Param("eventIds") Collection<Long> eventIds);
+
+    // Searchable text of events after an id, in id order, for loading the search index in batches
+    @Query("SELECT e.id, e.title, e.location, e.description FROM Event e WHERE e.id > :afterId ORDER BY e.id ASC")
+    List<Object[]> findSearchableText(@Param("afterId") long afterId, Pageable pageable);
+
+    // Suggestion text of events after an id that haven't started yet, in id order, for loading autocomplete in batches
+    @Query("SELECT e.id, e.title, e.location, e.dateTime, e.confirmedCount FROM Event e "
+            + "WHERE e.dateTime > :now AND e.id > :afterId ORDER BY e.id ASC")
+    List<Object[]> findSuggestionText(@Param("now") LocalDateTime now, @Param("afterId") long afterId, Pageable pageable);
+
+    // Positions of events after an id that haven't started yet, in id order, for loading nearby search in batches
+    @Query("SELECT e.id, e.latitude, e.longitude, e.dateTime FROM Event e "
+            + "WHERE e.latitude IS NOT NULL AND e.longitude IS NOT NULL "
+            + "AND e.dateTime > :now AND e.id > :afterId ORDER BY e.id ASC")
+    List<Object[]> findCoordinates(@Param("now") LocalDateTime now, @Param("afterId") long afterId, Pageable pageable);
+
+    // Ids of an organizer's events
+    @Query("SELECT e.id FROM Event e WHERE e.organizer.id = :organizerId")
+    List<Long> findIdsByOrganizerId(@Param("organizerId") Long organizerId);
+
+    // Current value of one seat counter
+    @Query("SELECT e.confirmedCount FROM Event e WHERE e.id = :eventId")
+    Optional<Integer> findConfirmedCount(@Param("eventId") Long eventId);
+
+    // Lock the event row, waiting for in-flight seat claims to commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
+    Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    // Overwrite one seat counter
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = :confirmedCount WHERE e.id = :eventId")
+    int setConfirmedCount(@Param("eventId") Long eventId, @Param("confirmedCount") int confirmedCount);
 }
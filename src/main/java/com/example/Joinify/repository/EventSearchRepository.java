@@ -0,0 +1,15 @@
+package com.example.Joinify.repository;
+
+import com.example.Joinify.dto.EventSearchCriteria;
+import com.example.Joinify.dto.EventSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Queries built at runtime from optional filters, mixed into EventRepository
+public interface EventSearchRepository {
+
+    // One keyset page of cards matching every given filter, in ascending (dateTime, id) order
+    List<EventSummary> searchSummaryPage(EventSearchCriteria criteria, LocalDateTime cursorDateTime,
+                                         long cursorId, int limit);
+}
@@ -0,0 +1,110 @@
+package com.example.Joinify.repository;
+
+import com.example.Joinify.dto.EventSearchCriteria;
+import com.example.Joinify.dto.EventSummary;
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Combined event search as a single statement: only the filters that were given become
+ * WHERE conditions, so the database plans each combination on its own (the date range and
+ * organizer use the (date_time, id) and (organizer_id, date_time, id) indexes) instead of
+ * the client running one query per filter and intersecting the results. A keyword
+ * LIKE can't use an index and matches a substring rather than words; the controller
+ * resolves keywords through the search index instead and never passes one through.
+ */
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventSummary> searchSummaryPage(EventSearchCriteria criteria, LocalDateTime cursorDateTime,
+                                                long cursorId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummary> query = cb.createQuery(EventSummary.class);
+        Root<Event> e = query.from(Event.class);
+        Join<Event, User> o = e.join("organizer");
+
+        // Same card fields as EventRepository.SUMMARY
+        query.select(cb.construct(EventSummary.class, e.get("id"), e.get("title"), e.get("dateTime"),
+                e.get("location"), e.get("maxCapacity"), e.get("confirmedCount"), e.get("imageUrl"), e.get("fee"),
+                cb.substring(e.get("description"), 1, EventSummary.DESCRIPTION_EXCERPT_LENGTH),
+                o.get("id"), o.get("username")));
+
+        Expression<LocalDateTime> dateTime = e.get("dateTime");
+        Expression<Long> id = e.get("id");
+        List<Predicate> where = new ArrayList<>();
+        // Keyset: strictly after the cursor
+        where.add(cb.or(cb.greaterThan(dateTime, cursorDateTime),
+                cb.and(cb.equal(dateTime, cursorDateTime), cb.greaterThan(id, cursorId))));
+
+        if (criteria.getEventIds() != null) {
+            where.add(id.in(criteria.getEventIds()));
+        }
+        if (hasText(criteria.getKeyword())) {
+            String pattern = containsPattern(criteria.getKeyword());
+            where.add(cb.or(cb.like(cb.lower(e.get("title")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(e.get("description")), pattern, LIKE_ESCAPE)));
+        }
+        if (hasText(criteria.getLocation())) {
+            where.add(cb.like(cb.lower(e.get("location")), containsPattern(criteria.getLocation()), LIKE_ESCAPE));
+        }
+        if (criteria.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(dateTime, criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            where.add(cb.lessThanOrEqualTo(dateTime, criteria.getTo()));
+        }
+        if (criteria.getMinFee() != null || criteria.getMaxFee() != null) {
+            Expression<BigDecimal> fee = cb.coalesce(e.<BigDecimal>get("fee"), BigDecimal.ZERO);
+            if (criteria.getMinFee() != null) {
+                where.add(cb.greaterThanOrEqualTo(fee, criteria.getMinFee()));
+            }
+            if (criteria.getMaxFee() != null) {
+                where.add(cb.lessThanOrEqualTo(fee, criteria.getMaxFee()));
+            }
+        }
+        if (criteria.getOrganizerId() != null) {
+            where.add(cb.equal(o.get("id"), criteria.getOrganizerId()));
+        }
+        if (criteria.isHasCapacity()) {
+            where.add(cb.lessThan(e.<Integer>get("confirmedCount"), e.<Integer>get("maxCapacity")));
+        }
+
+        query.where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(dateTime), cb.asc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    // %text% with the user's own wildcards taken literally
+    private static String containsPattern(String text) {
+        String escaped = text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,27 +1,50 @@
 package com.example.Joinify.repository;
 
+import com.example.Joinify.dto.EventSummary;
+import com.example.Joinify.dto.RSVPSummary;
 import com.example.Joinify.entity.RSVP;
 import com.example.Joinify.entity.RSVPStatus;
 import com.example.Joinify.entity.Event;
 import com.example.Joinify.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RSVPRepository extends JpaRepository<RSVP, Long> {
 
+    // RSVP fields plus the event's card fields, for listings
+    String SUMMARY = "SELECT new com.example.Joinify.dto.RSVPSummary(r.id, r.status, r.partySize, r.rsvpDate, " +
+            "r.holdExpiresAt, e.id, e.title, e.dateTime, e.location, e.maxCapacity, e.confirmedCount, e.imageUrl, " +
+            "e.fee, SUBSTRING(e.description, 1, " + EventSummary.DESCRIPTION_EXCERPT_LENGTH + "), o.id, o.username) " +
+            "FROM RSVP r JOIN r.event e JOIN e.organizer o";
+
     // Check if user has RSVP'd to an event
     boolean existsByUserIdAndEventId(Long userId, Long eventId);
 
     // Find RSVP by user and event
     Optional<RSVP> findByUserIdAndEventId(Long userId, Long eventId);
 
+    // Which of the given events have people on their waitlist
+    @Query("SELECT DISTINCT r.event.id FROM RSVP r WHERE r.event.id IN :eventIds AND r.status = 'WAITLISTED'")
+    List<Long> findEventIdsWithWaitlist(@Param("eventIds") Collection<Long> eventIds);
+
+    // Which of the given events the user has already RSVP'd to
+    @Query("SELECT r.event.id FROM RSVP r WHERE r.user.id = :userId AND r.event.id IN :eventIds")
+    List<Long> findEventIdsRSVPdByUser(@Param("userId") Long userId, @Param("eventIds") Collection<Long> eventIds);
+
     // Find RSVP by user and event objects
     Optional<RSVP> findByUserAndEvent(User user, Event event);
 
@@ -34,10 +57,30 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
     // Count total RSVPs for an event
     long countByEventId(Long eventId);
 
-    // Count confirmed RSVPs for an event
-    @Query("SELECT COUNT(r) FROM RSVP r WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
+    // Count RSVPs for an event by status
+    long countByEventIdAndStatus(Long eventId, RSVPStatus status);
+
+    // Whether an event has any RSVP in a status; one seek on idx_rsvp_event_status
+    boolean existsByEventIdAndStatus(Long eventId, RSVPStatus status);
+
+    // Count confirmed seats for an event (party sizes included) by summing its RSVP rows; reads
+    // serve this from the seat counter instead (SeatLedger.seatsConfirmed), this is for checking it
+    @Query("SELECT COALESCE(SUM(r.partySize), 0) FROM RSVP r WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
     long countConfirmedRSVPsByEventId(@Param("eventId") Long eventId);
 
+    // Count seats held for checkout on an event; only open holds are read, off the (event_id, status) index
+    @Query("SELECT COALESCE(SUM(r.partySize), 0) FROM RSVP r WHERE r.event.id = :eventId AND r.status = 'HELD'")
+    long countHeldSeatsByEventId(@Param("eventId") Long eventId);
+
+    // Count seats taken for an event (confirmed, or held during checkout), for reconciling the seat counter
+    @Query("SELECT COALESCE(SUM(r.partySize), 0) FROM RSVP r WHERE r.event.id = :eventId AND r.status IN ('CONFIRMED', 'HELD')")
+    long countSeatedRSVPsByEventId(@Param("eventId") Long eventId);
+
+    // Event id, status, RSVP count and seat count for every (event, status) pair of the given events
+    @Query("SELECT r.event.id, r.status, COUNT(r), COALESCE(SUM(r.partySize), 0L) FROM RSVP r " +
+            "WHERE r.event.id IN :eventIds GROUP BY r.event.id, r.status")
+    List<Object[]> countByEventIdsAndStatus(@Param("eventIds") Collection<Long> eventIds);
+
     // Find RSVPs by status
     List<RSVP> findByStatus(RSVPStatus status);
 
@@ -75,9 +118,9 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
     // Delete RSVP by user and event
     void deleteByUserIdAndEventId(Long userId, Long eventId);
 
-    // Check if event is at capacity
-    @Query("SELECT CASE WHEN COUNT(r) >= e.maxCapacity THEN true ELSE false END " +
-            "FROM RSVP r JOIN r.event e WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
+    // Check if event is at capacity, from the event's maintained seat counter
+    @Query("SELECT CASE WHEN e.confirmedCount >= e.maxCapacity THEN true ELSE false END " +
+            "FROM Event e WHERE e.id = :eventId")
     boolean isEventAtCapacity(@Param("eventId") Long eventId);
 
     @Query("SELECT r FROM RSVP r JOIN FETCH r.event JOIN FETCH r.user WHERE r.user.id = :userId ORDER BY r.event.dateTime DESC")
@@ -89,6 +132,19 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
     @Query("SELECT r FROM RSVP r JOIN FETCH r.event WHERE r.user.id = :userId AND r.event.dateTime < :currentDateTime ORDER BY r.event.dateTime DESC")
     List<RSVP> findUserPastRSVPsWithEventDetails(@Param("userId") Long userId, @Param("currentDateTime") LocalDateTime currentDateTime);
 
+    // A user's RSVPs with their events as cards: read-only, nothing managed by the persistence context
+    @Query(SUMMARY + " WHERE r.user.id = :userId ORDER BY e.dateTime DESC")
+    List<RSVPSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY + " WHERE r.user.id = :userId AND e.dateTime > :currentDateTime AND r.status = 'CONFIRMED' " +
+            "ORDER BY e.dateTime ASC")
+    List<RSVPSummary> findUpcomingSummariesByUserId(@Param("userId") Long userId,
+                                                    @Param("currentDateTime") LocalDateTime currentDateTime);
+
+    @Query(SUMMARY + " WHERE r.user.id = :userId AND e.dateTime < :currentDateTime ORDER BY e.dateTime DESC")
+    List<RSVPSummary> findPastSummariesByUserId(@Param("userId") Long userId,
+                                                @Param("currentDateTime") LocalDateTime currentDateTime);
+
     @Query("SELECT r FROM RSVP r JOIN FETCH r.user WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
     List<RSVP> findConfirmedRSVPsByEventIdWithUser(@Param("eventId") Long eventId);
 
@@ -97,4 +153,53 @@ public interface RSVPRepository extends JpaRepository<RSVP, Long> {
 
     @Query("SELECT r FROM RSVP r JOIN FETCH r.user WHERE r.event.id = :eventId")
     List<RSVP> findByEventIdWithUser(@Param("eventId") Long eventId);
+
+    // Head of an event's waitlist (the id gives arrival order), skipping rows another
+    // transaction is already promoting. One seek on idx_rsvp_event_status.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    Optional<RSVP> findFirstByEventIdAndStatusOrderByIdAsc(Long eventId, RSVPStatus status);
+
+    // Turn a seat hold into a confirmed RSVP, unless it has lapsed
+    @Modifying
+    @Query("UPDATE RSVP r SET r.status = 'CONFIRMED', r.holdExpiresAt = null " +
+            "WHERE r.id = :rsvpId AND r.status = 'HELD' AND r.holdExpiresAt > :now")
+    int confirmHold(@Param("rsvpId") Long rsvpId, @Param("now") LocalDateTime now);
+
+    // Drop a lapsed seat hold; matches nothing once it was paid for or cancelled
+    @Modifying
+    @Query("DELETE FROM RSVP r WHERE r.id = :rsvpId AND r.status = 'HELD' AND r.holdExpiresAt <= :now")
+    int deleteLapsedHold(@Param("rsvpId") Long rsvpId, @Param("now") LocalDateTime now);
+
+    // Event id and party size of each of a user's RSVPs that takes seats
+    @Query("SELECT r.event.id, r.partySize FROM RSVP r WHERE r.user.id = :userId AND r.status IN ('CONFIRMED', 'HELD')")
+    List<Object[]> findSeatsTakenByUser(@Param("userId") Long userId);
+
+    // User id, event id and expiry of every open seat hold
+    @Query("SELECT r.user.id, r.event.id, r.holdExpiresAt FROM RSVP r WHERE r.status = 'HELD'")
+    List<Object[]> findOpenHolds();
+
+    // User id and event id of seat holds that have lapsed
+    @Query("SELECT r.user.id, r.event.id FROM RSVP r WHERE r.status = 'HELD' AND r.holdExpiresAt <= :now " +
+            "ORDER BY r.holdExpiresAt")
+    List<Object[]> findLapsedHolds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // User id and party size of the oldest pending RSVPs of an event, locked so they can't be
+    // cancelled while a bulk confirm works out how many of them fit
+    @Query(value = "SELECT user_id, party_size FROM rsvp WHERE event_id = :eventId AND status = 'PENDING' " +
+            "ORDER BY rsvp_date, id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockOldestPending(@Param("eventId") Long eventId, @Param("limit") int limit);
+
+    // Confirm the oldest pending RSVPs of an event in one statement (MySQL UPDATE ... ORDER BY ... LIMIT)
+    @Modifying
+    @Query(value = "UPDATE rsvp SET status = 'CONFIRMED' WHERE event_id = :eventId AND status = 'PENDING' " +
+            "ORDER BY rsvp_date, id LIMIT :limit", nativeQuery = true)
+    int confirmOldestPending(@Param("eventId") Long eventId, @Param("limit") int limit);
+
+    // Hold seats for the oldest pending RSVPs of a paid event until checkout, in one statement
+    @Modifying
+    @Query(value = "UPDATE rsvp SET status = 'HELD', hold_expires_at = :expiresAt WHERE event_id = :eventId " +
+            "AND status = 'PENDING' ORDER BY rsvp_date, id LIMIT :limit", nativeQuery = true)
+    int holdOldestPending(@Param("eventId") Long eventId, @Param("limit") int limit,
+                          @Param("expiresAt") LocalDateTime expiresAt);
 }
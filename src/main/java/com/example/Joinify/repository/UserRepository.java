@@ -3,6 +3,7 @@ package com.example.Joinify.repository;
 import com.example.Joinify.entity.User;
 import com.example.Joinify.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -42,4 +43,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Count users by role
     long countByRole(UserRole role);
+
+    // Current token version of a user (empty once the user is deleted)
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTokenVersion(@Param("userId") Long userId);
+
+    // Revoke every token issued to a user so far
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :userId")
+    int incrementTokenVersion(@Param("userId") Long userId);
 }
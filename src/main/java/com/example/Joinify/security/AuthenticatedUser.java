@@ -0,0 +1,44 @@
+package com.example.Joinify.security;
+
+import com.example.Joinify.entity.UserRole;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal built from the claims of a verified JWT, so requests are authenticated
+ * without loading the user. Controllers take it with {@code @AuthenticationPrincipal}.
+ */
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String username;
+    private final UserRole role;
+
+    public AuthenticatedUser(Long id, String username, UserRole role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    // Authentication.getName() resolves to this
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.Joinify.security;
+
+import com.example.Joinify.service.IdempotencyService;
+import com.example.Joinify.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Replays the stored response when a client retries a create request with the same
+ * {@code Idempotency-Key}, so the retry never reaches the controllers or services.
+ * Runs after {@link JwtAuthenticationFilter}; keys are scoped to the authenticated user.
+ * A hash of the request body is stored with the response, and reusing a key for a
+ * different body is refused with 422 rather than answered with the first response.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Pattern KEYED_PATHS = Pattern.compile("^/api/(events|rsvp/event/\\d+(/checkout)?|rsvp/batch)/?$");
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !KEYED_PATHS.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // Anonymous requests are left for Spring Security to reject
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String scope = idempotencyService.scope(authentication.getName(), request.getMethod(),
+                request.getRequestURI(), key);
+        // Read the body up front to hash it; the controllers get it from the buffer
+        BufferedRequest buffered = new BufferedRequest(request);
+        String requestHash = idempotencyService.hash(buffered.body);
+
+        // Retry of a request we already answered, unless the key is being reused for another one
+        Optional<StoredResponse> stored = idempotencyService.lookup(scope);
+        if (stored.isPresent()) {
+            if (!stored.get().matches(requestHash)) {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        "This " + HEADER + " was already used for a different request");
+                return;
+            }
+            replay(stored.get(), response);
+            return;
+        }
+
+        // Retry that arrived while the first attempt is still running
+        if (!idempotencyService.begin(scope)) {
+            response.sendError(HttpServletResponse.SC_CONFLICT,
+                    "A request with this " + HEADER + " is already in progress");
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(buffered, wrapper);
+
+            // Only successful responses are kept; errors may be retried with the same key
+            int status = wrapper.getStatus();
+            if (status >= 200 && status < 300) {
+                idempotencyService.complete(scope, new StoredResponse(status, wrapper.getContentType(),
+                        wrapper.getContentAsByteArray(), requestHash));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.abandon(scope);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status);
+        if (stored.contentType != null) {
+            response.setContentType(stored.contentType);
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body != null) {
+            response.setContentLength(stored.body.length);
+            response.getOutputStream().write(stored.body);
+        }
+    }
+
+    // A request whose body has been read into memory and can be read again from there
+    private static final class BufferedRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BufferedRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -1,21 +1,29 @@
 package com.example.Joinify.security;
 
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.service.TokenRevocationService;
 import com.example.Joinify.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
+/**
+ * Authenticates requests from the claims of a verified JWT alone: the user id, role and
+ * token version travel in the token, so no user is loaded. Revoked tokens are caught by
+ * the logout filter and the token-version check in {@link TokenRevocationService}.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -23,7 +31,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,34 +41,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract JWT token from Authorization header
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
         // Check if Authorization header contains Bearer token
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7); // Remove "Bearer " prefix
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7); // Remove "Bearer " prefix
+            AuthenticatedUser user = null;
             try {
-                username = jwtUtil.extractUsername(jwt);
+                user = authenticate(jwt);
             } catch (Exception e) {
-                logger.error("Cannot extract username from JWT token: " + e.getMessage());
+                logger.error("Cannot authenticate JWT token: " + e.getMessage());
             }
-        }
-
-        // Validate the token using JwtUtil and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            // Load user details from database
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            // Validate token
-            if (jwtUtil.validateToken(jwt, userDetails)) {
 
+            if (user != null) {
                 // Set authentication in SecurityContext
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                user,
                                 null,
-                                userDetails.getAuthorities()
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
                         );
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -71,4 +69,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continue filter chain
         filterChain.doFilter(request, response);
     }
+
+    // Principal from a token's verified claims; null for tokens without them or revoked ones
+    private AuthenticatedUser authenticate(String jwt) {
+        Claims claims = jwtUtil.parseClaims(jwt);
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        Number tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Number.class);
+
+        // Tokens issued before these claims existed have to log in again
+        if (userId == null || role == null || tokenVersion == null || claims.getSubject() == null
+                || claims.getId() == null) {
+            return null;
+        }
+        // Logged out: an in-memory filter lookup
+        if (tokenRevocationService.isAccessTokenRevoked(claims.getId())) {
+            return null;
+        }
+        if (!tokenRevocationService.isCurrent(userId.longValue(), tokenVersion.intValue())) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), UserRole.valueOf(role));
+    }
 }
@@ -0,0 +1,209 @@
+package com.example.Joinify.security;
+
+import com.example.Joinify.dto.ErrorResponse;
+import com.example.Joinify.util.JwtUtil;
+import com.example.Joinify.util.StripedTokenBuckets;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits on the endpoints worth abusing: login and registration per client
+ * IP, RSVPs per user (per IP for calls without a valid token). Runs before
+ * {@link JwtAuthenticationFilter}, so a rejected call costs a bucket lookup and never
+ * reaches the database. Rejections are 429 with {@code Retry-After} in seconds.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String RSVP_EVENT_PREFIX = "/api/rsvp/event/";
+
+    enum Route { LOGIN, REGISTER, RSVP }
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${joinify.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${joinify.rate-limit.stripes:64}")
+    private int stripes;
+
+    @Value("${joinify.rate-limit.max-keys:262144}")
+    private int maxKeys;
+
+    @Value("${joinify.rate-limit.login.burst:10}")
+    private int loginBurst;
+
+    @Value("${joinify.rate-limit.login.per-minute:10}")
+    private int loginPerMinute;
+
+    @Value("${joinify.rate-limit.register.burst:5}")
+    private int registerBurst;
+
+    @Value("${joinify.rate-limit.register.per-minute:2}")
+    private int registerPerMinute;
+
+    @Value("${joinify.rate-limit.rsvp.burst:20}")
+    private int rsvpBurst;
+
+    @Value("${joinify.rate-limit.rsvp.per-minute:30}")
+    private int rsvpPerMinute;
+
+    private StripedTokenBuckets buckets;
+    // Indexed by route ordinal
+    private int[] bursts;
+    private long[] refillIntervalNanos;
+    private Counter[] rejected;
+
+    @PostConstruct
+    public void init() {
+        buckets = new StripedTokenBuckets(stripes, maxKeys);
+        bursts = new int[] { loginBurst, registerBurst, rsvpBurst };
+        refillIntervalNanos = new long[] {
+                interval(loginPerMinute), interval(registerPerMinute), interval(rsvpPerMinute) };
+
+        rejected = new Counter[Route.values().length];
+        for (Route route : Route.values()) {
+            rejected[route.ordinal()] = Counter.builder("joinify.rate_limit.rejected")
+                    .description("Calls turned away with 429")
+                    .tag("route", route.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("joinify.rate_limit.buckets", buckets, b -> b.size(System.nanoTime()))
+                .description("Rate-limit buckets that are not full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Route route = route(request);
+        int index = route.ordinal();
+        long waitNanos = buckets.tryAcquire(key(route, request), bursts[index], refillIntervalNanos[index],
+                System.nanoTime());
+
+        if (waitNanos > 0) {
+            rejected[index].increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            reject(request, response, retryAfterSeconds);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Written here rather than through sendError, whose error dispatch would meet the security chain again
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Too many requests",
+                "Try again in " + retryAfterSeconds + " seconds",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    // The limited route a request is for, or null
+    static Route route(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        String uri = request.getRequestURI();
+        if (uri.equals("/api/auth/login")) {
+            return Route.LOGIN;
+        }
+        if (uri.equals("/api/auth/register")) {
+            return Route.REGISTER;
+        }
+        if (uri.equals("/api/rsvp/batch") || isRsvpCreate(uri)) {
+            return Route.RSVP;
+        }
+        return null;
+    }
+
+    // /api/rsvp/event/{id} and /api/rsvp/event/{id}/checkout
+    private static boolean isRsvpCreate(String uri) {
+        if (!uri.startsWith(RSVP_EVENT_PREFIX)) {
+            return false;
+        }
+        int end = uri.length();
+        if (uri.endsWith("/checkout")) {
+            end -= "/checkout".length();
+        }
+        if (end == RSVP_EVENT_PREFIX.length()) {
+            return false;
+        }
+        for (int i = RSVP_EVENT_PREFIX.length(); i < end; i++) {
+            if (!Character.isDigit(uri.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // RSVPs are limited per user when the token is good; everything else per client IP
+    private long key(Route route, HttpServletRequest request) {
+        if (route == Route.RSVP) {
+            long userId = userId(request);
+            if (userId >= 0) {
+                return StripedTokenBuckets.key(route.ordinal(), userId);
+            }
+        }
+        return StripedTokenBuckets.key(route.ordinal(), request.getRemoteAddr());
+    }
+
+    // Verified user id from the bearer token, or -1; the claims come from JwtUtil's cache, not the database
+    private long userId(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return -1;
+        }
+        try {
+            Number userId = jwtUtil.parseClaims(authorizationHeader.substring(7))
+                    .get(JwtUtil.USER_ID_CLAIM, Number.class);
+            return userId != null ? userId.longValue() : -1;
+        } catch (JwtException | IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static long interval(int perMinute) {
+        return TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+    }
+}
@@ -5,15 +5,14 @@ import com.example.Joinify.dto.LoginResponse;
 import com.example.Joinify.dto.RegisterRequest;
 import com.example.Joinify.dto.RegisterResponse;
 import com.example.Joinify.entity.User;
+import com.example.Joinify.exception.ServiceUnavailableException;
+import com.example.Joinify.exception.UnauthorizedException;
 import com.example.Joinify.repository.UserRepository;
 import com.example.Joinify.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -25,16 +24,27 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private JwtUtil jwtUtil;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private UserCache userCache;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private RefreshTokenService refreshTokenService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
+
+    // Checked against when the username is unknown
+    private String userNotFoundHash;
+
+    @PostConstruct
+    public void init() {
+        userNotFoundHash = passwordHashingService.encode("userNotFoundPassword");
+    }
 
     // User Registration
     public RegisterResponse registerUser(RegisterRequest registerRequest) {
@@ -53,7 +63,7 @@ public class AuthService {
             User user = new User();
             user.setUsername(registerRequest.getUsername());
             user.setEmail(registerRequest.getEmail());
-            user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+            user.setPassword(passwordHashingService.encode(registerRequest.getPassword()));
             user.setRole(registerRequest.getRole());
 
             // Save user
@@ -66,51 +76,79 @@ public class AuthService {
                     true
             );
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return new RegisterResponse("Registration failed: " + e.getMessage(), null, null, false);
         }
     }
 
-    // User Login
+    // User Login: one user lookup (none when cached), one BCrypt check, token from the same row
     public LoginResponse loginUser(LoginRequest loginRequest) {
         try {
-            // Authenticate user
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsername(),
-                            loginRequest.getPassword()
-                    )
-            );
+            Optional<User> userOptional = userCache.getByUsername(loginRequest.getUsername());
 
-            // Load user details
-            UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getUsername());
-
-            // Get user from database
-            Optional<User> userOptional = userRepository.findByUsername(loginRequest.getUsername());
-            if (userOptional.isEmpty()) {
-                return new LoginResponse(null, null, null, null, "User not found");
+            // Unknown users still pay for a hash check, so timing doesn't reveal which usernames exist
+            String hash = userOptional.map(User::getPassword).orElse(userNotFoundHash);
+            boolean matches = passwordHashingService.matches(loginRequest.getPassword(), hash);
+            if (userOptional.isEmpty() || !matches) {
+                return new LoginResponse(null, null, null, null, "Invalid username or password");
             }
 
             User user = userOptional.get();
 
-            // Generate JWT token
-            String token = jwtUtil.generateToken(userDetails);
+            // Generate JWT token carrying the user's id, role and token version
+            String token = jwtUtil.generateToken(user);
 
-            return new LoginResponse(
+            LoginResponse response = new LoginResponse(
                     token,
                     user.getUsername(),
                     user.getEmail(),
                     user.getRole(),
                     "Login successful"
             );
+            response.setRefreshToken(refreshTokenService.issue(user.getId()));
+            return response;
 
-        } catch (BadCredentialsException e) {
-            return new LoginResponse(null, null, null, null, "Invalid username or password");
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return new LoginResponse(null, null, null, null, "Login failed: " + e.getMessage());
         }
     }
 
+    // Trade a refresh token for a new access token and the next refresh token
+    public LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userCache.getById(rotation.userId)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        LoginResponse response = new LoginResponse(
+                jwtUtil.generateToken(user),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole(),
+                "Token refreshed"
+        );
+        response.setRefreshToken(rotation.refreshToken);
+        return response;
+    }
+
+    // End a session: the refresh token is revoked and the access token stops working
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtUtil.parseClaims(accessToken);
+                tokenRevocationService.revokeAccessToken(claims.getId(), claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired already; nothing to revoke
+            }
+        }
+    }
+
     // Check if username exists
     public boolean existsByUsername(String username) {
         return userRepository.findByUsername(username).isPresent();
@@ -0,0 +1,144 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.dto.CapacitySnapshot;
+import com.example.Joinify.dto.RSVPCounts;
+import com.example.Joinify.entity.RSVPStatus;
+import com.example.Joinify.exception.BadRequestException;
+import com.example.Joinify.exception.ResourceNotFoundException;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.RSVPRepository;
+import com.example.Joinify.util.TransactionHooks;
+import com.example.Joinify.util.TtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Capacity figures for an event, read in one aggregate query.
+ *
+ * Snapshots are kept for a short time to soak up polling; RSVP and event writes drop
+ * the event's snapshot when they commit. While the seat ledger owns an event its live
+ * in-memory count replaces the (lagging) row counter, cached or not.
+ */
+@Service
+public class CapacityService {
+
+    // Most events one counts request may ask for
+    public static final int MAX_COUNT_EVENTS = 100;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.capacity-cache.ttl-ms:2000}")
+    private long ttlMs;
+
+    @Value("${joinify.capacity-cache.size:10000}")
+    private int cacheSize;
+
+    private TtlCache<Long, CapacitySnapshot> cache;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        cache = new TtlCache<>(cacheSize, ttlMs);
+        hits = Counter.builder("joinify.capacity_cache.hits")
+                .description("Capacity snapshots served from memory")
+                .register(meterRegistry);
+        misses = Counter.builder("joinify.capacity_cache.misses")
+                .description("Capacity snapshots read from the database")
+                .register(meterRegistry);
+    }
+
+    // Capacity figures for an event
+    public CapacitySnapshot getSnapshot(Long eventId) {
+        if (eventId == null) {
+            throw new BadRequestException("Event ID cannot be null");
+        }
+
+        CapacitySnapshot snapshot = ttlMs > 0 ? cache.get(eventId) : null;
+        if (snapshot != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            snapshot = eventRepository.findCapacitySnapshot(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+            if (ttlMs > 0) {
+                cache.put(eventId, snapshot);
+            }
+        }
+
+        Integer live = seatLedger.confirmedCount(eventId);
+        return live != null ? snapshot.withSeatsTaken(live) : snapshot;
+    }
+
+    // RSVP figures for many events in two queries however many events are asked for:
+    // one for capacities and seat counters, one GROUP BY event and status over the RSVPs.
+    // Unknown events are left out of the result.
+    public Map<Long, RSVPCounts> getCounts(Collection<Long> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            throw new BadRequestException("Event IDs cannot be empty");
+        }
+        List<Long> ids = eventIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.size() > MAX_COUNT_EVENTS) {
+            throw new BadRequestException("At most " + MAX_COUNT_EVENTS + " events can be counted at once");
+        }
+
+        Map<Long, RSVPCounts> counts = new LinkedHashMap<>();
+        Map<Long, Integer> seatsTaken = new LinkedHashMap<>();
+        for (Object[] row : eventRepository.findCapacities(ids)) {
+            Long eventId = (Long) row[0];
+            counts.put(eventId, new RSVPCounts(eventId, (Integer) row[1]));
+            Integer live = seatLedger.confirmedCount(eventId);
+            seatsTaken.put(eventId, live != null ? live : (Integer) row[2]);
+        }
+        if (counts.isEmpty()) {
+            return counts;
+        }
+
+        for (Object[] row : rsvpRepository.countByEventIdsAndStatus(counts.keySet())) {
+            RSVPCounts eventCounts = counts.get((Long) row[0]);
+            long rsvps = (Long) row[2];
+            long seats = (Long) row[3];
+            eventCounts.setTotal(eventCounts.getTotal() + rsvps);
+            switch ((RSVPStatus) row[1]) {
+                case CONFIRMED -> eventCounts.setConfirmed(seats);
+                case HELD -> eventCounts.setHeld(seats);
+                case PENDING -> eventCounts.setPending(seats);
+                case WAITLISTED -> eventCounts.setWaitlisted(seats);
+                default -> { }
+            }
+        }
+
+        counts.values().forEach(eventCounts -> {
+            int taken = seatsTaken.get(eventCounts.getEventId());
+            eventCounts.setAvailable(Math.max(0, eventCounts.getMaxCapacity() - taken));
+            eventCounts.setAtCapacity(taken >= eventCounts.getMaxCapacity());
+        });
+        return counts;
+    }
+
+    // Drop an event's snapshot once the current transaction commits (straight away outside one)
+    public void invalidate(Long eventId) {
+        TransactionHooks.afterCompletion(() -> cache.remove(eventId));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.util.GeoGrid;
+import com.example.Joinify.util.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Map positions of upcoming events, for "events near me" and map-area searches without
+ * touching MySQL.
+ *
+ * Loaded from the database at startup; event writes reach the grid when their transaction
+ * commits, like the search index. Searches skip events that have started, and those are
+ * dropped from the grid every so often. Seat availability changes on every RSVP, so it
+ * isn't kept here; callers check it on the cards of the hits.
+ */
+@Service
+public class EventGeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventGeoIndex.class);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.geo.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    @Value("${joinify.geo.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    private GeoGrid grid;
+
+    @PostConstruct
+    public void init() {
+        long start = System.nanoTime();
+        grid = new GeoGrid(cellDegrees);
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = eventRepository.findCoordinates(now, afterId, PageRequest.of(0, loadBatchSize));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                LocalDateTime dateTime = (LocalDateTime) row[3];
+                grid.put(afterId, (Double) row[1], (Double) row[2], dateTime.toEpochSecond(ZoneOffset.UTC));
+            }
+        } while (rows.size() == loadBatchSize);
+        logger.info("Loaded {} upcoming event positions in {} ms", grid.size(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        Gauge.builder("joinify.geo.events", grid, GeoGrid::size)
+                .description("Upcoming events with a map position")
+                .register(meterRegistry);
+    }
+
+    // Upcoming events within maxKm of a point and inside a box, nearest first, after a (distance, id) cursor
+    public List<GeoGrid.Hit> nearest(double lat, double lng, double maxKm, GeoGrid.Box box,
+                                     double afterKm, long afterId, int limit) {
+        long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        return grid.nearest(lat, lng, maxKm, box, now, afterKm, afterId, limit);
+    }
+
+    // (Re)place an event on the map, or take it off if it has no position, when the current transaction commits
+    public void index(Event event) {
+        long id = event.getId();
+        Double lat = event.getLatitude();
+        Double lng = event.getLongitude();
+        LocalDateTime dateTime = event.getDateTime();
+        TransactionHooks.afterCommit(() -> {
+            if (lat != null && lng != null && dateTime != null) {
+                grid.put(id, lat, lng, dateTime.toEpochSecond(ZoneOffset.UTC));
+            } else {
+                grid.remove(id);
+            }
+        });
+    }
+
+    // Take events off the map when the current transaction commits
+    public void remove(Collection<Long> eventIds) {
+        List<Long> ids = List.copyOf(eventIds);
+        TransactionHooks.afterCommit(() -> ids.forEach(grid::remove));
+    }
+
+    // Drop events that have started; searches already skip them
+    @Scheduled(fixedDelayString = "${joinify.geo.purge-interval-ms:3600000}",
+            initialDelayString = "${joinify.geo.purge-interval-ms:3600000}")
+    public void purge() {
+        int removed = grid.removeStartedBy(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC));
+        if (removed > 0) {
+            logger.info("Dropped {} started events from nearby search", removed);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.util.InvertedIndex;
+import com.example.Joinify.util.SearchCursor;
+import com.example.Joinify.util.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Full-text search over event titles, locations and descriptions, answered from memory.
+ *
+ * The index is loaded from the database at startup, in id-ordered batches, and kept up to
+ * date by EventService: a write reaches it when its transaction commits, so a rolled-back
+ * edit never shows up in results. Events created around the database (scripts, bulk
+ * loads) are only picked up on the next start.
+ */
+@Service
+public class EventSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    // Field numbers in the index
+    public static final int TITLE = 0;
+    public static final int LOCATION = 1;
+    public static final int DESCRIPTION = 2;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.search.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    private final InvertedIndex index = new InvertedIndex(3);
+
+    @PostConstruct
+    public void load() {
+        long start = System.nanoTime();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = eventRepository.findSearchableText(afterId, PageRequest.of(0, loadBatchSize));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                index.put(afterId, (String) row[1], (String) row[2], (String) row[3]);
+            }
+        } while (rows.size() == loadBatchSize);
+        logger.info("Indexed {} events for search in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+
+        Gauge.builder("joinify.search.documents", index, InvertedIndex::size)
+                .description("Events in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    // Ranked hits for a query in the given fields, after the cursor; fuzzy also matches misspellings
+    public List<InvertedIndex.Hit> search(String query, boolean matchAll, boolean fuzzy, SearchCursor after,
+                                          int limit, int... fields) {
+        return index.search(query, matchAll, fuzzy, after.getScore(), after.getId(), limit, fields);
+    }
+
+    // Ids of up to limit events matching every word of the query in the given fields, unranked
+    public List<Long> matching(String query, int limit, int... fields) {
+        return index.matching(query, true, limit, fields);
+    }
+
+    // Whether the event matches every word of the query in the given fields, as in matching
+    public boolean matches(long eventId, String query, int... fields) {
+        return index.matches(eventId, query, true, fields);
+    }
+
+    // (Re)index an event once the current transaction commits (straight away outside one)
+    public void index(Event event) {
+        long id = event.getId();
+        String title = event.getTitle();
+        String location = event.getLocation();
+        String description = event.getDescription();
+        TransactionHooks.afterCommit(() -> index.put(id, title, location, description));
+    }
+
+    // Drop events once the current transaction commits (straight away outside one)
+    public void remove(Collection<Long> eventIds) {
+        List<Long> ids = List.copyOf(eventIds);
+        TransactionHooks.afterCommit(() -> ids.forEach(index::remove));
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -5,7 +5,6 @@ import com.example.Joinify.entity.User;
 import com.example.Joinify.exception.BadRequestException;
 import com.example.Joinify.exception.ResourceNotFoundException;
 import com.example.Joinify.repository.EventRepository;
-import com.example.Joinify.repository.RSVPRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -22,7 +21,22 @@ public class EventService {
     private EventRepository eventRepository;
 
     @Autowired
-    private RSVPRepository rsvpRepository;
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private CapacityService capacityService;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventSuggestionService eventSuggestionService;
+
+    @Autowired
+    private EventGeoIndex eventGeoIndex;
 
     // Create or update event
     public Event saveEvent(Event event) {
@@ -42,8 +56,15 @@ public class EventService {
         if (event.getLocation() == null || event.getLocation().trim().isEmpty()) {
             throw new BadRequestException("Event location is required");
         }
+        if ((event.getLatitude() == null) != (event.getLongitude() == null)) {
+            throw new BadRequestException("Latitude and longitude must be given together");
+        }
 
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventSearchIndex.index(savedEvent);
+        eventSuggestionService.index(savedEvent);
+        eventGeoIndex.index(savedEvent);
+        return savedEvent;
     }
 
     // Create new event
@@ -77,6 +98,11 @@ public class EventService {
             throw new ResourceNotFoundException("Event", "id", id);
         }
         eventRepository.deleteById(id);
+        capacityService.invalidate(id);
+        eventSearchIndex.remove(List.of(id));
+        eventSuggestionService.remove(List.of(id));
+        eventGeoIndex.remove(List.of(id));
+        seatLedger.remove(List.of(id));
     }
 
     // Get all events
@@ -165,8 +191,7 @@ public class EventService {
         }
 
         Event event = getEventById(eventId);
-        long confirmedCount = rsvpRepository.countConfirmedRSVPsByEventId(eventId);
-        return confirmedCount >= event.getMaxCapacity();
+        return seatLedger.seatsTaken(eventId) >= event.getMaxCapacity();
     }
 
     // Get available spots for an event
@@ -176,8 +201,7 @@ public class EventService {
         }
 
         Event event = getEventById(eventId);
-        long confirmedCount = rsvpRepository.countConfirmedRSVPsByEventId(eventId);
-        return (int) Math.max(0, event.getMaxCapacity() - confirmedCount);
+        return Math.max(0, event.getMaxCapacity() - seatLedger.seatsTaken(eventId));
     }
 
     // Get confirmed attendee count for an event
@@ -185,7 +209,7 @@ public class EventService {
         if (eventId == null) {
             throw new BadRequestException("Event ID cannot be null");
         }
-        return rsvpRepository.countConfirmedRSVPsByEventId(eventId);
+        return seatLedger.seatsConfirmed(eventId);
     }
 
     // Update event details
@@ -212,11 +236,31 @@ public class EventService {
         if (updatedEvent.getLocation() != null) {
             existingEvent.setLocation(updatedEvent.getLocation());
         }
+        if ((updatedEvent.getLatitude() == null) != (updatedEvent.getLongitude() == null)) {
+            throw new BadRequestException("Latitude and longitude must be given together");
+        }
+        if (updatedEvent.getLatitude() != null) {
+            existingEvent.setLatitude(updatedEvent.getLatitude());
+            existingEvent.setLongitude(updatedEvent.getLongitude());
+        }
+        int previousCapacity = existingEvent.getMaxCapacity();
         if (updatedEvent.getMaxCapacity() > 0) {
             existingEvent.setMaxCapacity(updatedEvent.getMaxCapacity());
         }
 
-        return eventRepository.save(existingEvent);
+        // Flush so the seat claims below see the new capacity
+        Event savedEvent = eventRepository.saveAndFlush(existingEvent);
+        seatLedger.refresh(savedEvent);
+        capacityService.invalidate(eventId);
+        eventSearchIndex.index(savedEvent);
+        eventSuggestionService.index(savedEvent);
+        eventGeoIndex.index(savedEvent);
+
+        // Extra seats go straight to the waitlist
+        if (savedEvent.getMaxCapacity() > previousCapacity) {
+            rsvpService.promoteFromWaitlist(eventId, savedEvent.getMaxCapacity() - previousCapacity);
+        }
+        return savedEvent;
     }
 
     // Count events by organizer
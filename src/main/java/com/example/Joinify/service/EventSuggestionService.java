@@ -0,0 +1,150 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.util.SuggestionTrie;
+import com.example.Joinify.util.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Autocomplete for the search box: titles and locations of upcoming events, by prefix,
+ * answered from memory.
+ *
+ * Suggestions rank by confirmed seats, then by how soon the event is. Event writes reach
+ * the trie when their transaction commits, like the search index. RSVPs move seat counts
+ * far too often to follow one by one, and events drift into the past, so the trie is also
+ * rebuilt from the database every few minutes; writes landing during a rebuild are
+ * replayed onto the new trie before it's swapped in.
+ */
+@Service
+public class EventSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSuggestionService.class);
+
+    // Suggestion kinds
+    public static final int TITLE = 0;
+    public static final int LOCATION = 1;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.suggest.top-k:10}")
+    private int topK;
+
+    @Value("${joinify.suggest.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    private volatile SuggestionTrie trie;
+
+    // Writes seen while a rebuild is reading the database; null when none is running. Guarded by this.
+    private List<Consumer<SuggestionTrie>> replay;
+
+    @PostConstruct
+    public void init() {
+        trie = load();
+        Gauge.builder("joinify.suggest.events", this, s -> s.trie.size())
+                .description("Upcoming events offered as autocomplete suggestions")
+                .register(meterRegistry);
+    }
+
+    // Reload seat counts and drop events that have started
+    @Scheduled(fixedDelayString = "${joinify.suggest.rebuild-interval-ms:300000}",
+            initialDelayString = "${joinify.suggest.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+        SuggestionTrie fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            replay.forEach(change -> change.accept(fresh));
+            trie = fresh;
+            replay = null;
+        }
+    }
+
+    // Up to limit suggestions for what has been typed so far, best first
+    public List<SuggestionTrie.Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.min(limit, topK));
+    }
+
+    // Offer an event (or stop offering it, once it has started) when the current transaction commits
+    public void index(Event event) {
+        long id = event.getId();
+        String title = event.getTitle();
+        String location = event.getLocation();
+        LocalDateTime dateTime = event.getDateTime();
+        int confirmed = event.getConfirmedCount();
+        afterCommit(target -> {
+            if (dateTime != null && dateTime.isAfter(LocalDateTime.now())) {
+                target.put(id, confirmed, dateTime.toEpochSecond(ZoneOffset.UTC), title, location);
+            } else {
+                target.remove(id);
+            }
+        });
+    }
+
+    // Stop offering events when the current transaction commits
+    public void remove(Collection<Long> eventIds) {
+        List<Long> ids = List.copyOf(eventIds);
+        afterCommit(target -> ids.forEach(target::remove));
+    }
+
+    private SuggestionTrie load() {
+        long start = System.nanoTime();
+        SuggestionTrie loaded = new SuggestionTrie(2, topK);
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = eventRepository.findSuggestionText(now, afterId, PageRequest.of(0, loadBatchSize));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                LocalDateTime dateTime = (LocalDateTime) row[3];
+                loaded.add(afterId, (Integer) row[4], dateTime.toEpochSecond(ZoneOffset.UTC),
+                        (String) row[1], (String) row[2]);
+            }
+        } while (rows.size() == loadBatchSize);
+        loaded.rank();
+        logger.info("Loaded {} upcoming events for suggestions in {} ms", loaded.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private void afterCommit(Consumer<SuggestionTrie> change) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                change.accept(trie);
+                if (replay != null) {
+                    replay.add(change);
+                }
+            }
+        });
+    }
+}
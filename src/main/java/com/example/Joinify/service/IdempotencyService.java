@@ -0,0 +1,197 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.IdempotencyRecord;
+import com.example.Joinify.repository.IdempotencyRecordRepository;
+import com.example.Joinify.util.TtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stored responses for requests sent with an {@code Idempotency-Key} header.
+ *
+ * Recent responses are served from a bounded in-memory cache; every response is also
+ * written to the {@code idempotency_record} table so retries that land after a restart,
+ * or after the cache dropped the entry, still get the original answer.
+ *
+ * Records are inserted, never updated, so when two nodes finish the same key the first
+ * insert wins and the other's duplicate key error is ignored. Retries that arrive while
+ * the first attempt is still running are only caught on the node running it; across
+ * nodes both attempts run and the later one's response is dropped.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${joinify.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    private TtlCache<String, StoredResponse> cache;
+    // Keys whose first request is still running on this node. Only deduplicates concurrent
+    // attempts that reach the same node; the stored record's primary key covers the rest.
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private Counter memoryHits;
+    private Counter databaseHits;
+    private Counter misses;
+    private Counter conflicts;
+
+    public static class StoredResponse {
+        public final int status;
+        public final String contentType;
+        public final byte[] body;
+        // SHA-256 of the request body this answered; null for records stored before it was kept
+        public final String requestHash;
+
+        public StoredResponse(int status, String contentType, byte[] body, String requestHash) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.requestHash = requestHash;
+        }
+
+        // Whether this is the answer to a request with the given body hash
+        public boolean matches(String requestHash) {
+            return this.requestHash == null || this.requestHash.equals(requestHash);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = new TtlCache<>(cacheSize, ttlMs);
+
+        memoryHits = Counter.builder("joinify.idempotency.hits")
+                .tag("source", "memory")
+                .description("Retries answered from a stored response")
+                .register(meterRegistry);
+        databaseHits = Counter.builder("joinify.idempotency.hits")
+                .tag("source", "database")
+                .description("Retries answered from a stored response")
+                .register(meterRegistry);
+        misses = Counter.builder("joinify.idempotency.misses")
+                .description("Keyed requests with no stored response")
+                .register(meterRegistry);
+        conflicts = Counter.builder("joinify.idempotency.conflicts")
+                .description("Retries rejected while the original request was still running")
+                .register(meterRegistry);
+        Gauge.builder("joinify.idempotency.cache_size", this, service -> service.cache.size())
+                .description("Responses held in the in-memory idempotency cache")
+                .register(meterRegistry);
+        Gauge.builder("joinify.idempotency.cache_evictions", this, service -> service.cache.evictionCount())
+                .description("Responses dropped from the in-memory cache for size or age")
+                .register(meterRegistry);
+    }
+
+    // Hash the caller, the request line and the client's key into the stored record's id
+    public String scope(String username, String method, String uri, String key) {
+        String raw = username + "\n" + method + " " + uri + "\n" + key;
+        return hash(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Hex SHA-256, for request bodies as well as scopes
+    public String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Find the stored response for a key, checking memory before the database
+    public Optional<StoredResponse> lookup(String scope) {
+        StoredResponse cached = cache.get(scope);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(scope)
+                .filter(r -> r.getExpiresAt().isAfter(LocalDateTime.now()));
+        if (record.isPresent()) {
+            IdempotencyRecord r = record.get();
+            StoredResponse stored = new StoredResponse(r.getStatus(), r.getContentType(), r.getBody(),
+                    r.getRequestHash());
+            cache.putUntil(scope, stored, r.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            databaseHits.increment();
+            return Optional.of(stored);
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    // Mark a key as running; false if another request with the same key got there first
+    public boolean begin(String scope) {
+        if (inFlight.add(scope)) {
+            return true;
+        }
+        conflicts.increment();
+        return false;
+    }
+
+    // Store the response for a finished request and release the key
+    public void complete(String scope, StoredResponse response) {
+        try {
+            long now = System.currentTimeMillis();
+            // A new record is always inserted, so a key stored meanwhile fails on the primary key
+            idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(scope, response.status,
+                    response.contentType, response.body, response.requestHash, toLocalDateTime(now),
+                    toLocalDateTime(now + ttlMs)));
+            cache.put(scope, response);
+        } catch (DataIntegrityViolationException e) {
+            // Another node stored the same key first; retries get its response, read back from the table
+            logger.debug("Idempotency key {} already stored", scope);
+        } finally {
+            inFlight.remove(scope);
+        }
+    }
+
+    // Release a key without storing anything, so the client can retry a failed request
+    public void abandon(String scope) {
+        inFlight.remove(scope);
+    }
+
+    // Drop expired records from the database
+    @Scheduled(fixedDelayString = "${joinify.idempotency.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            logger.info("Purged {} expired idempotency records", removed);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.Joinify.service;
 
+import com.example.Joinify.dto.BatchRSVPResult;
+import com.example.Joinify.dto.BulkConfirmResponse;
+import com.example.Joinify.dto.RSVPSummary;
 import com.example.Joinify.entity.Event;
 import com.example.Joinify.entity.RSVP;
 import com.example.Joinify.entity.RSVPStatus;
@@ -13,17 +16,30 @@ import com.example.Joinify.repository.RSVPRepository;
 import com.example.Joinify.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class RSVPService {
 
+    // Largest group one RSVP can bring
+    public static final int MAX_PARTY_SIZE = 10;
+
     @Autowired
     private RSVPRepository rsvpRepository;
 
@@ -33,14 +49,34 @@ public class RSVPService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SeatHoldScheduler seatHoldScheduler;
+
+    @Autowired
+    private CapacityService capacityService;
+
     // Create RSVP
     public RSVP createRSVP(Long userId, Long eventId) {
+        return createRSVP(userId, eventId, 1);
+    }
+
+    // Create RSVP for a party, taking one seat per member
+    public RSVP createRSVP(Long userId, Long eventId, int partySize) {
         if (userId == null) {
             throw new BadRequestException("User ID cannot be null");
         }
         if (eventId == null) {
             throw new BadRequestException("Event ID cannot be null");
         }
+        if (partySize < 1 || partySize > MAX_PARTY_SIZE) {
+            throw new BadRequestException("Party size must be between 1 and " + MAX_PARTY_SIZE);
+        }
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
@@ -52,25 +88,135 @@ public class RSVPService {
         if (event.getDateTime().isBefore(LocalDateTime.now())) {
             throw new BadRequestException("Cannot RSVP to past events");
         }
-
-        // Check capacity
-        long confirmedCount = rsvpRepository.countConfirmedRSVPsByEventId(eventId);
-        if (confirmedCount >= event.getMaxCapacity()) {
-            throw new EventCapacityExceededException("Event '" + event.getTitle() + "' is at full capacity");
+        // It would never leave the waitlist
+        if (partySize > event.getMaxCapacity()) {
+            throw new BadRequestException("Party size exceeds the event's capacity");
         }
 
-        // Check if RSVP already exists
-        if (rsvpRepository.existsByUserIdAndEventId(userId, eventId)) {
-            throw new DuplicateResourceException("User has already RSVP'd to this event");
-        }
+        // A full event puts the user on the waitlist instead of turning them away, and so does
+        // one with people already waiting: the line is served in order, so a newcomer who would
+        // fit doesn't go ahead of a bigger party still waiting for enough seats.
+        // The loaded counter lets a sold-out event skip the claim entirely (it can lag
+        // while the seat ledger owns the event, so leave that case to the ledger).
+        // Otherwise the claim runs before the insert: on the event row it takes the row
+        // lock ahead of the insert's foreign key check, so concurrent callers can't deadlock.
+        boolean soldOut = !seatLedger.owns(eventId) && event.getConfirmedCount() + partySize > event.getMaxCapacity();
+        boolean queued = !soldOut && rsvpRepository.existsByEventIdAndStatus(eventId, RSVPStatus.WAITLISTED);
+        boolean seated = !soldOut && !queued && claimSeats(eventId, partySize);
 
         RSVP rsvp = new RSVP();
         rsvp.setUser(user);
         rsvp.setEvent(event);
-        rsvp.setStatus(RSVPStatus.CONFIRMED);
+        rsvp.setPartySize(partySize);
+        if (seated) {
+            seat(rsvp, event);
+        } else {
+            rsvp.setStatus(RSVPStatus.WAITLISTED);
+        }
         rsvp.setRsvpDate(LocalDateTime.now());
 
-        return rsvpRepository.save(rsvp);
+        capacityService.invalidate(eventId);
+
+        // The unique (user, event) key rejects duplicates; the rollback hands the seat back
+        try {
+            return rsvpRepository.save(rsvp);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("User has already RSVP'd to this event");
+        }
+    }
+
+    // RSVP one user (party of one) to several events in one transaction, reporting the outcome per event.
+    // The user and events are loaded once, seats are claimed in one JDBC batch of
+    // conditional updates and the RSVPs inserted in another.
+    public List<BatchRSVPResult> createRSVPs(Long userId, List<Long> eventIds) {
+        if (userId == null) {
+            throw new BadRequestException("User ID cannot be null");
+        }
+        if (eventIds == null || eventIds.isEmpty()) {
+            throw new BadRequestException("Event IDs cannot be empty");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+
+        // Claims lock event rows in ascending id order so concurrent batches can't deadlock
+        List<Long> ids = eventIds.stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+        Map<Long, Event> events = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Set<Long> alreadyRSVPd = new HashSet<>(rsvpRepository.findEventIdsRSVPdByUser(userId, ids));
+        // As for a single RSVP, nobody gets ahead of people already waiting
+        Set<Long> waitlisted = new HashSet<>(rsvpRepository.findEventIdsWithWaitlist(ids));
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, BatchRSVPResult> results = new LinkedHashMap<>();
+        List<Long> rowClaims = new ArrayList<>();
+        for (Long eventId : ids) {
+            Event event = events.get(eventId);
+            if (event == null) {
+                results.put(eventId, BatchRSVPResult.failed(eventId, "Event not found"));
+            } else if (event.getDateTime().isBefore(now)) {
+                results.put(eventId, BatchRSVPResult.failed(eventId, "Cannot RSVP to past events"));
+            } else if (alreadyRSVPd.contains(eventId)) {
+                results.put(eventId, BatchRSVPResult.failed(eventId, "User has already RSVP'd to this event"));
+            } else if (waitlisted.contains(eventId)) {
+                results.put(eventId, BatchRSVPResult.succeeded(eventId, RSVPStatus.WAITLISTED));
+            } else if (seatLedger.owns(eventId)) {
+                results.put(eventId, BatchRSVPResult.succeeded(eventId,
+                        seatLedger.tryReserve(eventId, 1) ? seatedStatus(event) : RSVPStatus.WAITLISTED));
+            } else if (event.getConfirmedCount() >= event.getMaxCapacity()) {
+                results.put(eventId, BatchRSVPResult.succeeded(eventId, RSVPStatus.WAITLISTED));
+            } else {
+                seatLedger.recordRequest(eventId);
+                rowClaims.add(eventId);
+            }
+        }
+
+        if (!rowClaims.isEmpty()) {
+            int[] claimed = jdbcTemplate.batchUpdate(
+                    "UPDATE event SET confirmed_count = confirmed_count + 1 WHERE id = ? AND confirmed_count + 1 <= max_capacity",
+                    rowClaims.stream().map(id -> new Object[]{id}).collect(Collectors.toList()));
+            for (int i = 0; i < rowClaims.size(); i++) {
+                Long eventId = rowClaims.get(i);
+                boolean seated = claimed[i] > 0;
+                // The ledger may have taken the event over while we waited on the row lock
+                if (seated && !seatLedger.adoptIfOwned(eventId, 1)) {
+                    eventRepository.releaseSeats(eventId, 1);
+                    seated = false;
+                }
+                results.put(eventId, BatchRSVPResult.succeeded(eventId, seated ? seatedStatus(events.get(eventId)) : RSVPStatus.WAITLISTED));
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp rsvpDate = Timestamp.valueOf(now);
+        LocalDateTime holdExpiresAt = seatHoldScheduler.holdExpiry();
+        for (BatchRSVPResult result : results.values()) {
+            if (result.isSuccess()) {
+                boolean held = result.getStatus() == RSVPStatus.HELD;
+                rows.add(new Object[]{userId, result.getEventId(), result.getStatus().name(), rsvpDate, 1,
+                        held ? Timestamp.valueOf(holdExpiresAt) : null});
+                if (held) {
+                    seatHoldScheduler.scheduleAfterCommit(userId, result.getEventId(), holdExpiresAt);
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate("INSERT INTO rsvp (user_id, event_id, status, rsvp_date, party_size, hold_expires_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", rows);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent request got there first; the rollback hands the seats back
+                throw new DuplicateResourceException("User has already RSVP'd to one of these events");
+            }
+        }
+
+        results.values().stream().filter(BatchRSVPResult::isSuccess)
+                .forEach(result -> capacityService.invalidate(result.getEventId()));
+
+        // Report in the order the events were asked for
+        return eventIds.stream().filter(Objects::nonNull).distinct()
+                .map(results::get)
+                .collect(Collectors.toList());
     }
 
     // Update RSVP status
@@ -88,8 +234,43 @@ public class RSVPService {
         RSVP rsvp = rsvpRepository.findByUserIdAndEventId(userId, eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("RSVP not found for user and event"));
 
-        rsvp.setStatus(status);
-        return rsvpRepository.save(rsvp);
+        // Waitlist order is kept by promotion, not by the user
+        if (status == RSVPStatus.WAITLISTED && rsvp.getStatus() != RSVPStatus.WAITLISTED) {
+            throw new BadRequestException("RSVPs are only waitlisted when the event is full");
+        }
+        if (rsvp.getStatus() == RSVPStatus.WAITLISTED && status == RSVPStatus.CONFIRMED) {
+            throw new BadRequestException("Waitlisted RSVPs are confirmed automatically when a seat frees up");
+        }
+        // Holds are only placed by the service and only released by checkout or expiry
+        if (status == RSVPStatus.HELD && rsvp.getStatus() != RSVPStatus.HELD) {
+            throw new BadRequestException("Seats are only held while checking out of a paid event");
+        }
+        if (rsvp.getStatus() == RSVPStatus.HELD && status == RSVPStatus.CONFIRMED) {
+            throw new BadRequestException("Held seats are confirmed by completing checkout");
+        }
+
+        // Keep the event's seat counter in step with the status change
+        boolean freesSeat = takesSeat(rsvp.getStatus()) && !takesSeat(status);
+        if (!takesSeat(rsvp.getStatus()) && status == RSVPStatus.CONFIRMED) {
+            if (!claimSeats(eventId, rsvp.getPartySize())) {
+                throw new EventCapacityExceededException("Event is at full capacity");
+            }
+            // A seat on a paid event still has to go through checkout
+            seat(rsvp, rsvp.getEvent());
+        } else {
+            rsvp.setStatus(status);
+            if (status != RSVPStatus.HELD) {
+                rsvp.setHoldExpiresAt(null);
+            }
+        }
+
+        RSVP savedRSVP = rsvpRepository.save(rsvp);
+        capacityService.invalidate(eventId);
+
+        if (freesSeat) {
+            freeSeats(eventId, rsvp.getPartySize());
+        }
+        return savedRSVP;
     }
 
     // Cancel RSVP (delete it)
@@ -105,6 +286,21 @@ public class RSVPService {
                 .orElseThrow(() -> new ResourceNotFoundException("RSVP not found for user and event"));
 
         rsvpRepository.delete(rsvp);
+        capacityService.invalidate(eventId);
+
+        // Hand the freed seats to the next people on the waitlist in the same transaction
+        if (takesSeat(rsvp.getStatus())) {
+            freeSeats(eventId, rsvp.getPartySize());
+        }
+    }
+
+    // Give back the seats of a user's confirmed and held RSVPs, before the user (and with them the RSVPs) is deleted
+    public void releaseSeatsForUser(Long userId) {
+        for (Object[] row : rsvpRepository.findSeatsTakenByUser(userId)) {
+            Long eventId = (Long) row[0];
+            returnSeats(eventId, (Integer) row[1]);
+            capacityService.invalidate(eventId);
+        }
     }
 
     // Get RSVP by user and event
@@ -160,7 +356,10 @@ public class RSVPService {
         if (eventId == null) {
             throw new BadRequestException("Event ID cannot be null");
         }
-        return rsvpRepository.isEventAtCapacity(eventId);
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        return seatLedger.seatsTaken(eventId) >= event.getMaxCapacity();
     }
 
     // Get confirmed RSVP count for an event
@@ -168,7 +367,7 @@ public class RSVPService {
         if (eventId == null) {
             throw new BadRequestException("Event ID cannot be null");
         }
-        return rsvpRepository.countConfirmedRSVPsByEventId(eventId);
+        return seatLedger.seatsConfirmed(eventId);
     }
 
     // Get total RSVP count for an event
@@ -188,19 +387,19 @@ public class RSVPService {
     }
 
     // Get upcoming RSVPs for a user
-    public List<RSVP> getUpcomingRSVPsForUser(Long userId) {
+    public List<RSVPSummary> getUpcomingRSVPsForUser(Long userId) {
         if (userId == null) {
             throw new BadRequestException("User ID cannot be null");
         }
-        return rsvpRepository.findUserUpcomingRSVPs(userId, LocalDateTime.now());
+        return rsvpRepository.findUpcomingSummariesByUserId(userId, LocalDateTime.now());
     }
 
     // Get past RSVPs for a user
-    public List<RSVP> getPastRSVPsForUser(Long userId) {
+    public List<RSVPSummary> getPastRSVPsForUser(Long userId) {
         if (userId == null) {
             throw new BadRequestException("User ID cannot be null");
         }
-        return rsvpRepository.findUserPastRSVPs(userId, LocalDateTime.now());
+        return rsvpRepository.findPastSummariesByUserId(userId, LocalDateTime.now());
     }
 
     // Get RSVPs by status
@@ -220,8 +419,7 @@ public class RSVPService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        long confirmedCount = rsvpRepository.countConfirmedRSVPsByEventId(eventId);
-        return (int) Math.max(0, event.getMaxCapacity() - confirmedCount);
+        return Math.max(0, event.getMaxCapacity() - seatLedger.seatsTaken(eventId));
     }
 
     // Count RSVPs by user
@@ -232,24 +430,58 @@ public class RSVPService {
         return rsvpRepository.countByUserId(userId);
     }
 
-    // Bulk confirm pending RSVPs for an event
-    public List<RSVP> confirmPendingRSVPs(Long eventId) {
+    // Bulk confirm the oldest pending RSVPs for an event, as many parties as fit in the free seats.
+    // Only the head of the queue that could fit is read (at most one row per free seat), the
+    // seats are claimed in one go and the RSVPs flipped with a single UPDATE ... LIMIT. On a
+    // paid event the seats are held for checkout instead, like any other seat on it.
+    public BulkConfirmResponse confirmPendingRSVPs(Long eventId) {
         if (eventId == null) {
             throw new BadRequestException("Event ID cannot be null");
         }
 
-        List<RSVP> pendingRSVPs = rsvpRepository.findPendingRSVPsByEventId(eventId);
+        // Lock the event row so its free seats can't change underneath us
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        for (RSVP rsvp : pendingRSVPs) {
-            if (!isEventAtCapacity(eventId)) {
-                rsvp.setStatus(RSVPStatus.CONFIRMED);
-                rsvpRepository.save(rsvp);
-            } else {
-                break; // Stop if capacity is reached
-            }
+        long pending = rsvpRepository.countByEventIdAndStatus(eventId, RSVPStatus.PENDING);
+        int free = Math.max(0, event.getMaxCapacity() - seatLedger.seatsTaken(eventId));
+        if (pending == 0 || free == 0) {
+            return new BulkConfirmResponse(0, pending);
+        }
+
+        // Every party is at least one seat, so no more than `free` of them can fit
+        List<Object[]> head = rsvpRepository.lockOldestPending(eventId, free);
+        List<Integer> partySizes = head.stream().map(row -> ((Number) row[1]).intValue()).toList();
+        int seats = seatsForParties(partySizes, free);
+
+        int claimed;
+        if (seatLedger.owns(eventId)) {
+            claimed = seatLedger.tryReserveUpTo(eventId, seats);
+        } else {
+            claimed = eventRepository.reserveSeats(eventId, seats) > 0 ? seats : 0;
         }
 
-        return rsvpRepository.findConfirmedRSVPsByEventId(eventId);
+        // Seats taken in memory since the snapshot can leave fewer than asked for; confirm the parties that still fit
+        int parties = partiesFitting(partySizes, claimed);
+        int used = seatsForParties(partySizes, claimed);
+        if (used < claimed) {
+            returnSeats(eventId, claimed - used);
+        }
+
+        int confirmed = 0;
+        int held = 0;
+        if (parties > 0 && seatedStatus(event) == RSVPStatus.HELD) {
+            LocalDateTime expiresAt = seatHoldScheduler.holdExpiry();
+            held = rsvpRepository.holdOldestPending(eventId, parties, expiresAt);
+            // The locked head rows are the ones just updated
+            for (Object[] row : head.subList(0, held)) {
+                seatHoldScheduler.scheduleAfterCommit(((Number) row[0]).longValue(), eventId, expiresAt);
+            }
+        } else if (parties > 0) {
+            confirmed = rsvpRepository.confirmOldestPending(eventId, parties);
+        }
+        capacityService.invalidate(eventId);
+        return new BulkConfirmResponse(confirmed, held, pending - confirmed - held);
     }
 
 //    public List<RSVP> getUserRSVPs(Long userId) {
@@ -274,4 +506,162 @@ public class RSVPService {
                 .map(RSVP::getUser)
                 .collect(Collectors.toList());
     }
+
+    // Fill up to the given number of freed seats from the waitlist, oldest first; returns the seats filled.
+    // Each party costs one indexed lookup of the waitlist head; SKIP LOCKED lets concurrent
+    // cancellations promote different people instead of queueing on one row. A party too big
+    // for the free seats stays at the head of the line rather than being skipped.
+    public int promoteFromWaitlist(Long eventId, int seats) {
+        if (eventId == null) {
+            throw new BadRequestException("Event ID cannot be null");
+        }
+        return promote(eventId, seats, 0);
+    }
+
+    // Complete checkout on a held seat, as long as the hold hasn't lapsed
+    public RSVP confirmHold(Long userId, Long eventId) {
+        if (userId == null) {
+            throw new BadRequestException("User ID cannot be null");
+        }
+        if (eventId == null) {
+            throw new BadRequestException("Event ID cannot be null");
+        }
+
+        RSVP rsvp = rsvpRepository.findByUserIdAndEventId(userId, eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("RSVP not found for user and event"));
+        if (rsvp.getStatus() != RSVPStatus.HELD) {
+            throw new BadRequestException("No seat is held for this RSVP");
+        }
+
+        // Conditional on the hold still being live, so it can't race the expiry
+        if (rsvpRepository.confirmHold(rsvp.getId(), LocalDateTime.now()) == 0) {
+            throw new BadRequestException("Seat hold has expired");
+        }
+        rsvp.setStatus(RSVPStatus.CONFIRMED);
+        rsvp.setHoldExpiresAt(null);
+        capacityService.invalidate(eventId);
+        return rsvp;
+    }
+
+    // Drop a seat hold whose checkout wasn't finished in time and hand the seat to the waitlist.
+    // Called by SeatHoldScheduler; false when the hold was paid for or cancelled meanwhile.
+    public boolean expireHold(Long userId, Long eventId) {
+        Optional<RSVP> hold = rsvpRepository.findByUserIdAndEventId(userId, eventId)
+                .filter(rsvp -> rsvp.getStatus() == RSVPStatus.HELD);
+        if (hold.isEmpty() || rsvpRepository.deleteLapsedHold(hold.get().getId(), LocalDateTime.now()) == 0) {
+            return false;
+        }
+        freeSeats(eventId, hold.get().getPartySize());
+        capacityService.invalidate(eventId);
+        return true;
+    }
+
+    // Put an RSVP that just got a seat into its seated state: held until checkout
+    // for paid events, confirmed straight away for free ones
+    private void seat(RSVP rsvp, Event event) {
+        RSVPStatus status = seatedStatus(event);
+        rsvp.setStatus(status);
+        if (status == RSVPStatus.HELD) {
+            LocalDateTime expiresAt = seatHoldScheduler.holdExpiry();
+            rsvp.setHoldExpiresAt(expiresAt);
+            seatHoldScheduler.scheduleAfterCommit(rsvp.getUser().getId(), event.getId(), expiresAt);
+        }
+    }
+
+    private static RSVPStatus seatedStatus(Event event) {
+        boolean paid = event.getFee() != null && event.getFee().signum() > 0;
+        return paid ? RSVPStatus.HELD : RSVPStatus.CONFIRMED;
+    }
+
+    // Seats taken by the longest run of parties, from the front, that fits in the limit
+    private static int seatsForParties(List<Integer> partySizes, int limit) {
+        int seats = 0;
+        for (int size : partySizes) {
+            if (seats + size > limit) {
+                break;
+            }
+            seats += size;
+        }
+        return seats;
+    }
+
+    // Length of the longest run of parties, from the front, that fits in the limit
+    private static int partiesFitting(List<Integer> partySizes, int limit) {
+        int seats = 0;
+        int parties = 0;
+        for (int size : partySizes) {
+            if (seats + size > limit) {
+                break;
+            }
+            seats += size;
+            parties++;
+        }
+        return parties;
+    }
+
+    private static boolean takesSeat(RSVPStatus status) {
+        return status == RSVPStatus.CONFIRMED || status == RSVPStatus.HELD;
+    }
+
+    // Claim seats, in memory when the seat ledger owns the event, otherwise on the event row
+    private boolean claimSeats(Long eventId, int seats) {
+        if (seatLedger.owns(eventId)) {
+            return seatLedger.tryReserve(eventId, seats);
+        }
+        seatLedger.recordRequest(eventId);
+        if (eventRepository.reserveSeats(eventId, seats) == 0) {
+            return false;
+        }
+        // The ledger may have taken the event over while we waited on the row lock. If its
+        // count has no room for them, the seats just claimed on the row go back: callers that
+        // waitlist instead of failing still commit, and would leave the row counting them.
+        if (!seatLedger.adoptIfOwned(eventId, seats)) {
+            eventRepository.releaseSeats(eventId, seats);
+            return false;
+        }
+        return true;
+    }
+
+    // Fill up to `seats` seats from the head of the waitlist while parties fit, the first `reserved`
+    // of them already claimed for it; returns the seats filled
+    private int promote(Long eventId, int seats, int reserved) {
+        int filled = 0;
+        while (filled < seats) {
+            Optional<RSVP> head = rsvpRepository.findFirstByEventIdAndStatusOrderByIdAsc(eventId, RSVPStatus.WAITLISTED);
+            if (head.isEmpty()) {
+                break;
+            }
+            int partySize = head.get().getPartySize();
+            int shortfall = partySize - Math.max(0, Math.min(partySize, reserved - filled));
+            if (shortfall > 0 && !claimSeats(eventId, shortfall)) {
+                break;
+            }
+            seat(head.get(), head.get().getEvent());
+            rsvpRepository.save(head.get());
+            filled += partySize;
+        }
+        return filled;
+    }
+
+    // Give up the seats of an RSVP that no longer takes them and fill them from the waitlist in the
+    // same transaction, along with any seats left free while a bigger party was at the head. The seat ledger only frees seats once the transaction commits, so on an
+    // event it counts the seats pass straight to the promoted parties and only the rest go back.
+    private void freeSeats(Long eventId, int seats) {
+        if (!seatLedger.owns(eventId)) {
+            returnSeats(eventId, seats);
+            promote(eventId, Integer.MAX_VALUE, 0);
+            return;
+        }
+        int handedOver = Math.min(seats, promote(eventId, Integer.MAX_VALUE, seats));
+        if (handedOver < seats) {
+            returnSeats(eventId, seats - handedOver);
+        }
+    }
+
+    // Give seats back wherever they are counted
+    private void returnSeats(Long eventId, int seats) {
+        if (!seatLedger.release(eventId, seats)) {
+            eventRepository.releaseSeats(eventId, seats);
+        }
+    }
 }
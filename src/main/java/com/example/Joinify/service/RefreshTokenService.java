@@ -0,0 +1,122 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.RefreshToken;
+import com.example.Joinify.exception.UnauthorizedException;
+import com.example.Joinify.repository.RefreshTokenRepository;
+import com.example.Joinify.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Long-lived refresh tokens traded for short-lived access tokens.
+ *
+ * Tokens are random and only their SHA-256 is stored. Each one works once: refreshing
+ * revokes it and issues the next. Presenting a token that was already used means it
+ * leaked, so every refresh token of that user is revoked.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // A used refresh token's replacement and whose it is
+    public static class Rotation {
+        public final Long userId;
+        public final String refreshToken;
+
+        public Rotation(Long userId, String refreshToken) {
+            this.userId = userId;
+            this.refreshToken = refreshToken;
+        }
+    }
+
+    // Issue a refresh token; the raw token goes to the client and is never stored
+    @Transactional
+    public String issue(Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(hash(token), userRepository.getReferenceById(userId),
+                now, now.plus(Duration.ofMillis(refreshExpirationMs))));
+        return token;
+    }
+
+    // Use a refresh token: it is revoked and a new one issued for the same user
+    @Transactional(dontRollbackOn = UnauthorizedException.class)
+    public Rotation rotate(String token) {
+        String tokenHash = hash(token);
+        RefreshToken refreshToken = refreshTokenRepository.findById(tokenHash)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        Long userId = refreshToken.getUser().getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (refreshToken.getRevokedAt() != null) {
+            // Reuse of a spent token: someone else has a copy, so end all of this user's sessions
+            int revoked = refreshTokenRepository.revokeAllForUser(userId, now);
+            logger.warn("Refresh token reused for user {}; revoked {} refresh tokens", userId, revoked);
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+        // Lost a race with a concurrent refresh of the same token
+        if (refreshTokenRepository.revoke(tokenHash, now) == 0) {
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+
+        return new Rotation(userId, issue(userId));
+    }
+
+    // Revoke a refresh token, e.g. on logout
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.revoke(hash(token), LocalDateTime.now());
+    }
+
+    // Drop tokens past their expiry
+    @Scheduled(fixedDelayString = "${joinify.refresh-tokens.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            logger.info("Purged {} expired refresh tokens", removed);
+        }
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.repository.RSVPRepository;
+import com.example.Joinify.util.HashedTimingWheel;
+import com.example.Joinify.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires seat holds on paid events.
+ *
+ * Every hold gets a timeout on a hashed timing wheel when its transaction commits; when
+ * it fires the hold is dropped and its seat goes to the waitlist straight away. Holds
+ * are put back on the wheel at startup, and an indexed sweep over lapsed holds picks
+ * up anything the wheel couldn't take (it is capped) or that another node created.
+ */
+@Service
+public class SeatHoldScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldScheduler.class);
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    // Lazy: RSVPService schedules holds through this service
+    @Autowired
+    @Lazy
+    private RSVPService rsvpService;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.holds.duration-ms:600000}")
+    private long holdDurationMs;
+
+    @Value("${joinify.holds.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${joinify.holds.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${joinify.holds.max-pending:200000}")
+    private int maxPending;
+
+    @Value("${joinify.holds.expiry-threads:4}")
+    private int expiryThreads;
+
+    private HashedTimingWheel wheel;
+    private ThreadPoolExecutor expiryExecutor;
+    private Counter expiredHolds;
+    private Counter overflowedHolds;
+
+    @PostConstruct
+    public void init() {
+        expiryExecutor = new ThreadPoolExecutor(expiryThreads, expiryThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10_000));
+        wheel = new HashedTimingWheel("seat-hold-wheel", tickMs, wheelSize, maxPending, expiryExecutor);
+        wheel.start();
+
+        Gauge.builder("joinify.holds.pending", wheel, HashedTimingWheel::pending)
+                .description("Seat holds waiting to expire on the timing wheel")
+                .register(meterRegistry);
+        expiredHolds = Counter.builder("joinify.holds.expired")
+                .description("Seat holds that lapsed and gave their seat back")
+                .register(meterRegistry);
+        overflowedHolds = Counter.builder("joinify.holds.overflowed")
+                .description("Seat holds left to the sweep because the timing wheel was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        expiryExecutor.shutdownNow();
+    }
+
+    // When a hold placed now runs out
+    public LocalDateTime holdExpiry() {
+        return LocalDateTime.now().plus(Duration.ofMillis(holdDurationMs));
+    }
+
+    // Put a hold on the wheel once the transaction creating it commits
+    public void scheduleAfterCommit(Long userId, Long eventId, LocalDateTime expiresAt) {
+        TransactionHooks.afterCommit(() -> schedule(userId, eventId, expiresAt));
+    }
+
+    // Put holds that were open before a restart back on the wheel
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleOpenHolds() {
+        List<Object[]> holds = rsvpRepository.findOpenHolds();
+        holds.forEach(hold -> schedule((Long) hold[0], (Long) hold[1], (LocalDateTime) hold[2]));
+        if (!holds.isEmpty()) {
+            logger.info("Rescheduled {} open seat holds", holds.size());
+        }
+    }
+
+    // Backstop for holds the wheel never saw; reads only lapsed holds off the (status, hold_expires_at) index
+    @Scheduled(fixedDelayString = "${joinify.holds.sweep-interval-ms:300000}")
+    public void sweepLapsedHolds() {
+        List<Object[]> lapsed;
+        int expired;
+        do {
+            lapsed = rsvpRepository.findLapsedHolds(LocalDateTime.now(), PageRequest.of(0, SWEEP_BATCH_SIZE));
+            expired = 0;
+            for (Object[] hold : lapsed) {
+                if (expire((Long) hold[0], (Long) hold[1])) {
+                    expired++;
+                }
+            }
+            // Stop on a batch that made no progress rather than reading it again
+        } while (lapsed.size() == SWEEP_BATCH_SIZE && expired > 0);
+    }
+
+    private void schedule(Long userId, Long eventId, LocalDateTime expiresAt) {
+        // One tick of slack so the hold has lapsed by the database clock too when it fires
+        long delay = Duration.between(LocalDateTime.now(), expiresAt).toMillis() + tickMs;
+        if (wheel.schedule(() -> expire(userId, eventId), delay) == null) {
+            overflowedHolds.increment();
+        }
+    }
+
+    private boolean expire(Long userId, Long eventId) {
+        try {
+            if (rsvpService.expireHold(userId, eventId)) {
+                expiredHolds.increment();
+                return true;
+            }
+        } catch (RuntimeException e) {
+            // Left for the sweep
+            logger.error("Could not expire seat hold of user {} on event {}: {}", userId, eventId, e.getMessage());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.RSVPRepository;
+import com.example.Joinify.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory seat counters for hot events.
+ *
+ * Once an event takes enough RSVP traffic the ledger takes it over: seats are claimed
+ * with a CAS on an in-memory counter instead of an UPDATE on the event row, and the
+ * net change is written back to {@code event.confirmed_count} in batches. Counters are
+ * checked against the RSVP table at intervals and drift is published as metrics.
+ *
+ * Off unless {@code joinify.seat-ledger.enabled} is set, and only for a single instance:
+ * the counters live in this JVM, so claims another node makes on the event row would not
+ * be seen, and each node's write-behind batches would overwrite the others' counts.
+ */
+@Service
+public class SeatLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatLedger.class);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.seat-ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${joinify.seat-ledger.auto-enable-requests:50}")
+    private int autoEnableRequests;
+
+    @Value("${joinify.seat-ledger.rate-window-ms:1000}")
+    private long rateWindowMs;
+
+    // ConcurrentHashMap locks per bin, so hot events don't contend with each other
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Entries dropped by reconcile, kept until their last changes are flushed
+    private final Map<Long, Entry> retired = new ConcurrentHashMap<>();
+    private final Map<Long, RateWindow> rates = new ConcurrentHashMap<>();
+    private final Set<Long> pendingActivations = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong lastDrift = new AtomicLong();
+    private TransactionTemplate transactionTemplate;
+    private Counter flushedSeats;
+    private Counter correctedSeats;
+
+    private static final class Entry {
+        final AtomicInteger confirmed;
+        final AtomicInteger unflushed = new AtomicInteger();
+        volatile int capacity;
+        volatile LocalDateTime dateTime;
+        // Drift seen at the previous reconcile, only touched by the scheduler thread
+        int previousDrift;
+
+        Entry(int confirmed, int capacity, LocalDateTime dateTime) {
+            this.confirmed = new AtomicInteger(confirmed);
+            this.capacity = capacity;
+            this.dateTime = dateTime;
+        }
+    }
+
+    private static final class RateWindow {
+        volatile long start;
+        final AtomicInteger requests = new AtomicInteger();
+
+        RateWindow(long start) {
+            this.start = start;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("joinify.seat_ledger.active_events", entries, Map::size)
+                .description("Events whose seats are counted in memory")
+                .register(meterRegistry);
+        Gauge.builder("joinify.seat_ledger.unflushed_seats", this, SeatLedger::unflushedSeats)
+                .description("Net seat changes not yet written to the event table")
+                .register(meterRegistry);
+        Gauge.builder("joinify.seat_ledger.drift", lastDrift, AtomicLong::get)
+                .description("Seats the ledger and the RSVP table disagreed on at the last reconcile")
+                .register(meterRegistry);
+        flushedSeats = Counter.builder("joinify.seat_ledger.flushed_seats")
+                .description("Seat changes written back to the event table")
+                .register(meterRegistry);
+        correctedSeats = Counter.builder("joinify.seat_ledger.corrected_seats")
+                .description("Seats corrected after persistent drift")
+                .register(meterRegistry);
+    }
+
+    // Check if the ledger currently counts seats for an event
+    public boolean owns(Long eventId) {
+        return entries.containsKey(eventId);
+    }
+
+    // Ask for an event to be counted in memory from the next flush on
+    public void enable(Long eventId) {
+        if (enabled) {
+            pendingActivations.add(eventId);
+        }
+    }
+
+    // Count an RSVP request against the event's rate window, enabling the ledger when it runs hot
+    public void recordRequest(Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        RateWindow window = rates.computeIfAbsent(eventId, id -> new RateWindow(now));
+        if (now - window.start > rateWindowMs) {
+            window.start = now;
+            window.requests.set(0);
+        }
+        if (window.requests.incrementAndGet() == autoEnableRequests) {
+            pendingActivations.add(eventId);
+        }
+    }
+
+    // Claim seats in memory, all or nothing; false when they don't fit or the ledger doesn't own the event
+    public boolean tryReserve(Long eventId, int seats) {
+        Entry entry = entries.get(eventId);
+        if (entry == null || increment(entry, seats, seats) == 0) {
+            return false;
+        }
+        recordClaim(entry, seats);
+        return true;
+    }
+
+    // Claim as many of the requested seats as are free; returns the number granted
+    public int tryReserveUpTo(Long eventId, int seats) {
+        Entry entry = entries.get(eventId);
+        if (entry == null) {
+            return 0;
+        }
+        int granted = increment(entry, 1, seats);
+        if (granted > 0) {
+            recordClaim(entry, granted);
+        }
+        return granted;
+    }
+
+    // Count seats already claimed on the event row, in case the ledger took the event over meanwhile
+    public boolean adoptIfOwned(Long eventId, int seats) {
+        Entry entry = entries.get(eventId);
+        if (entry == null) {
+            return true;
+        }
+        if (increment(entry, seats, seats) == 0) {
+            return false;
+        }
+        TransactionHooks.onRollback(() -> entry.confirmed.addAndGet(-seats));
+        return true;
+    }
+
+    // Give seats back in memory once the current transaction commits (straight away outside one);
+    // false when the ledger doesn't own the event. Claims count at once and are undone on rollback,
+    // but a seat only frees up when the RSVP that held it is really gone, so a concurrent claim
+    // can never take a seat that a rollback would then hand back.
+    public boolean release(Long eventId, int seats) {
+        Entry entry = entries.get(eventId);
+        if (entry == null) {
+            return false;
+        }
+        TransactionHooks.afterCommit(() -> {
+            int before = entry.confirmed.getAndUpdate(count -> Math.max(0, count - seats));
+            int released = Math.min(before, seats);
+            if (released > 0) {
+                entry.unflushed.addAndGet(-released);
+                // Reconcile may have retired the entry meanwhile; the next flush still writes it back
+                if (entries.get(eventId) != entry) {
+                    retired.putIfAbsent(eventId, entry);
+                }
+            }
+        });
+        return true;
+    }
+
+    // Stop counting deleted events once the current transaction commits
+    public void remove(Collection<Long> eventIds) {
+        List<Long> ids = List.copyOf(eventIds);
+        TransactionHooks.afterCommit(() -> ids.forEach(eventId -> {
+            pendingActivations.remove(eventId);
+            entries.remove(eventId);
+            retired.remove(eventId);
+            rates.remove(eventId);
+        }));
+    }
+
+    // Confirmed seats as the ledger sees them, or null when it doesn't own the event
+    public Integer confirmedCount(Long eventId) {
+        Entry entry = entries.get(eventId);
+        return entry != null ? entry.confirmed.get() : null;
+    }
+
+    // Seats taken on an event: the ledger's counter when it owns the event, the event row's otherwise.
+    // The row is read with a scalar query, which a managed Event loaded earlier can't shadow.
+    public int seatsTaken(Long eventId) {
+        Integer count = confirmedCount(eventId);
+        return count != null ? count : eventRepository.findConfirmedCount(eventId).orElse(0);
+    }
+
+    // Confirmed seats on an event: the seats taken less those held for checkout, which only paid events have
+    public int seatsConfirmed(Long eventId) {
+        return Math.max(0, seatsTaken(eventId) - (int) rsvpRepository.countHeldSeatsByEventId(eventId));
+    }
+
+    // Pick up capacity and date changes made to an owned event
+    public void refresh(Event event) {
+        Entry entry = entries.get(event.getId());
+        if (entry != null) {
+            entry.capacity = event.getMaxCapacity();
+            entry.dateTime = event.getDateTime();
+        }
+    }
+
+    // Take over pending events and write the net seat changes back in one batch. Synchronized with
+    // reconcile, which retires entries and flushes them itself, as the scheduler runs jobs in parallel.
+    @Scheduled(fixedDelayString = "${joinify.seat-ledger.flush-interval-ms:500}")
+    public synchronized void flush() {
+        for (Iterator<Long> it = pendingActivations.iterator(); it.hasNext(); ) {
+            Long eventId = it.next();
+            it.remove();
+            activate(eventId);
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        List<Entry> batchEntries = new ArrayList<>();
+        collectDeltas(entries, batch, batchEntries);
+        collectDeltas(retired, batch, batchEntries);
+        if (batch.isEmpty()) {
+            dropFlushedRetired();
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate("UPDATE event SET confirmed_count = confirmed_count + ? WHERE id = ?", batch));
+            batch.forEach(row -> flushedSeats.increment(Math.abs((Integer) row[0])));
+            dropFlushedRetired();
+        } catch (RuntimeException e) {
+            // Retired entries stay in their map, so their deltas are retried along with the rest
+            logger.error("Seat ledger flush failed, retrying next run: {}", e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                batchEntries.get(i).unflushed.addAndGet((Integer) batch.get(i)[0]);
+            }
+        }
+    }
+
+    // Compare every owned counter with the RSVP table and correct drift that outlives an interval
+    @Scheduled(fixedDelayString = "${joinify.seat-ledger.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        flush();
+
+        long totalDrift = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Entry> mapEntry : entries.entrySet()) {
+            Long eventId = mapEntry.getKey();
+            Entry entry = mapEntry.getValue();
+
+            int drift = entry.confirmed.get() - (int) rsvpRepository.countSeatedRSVPsByEventId(eventId);
+            totalDrift += Math.abs(drift);
+
+            // A gap can just be RSVPs still in flight; only one seen twice in a row is real
+            if (drift != 0 && drift == entry.previousDrift) {
+                logger.warn("Seat ledger drift of {} on event {}, correcting", drift, eventId);
+                entry.confirmed.addAndGet(-drift);
+                entry.unflushed.addAndGet(-drift);
+                correctedSeats.increment(Math.abs(drift));
+                entry.previousDrift = 0;
+            } else {
+                entry.previousDrift = drift;
+            }
+
+            // Nobody can RSVP to a past event, so it no longer needs the ledger
+            if (entry.dateTime.isBefore(now)) {
+                entries.remove(eventId);
+                retired.put(eventId, entry);
+            }
+        }
+        lastDrift.set(totalDrift);
+
+        // The seats of retired events are written back here
+        flush();
+
+        long staleBefore = System.currentTimeMillis() - rateWindowMs;
+        rates.values().removeIf(window -> window.start < staleBefore);
+    }
+
+    // Rebuild the seat counters from the RSVP table on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        transactionTemplate.executeWithoutResult(status -> eventRepository.resyncConfirmedCounts());
+    }
+
+    private void activate(Long eventId) {
+        if (entries.containsKey(eventId)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // The row lock waits out claims already in flight on the event row
+                Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+                if (event == null || event.getDateTime().isBefore(LocalDateTime.now())) {
+                    return;
+                }
+                int confirmed = (int) rsvpRepository.countSeatedRSVPsByEventId(eventId);
+                eventRepository.setConfirmedCount(eventId, confirmed);
+                entries.put(eventId, new Entry(confirmed, event.getMaxCapacity(), event.getDateTime()));
+            });
+            logger.info("Seat ledger enabled for event {}", eventId);
+        } catch (RuntimeException e) {
+            entries.remove(eventId);
+            logger.error("Could not enable seat ledger for event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    // Forget retired entries once everything they counted is written back. A release committing
+    // late adds to its entry and then puts it back, so a removal racing it can't lose the change.
+    private void dropFlushedRetired() {
+        for (Long eventId : retired.keySet()) {
+            retired.computeIfPresent(eventId, (id, entry) -> entry.unflushed.get() == 0 ? null : entry);
+        }
+    }
+
+    private static void collectDeltas(Map<Long, Entry> source, List<Object[]> batch, List<Entry> batchEntries) {
+        source.forEach((eventId, entry) -> {
+            int delta = entry.unflushed.getAndSet(0);
+            if (delta != 0) {
+                batch.add(new Object[]{delta, eventId});
+                batchEntries.add(entry);
+            }
+        });
+    }
+
+    // Add between min and max seats while they fit under capacity; returns the number added, 0 if not even min fit
+    private static int increment(Entry entry, int min, int max) {
+        while (true) {
+            int count = entry.confirmed.get();
+            int seats = Math.min(max, entry.capacity - count);
+            if (seats < min) {
+                return 0;
+            }
+            if (entry.confirmed.compareAndSet(count, count + seats)) {
+                return seats;
+            }
+        }
+    }
+
+    private static void recordClaim(Entry entry, int seats) {
+        entry.unflushed.addAndGet(seats);
+        TransactionHooks.onRollback(() -> {
+            entry.confirmed.addAndGet(-seats);
+            entry.unflushed.addAndGet(-seats);
+        });
+    }
+
+    private double unflushedSeats() {
+        return entries.values().stream().mapToInt(entry -> entry.unflushed.get()).sum();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.repository.RefreshTokenRepository;
+import com.example.Joinify.repository.UserRepository;
+import com.example.Joinify.util.TimePartitionedBloomFilter;
+import com.example.Joinify.util.TransactionHooks;
+import com.example.Joinify.util.TtlCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Revocation checks for JWTs.
+ *
+ * Every token carries the user's token version from when it was issued; bumping the
+ * version revokes all of a user's tokens, refresh tokens included. Current versions are
+ * kept in memory for a short time, so a request costs at most one scalar lookup per
+ * user per TTL. Another node sees a revocation once its copy of the version expires.
+ *
+ * Single access tokens (on logout) are revoked by id into a time-partitioned Bloom
+ * filter that forgets them once they expire, so the check is in memory. It is local to
+ * this node and lost on restart, which is bounded by the short access-token lifetime.
+ */
+@Service
+public class TokenRevocationService {
+
+    // Cached for users that no longer exist, so their tokens fail without a lookup
+    private static final int DELETED = -1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.expiration}")
+    private long accessTokenLifetimeMs;
+
+    @Value("${joinify.jwt.revocation.slot-ms:60000}")
+    private long revocationSlotMs;
+
+    @Value("${joinify.jwt.revocation.expected-per-slot:10000}")
+    private int expectedRevocationsPerSlot;
+
+    @Value("${joinify.jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Value("${joinify.jwt.version-cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${joinify.jwt.version-cache-size:100000}")
+    private int cacheSize;
+
+    private TtlCache<Long, Integer> versions;
+    private TimePartitionedBloomFilter revokedAccessTokens;
+
+    @PostConstruct
+    public void init() {
+        versions = new TtlCache<>(cacheSize, ttlMs);
+        revokedAccessTokens = new TimePartitionedBloomFilter(accessTokenLifetimeMs, revocationSlotMs,
+                expectedRevocationsPerSlot, falsePositiveRate);
+    }
+
+    // Whether a token issued at this version is still good
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            current = userRepository.findTokenVersion(userId).orElse(DELETED);
+            versions.put(userId, current);
+        }
+        return current == tokenVersion;
+    }
+
+    // Revoke every token issued to a user so far, refresh tokens included
+    @Transactional
+    public void revokeTokens(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+        forget(userId);
+    }
+
+    // Revoke one access token until it expires (a false positive only sends the client to refresh)
+    public void revokeAccessToken(String tokenId, Date expiresAt) {
+        if (tokenId != null && expiresAt != null) {
+            revokedAccessTokens.add(tokenId, expiresAt.getTime());
+        }
+    }
+
+    public boolean isAccessTokenRevoked(String tokenId) {
+        return revokedAccessTokens.mightContain(tokenId);
+    }
+
+    // Drop a user's cached version now and again once the transaction completes, so a
+    // lookup racing the change can't keep the old version around
+    public void forget(Long userId) {
+        versions.remove(userId);
+        TransactionHooks.afterCompletion(() -> versions.remove(userId));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.User;
+import com.example.Joinify.repository.UserRepository;
+import com.example.Joinify.util.TransactionHooks;
+import com.example.Joinify.util.TtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Users by id and by username, kept in memory for a short time in front of UserRepository.
+ *
+ * Entries hold copies and every lookup hands out a fresh copy, so callers may change
+ * what they get (controllers blank the password, Spring Security erases credentials)
+ * without touching the cache. Only committed reads are cached: a lookup inside a
+ * transaction is stored once that transaction commits. UserService drops a user's entry
+ * on every change to it.
+ */
+@Service
+public class UserCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${joinify.user-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${joinify.user-cache.size:10000}")
+    private int cacheSize;
+
+    private TtlCache<Long, User> byId;
+    // Username to id; checked against the cached user, so a stale entry only costs a lookup
+    private TtlCache<String, Long> idsByUsername;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        byId = new TtlCache<>(cacheSize, ttlMs);
+        idsByUsername = new TtlCache<>(cacheSize, ttlMs);
+
+        hits = Counter.builder("joinify.user_cache.hits")
+                .description("User lookups answered from memory")
+                .register(meterRegistry);
+        misses = Counter.builder("joinify.user_cache.misses")
+                .description("User lookups read from the database")
+                .register(meterRegistry);
+        Gauge.builder("joinify.user_cache.hit_ratio", this, UserCache::hitRatio)
+                .description("Share of user lookups answered from memory")
+                .register(meterRegistry);
+        Gauge.builder("joinify.user_cache.size", this, cache -> cache.byId.size())
+                .description("Users held in memory")
+                .register(meterRegistry);
+        Gauge.builder("joinify.user_cache.evictions", this, cache -> cache.byId.evictionCount())
+                .description("Users dropped from memory for size or age")
+                .register(meterRegistry);
+    }
+
+    // User by id, from memory when possible
+    public Optional<User> getById(Long id) {
+        User cached = byId.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(copy(cached));
+        }
+        misses.increment();
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(this::store);
+        return user;
+    }
+
+    // User by username, from memory when possible
+    public Optional<User> getByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        User cached = id != null ? byId.get(id) : null;
+        if (cached != null && cached.getUsername().equals(username)) {
+            hits.increment();
+            return Optional.of(copy(cached));
+        }
+        misses.increment();
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(this::store);
+        return user;
+    }
+
+    // Drop a user now and again once the current transaction completes, so a lookup
+    // racing the change is unlikely to put the old row back (the TTL bounds it if it does)
+    public void invalidate(Long id) {
+        byId.remove(id);
+        TransactionHooks.afterCompletion(() -> byId.remove(id));
+    }
+
+    public double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    private void store(User user) {
+        User copy = copy(user);
+        TransactionHooks.afterCommit(() -> put(copy));
+    }
+
+    private void put(User user) {
+        byId.put(user.getId(), user);
+        idsByUsername.put(user.getUsername(), user.getId());
+    }
+
+    // The columns only; the lazy collections are left empty
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setRole(user.getRole());
+        copy.setTokenVersion(user.getTokenVersion());
+        return copy;
+    }
+}
@@ -5,9 +5,11 @@ import com.example.Joinify.entity.User;
 import com.example.Joinify.entity.UserRole;
 import com.example.Joinify.exception.DuplicateResourceException;
 import com.example.Joinify.exception.ResourceNotFoundException;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.RefreshTokenRepository;
 import com.example.Joinify.repository.UserRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,7 +22,34 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventSuggestionService eventSuggestionService;
+
+    @Autowired
+    private EventGeoIndex eventGeoIndex;
 
     // Register a new user
     public User registerUser(RegisterRequest request) {
@@ -34,21 +63,21 @@ public class UserService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setRole(request.getRole());
 
         return userRepository.save(user);
     }
 
-    // Get user by ID
+    // Get user by ID (cached)
     public User getUserById(Long id) {
-        return userRepository.findById(id)
+        return userCache.getById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
 
-    // Get user by username
+    // Get user by username (cached)
     public Optional<User> getUserByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCache.getByUsername(username);
     }
 
     // Get user by email
@@ -90,22 +119,41 @@ public class UserService {
             }
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userCache.invalidate(user.getId());
+        return savedUser;
     }
 
-    // Update user password
+    // Update user password; tokens issued with the old one stop working
+    @Transactional
     public User updateUserPassword(Long userId, String newPassword) {
         User user = getUserById(userId);
-        user.setPassword(passwordEncoder.encode(newPassword));
-        return userRepository.save(user);
+        user.setPassword(passwordHashingService.encode(newPassword));
+        User savedUser = userRepository.save(user);
+        userCache.invalidate(userId);
+        tokenRevocationService.revokeTokens(userId);
+        return savedUser;
     }
 
     // Delete user by ID
+    @Transactional
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new ResourceNotFoundException("User", "id", id);
         }
+        // The user's RSVPs go with them (cascade), so hand their seats back first
+        rsvpService.releaseSeatsForUser(id);
+        refreshTokenRepository.deleteByUserId(id);
+        // Their events go too (cascade)
+        List<Long> eventIds = eventRepository.findIdsByOrganizerId(id);
+        eventSearchIndex.remove(eventIds);
+        eventSuggestionService.remove(eventIds);
+        eventGeoIndex.remove(eventIds);
+        seatLedger.remove(eventIds);
         userRepository.deleteById(id);
+        userCache.invalidate(id);
+        // Their tokens fail the version check once the row is gone
+        tokenRevocationService.forget(id);
     }
 
     // Check if username exists
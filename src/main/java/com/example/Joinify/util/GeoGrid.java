@@ -0,0 +1,372 @@
+package com.example.Joinify.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Uniform latitude/longitude grid of points (events) with a start time, for "near me"
+ * searches.
+ *
+ * A search visits cells nearest first, starting from the one holding the origin, and
+ * stops once the next cell is further away than the radius or than the worst of the
+ * hits it already has, so its cost follows the points near the origin rather than the
+ * size of the radius or of the catalogue. Cells are grouped in square blocks and the
+ * search walks block by block, going into a block's non-empty cells only, so empty
+ * country or sea costs one step per block. Distances use a flat-earth approximation at
+ * the origin's latitude, off by a fraction of a percent over city and regional radii.
+ * Reads share a lock; writes take it exclusively.
+ */
+public class GeoGrid {
+
+    // Mean Earth radius in km, per degree of arc
+    private static final double KM_PER_DEGREE = 6371.0 * Math.PI / 180;
+
+    // Cells along each side of a block
+    private static final int BLOCK = 16;
+
+    public static final class Hit {
+        private final long id;
+        private final double distanceKm;
+
+        Hit(long id, double distanceKm) {
+            this.id = id;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getId() { return id; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+
+    // Latitude/longitude rectangle, edges included. Apart from the whole world, it can't cross the
+    // antimeridian or span more than half the globe's longitude, so it's reached the short way round.
+    public static final class Box {
+        public static final Box WORLD = new Box(-90, -180, 90, 180);
+
+        private final double minLat;
+        private final double minLng;
+        private final double maxLat;
+        private final double maxLng;
+
+        public Box(double minLat, double minLng, double maxLat, double maxLng) {
+            if (minLat > maxLat || minLng > maxLng) {
+                throw new IllegalArgumentException("Box corners are the wrong way round");
+            }
+            if (maxLng - minLng > 180 && maxLng - minLng < 360) {
+                throw new IllegalArgumentException("Box spans more than 180 degrees of longitude");
+            }
+            this.minLat = minLat;
+            this.minLng = minLng;
+            this.maxLat = maxLat;
+            this.maxLng = maxLng;
+        }
+
+        boolean contains(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        }
+
+        boolean overlaps(double lowLat, double lowLng, double highLat, double highLng) {
+            return lowLat <= maxLat && highLat >= minLat && lowLng <= maxLng && highLng >= minLng;
+        }
+    }
+
+    private static final Comparator<Hit> RANK = Comparator.comparingDouble(Hit::getDistanceKm)
+            .thenComparingLong(Hit::getId);
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lngCells;
+    private final int latBlocks;
+    private final int lngBlocks;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    // Non-empty cells by block
+    private final Map<Long, List<Cell>> blocks = new HashMap<>();
+    // Cell key of every point
+    private final Map<Long, Long> cellOf = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180 / cellDegrees);
+        this.lngCells = (int) Math.ceil(360 / cellDegrees);
+        this.latBlocks = (latCells + BLOCK - 1) / BLOCK;
+        this.lngBlocks = (lngCells + BLOCK - 1) / BLOCK;
+    }
+
+    // Place a point, replacing where it was before; time is its start, in any unit the searches use too
+    public void put(long id, double lat, double lng, long time) {
+        lock.writeLock().lock();
+        try {
+            detach(id);
+            int latIndex = latIndex(lat);
+            int lngIndex = lngIndex(lng);
+            long key = key(latIndex, lngIndex);
+            Cell cell = cells.get(key);
+            if (cell == null) {
+                cell = new Cell(latIndex, lngIndex);
+                cells.put(key, cell);
+                blocks.computeIfAbsent(blockKey(latIndex / BLOCK, lngIndex / BLOCK), k -> new ArrayList<>()).add(cell);
+            }
+            cell.add(id, lat, lng, time);
+            cellOf.put(id, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            detach(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop points starting at or before the given time; returns how many went
+    public int removeStartedBy(long time) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (Cell cell : cells.values()) {
+                for (int i = cell.size - 1; i >= 0; i--) {
+                    if (cell.times[i] <= time) {
+                        cellOf.remove(cell.ids[i]);
+                        cell.removeAt(i);
+                        removed++;
+                    }
+                }
+            }
+            cells.values().removeIf(cell -> cell.size == 0);
+            blocks.values().forEach(block -> block.removeIf(cell -> cell.size == 0));
+            blocks.values().removeIf(List::isEmpty);
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Points starting after {@code notBefore}, within {@code maxKm} of the origin and inside
+     * the box (which has to hold the origin), nearest first and ties by id, ranked after
+     * ({@code afterKm}, {@code afterId}). At most {@code limit} are returned.
+     */
+    public List<Hit> nearest(double lat, double lng, double maxKm, Box box, long notBefore,
+                             double afterKm, long afterId, int limit) {
+        if (!box.contains(lat, lng)) {
+            throw new IllegalArgumentException("The origin has to be inside the box");
+        }
+        double lngKm = KM_PER_DEGREE * Math.cos(Math.toRadians(lat));
+        // Worst first
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANK.reversed());
+        // Places to visit, nearest first: {distance, 0, block latitude, block longitude} for a
+        // block, {distance, 1, cell latitude, cell longitude} for a cell
+        PriorityQueue<double[]> frontier = new PriorityQueue<>(Comparator.comparingDouble(c -> c[0]));
+        Set<Long> seen = new HashSet<>();
+        int startLat = latIndex(lat) / BLOCK;
+        int startLng = lngIndex(lng) / BLOCK;
+        frontier.add(new double[] { 0, 0, startLat, startLng });
+        seen.add(blockKey(startLat, startLng));
+
+        lock.readLock().lock();
+        try {
+            while (!frontier.isEmpty()) {
+                double[] next = frontier.poll();
+                if (next[0] > maxKm || (best.size() == limit && next[0] > best.peek().distanceKm)) {
+                    break;
+                }
+                int latIndex = (int) next[2];
+                int lngIndex = (int) next[3];
+                if (next[1] == 1) {
+                    collect(cells.get(key(latIndex, lngIndex)), lat, lng, lngKm, maxKm, box, notBefore,
+                            afterKm, afterId, limit, best);
+                    continue;
+                }
+
+                for (Cell cell : blocks.getOrDefault(blockKey(latIndex, lngIndex), List.of())) {
+                    double distance = distance(lat, lng, lngKm, box, cell.latIndex, cell.lngIndex, 1);
+                    if (distance <= maxKm) {
+                        frontier.add(new double[] { distance, 1, cell.latIndex, cell.lngIndex });
+                    }
+                }
+                // Each block has a neighbour towards the origin at least as near, so the
+                // four neighbours are enough to reach every block in order
+                visit(latIndex - 1, lngIndex, lat, lng, lngKm, maxKm, box, frontier, seen);
+                visit(latIndex + 1, lngIndex, lat, lng, lngKm, maxKm, box, frontier, seen);
+                visit(latIndex, lngIndex - 1, lat, lng, lngKm, maxKm, box, frontier, seen);
+                visit(latIndex, lngIndex + 1, lat, lng, lngKm, maxKm, box, frontier, seen);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANK);
+        return hits;
+    }
+
+    // Offer a cell's matching points to the bounded best-hits heap
+    private static void collect(Cell cell, double lat, double lng, double lngKm, double maxKm, Box box,
+                                long notBefore, double afterKm, long afterId, int limit, PriorityQueue<Hit> best) {
+        for (int i = 0; i < cell.size; i++) {
+            if (cell.times[i] <= notBefore || !box.contains(cell.lats[i], cell.lngs[i])) {
+                continue;
+            }
+            double dy = (cell.lats[i] - lat) * KM_PER_DEGREE;
+            double dx = wrap(cell.lngs[i] - lng) * lngKm;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            long id = cell.ids[i];
+            if (distance > maxKm || distance < afterKm || (distance == afterKm && id <= afterId)) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(id, distance));
+            } else if (distance < best.peek().distanceKm
+                    || (distance == best.peek().distanceKm && id < best.peek().id)) {
+                best.poll();
+                best.add(new Hit(id, distance));
+            }
+        }
+    }
+
+    private void visit(int latBlock, int lngBlock, double lat, double lng, double lngKm, double maxKm, Box box,
+                       PriorityQueue<double[]> frontier, Set<Long> seen) {
+        if (latBlock < 0 || latBlock >= latBlocks) {
+            return;
+        }
+        lngBlock = Math.floorMod(lngBlock, lngBlocks);
+        if (!seen.add(blockKey(latBlock, lngBlock))) {
+            return;
+        }
+        double distance = distance(lat, lng, lngKm, box, latBlock * BLOCK, lngBlock * BLOCK, BLOCK);
+        if (distance <= maxKm) {
+            frontier.add(new double[] { distance, 0, latBlock, lngBlock });
+        }
+    }
+
+    // Distance from the origin to the nearest point of a square of cells, infinite if it's outside the box
+    private double distance(double lat, double lng, double lngKm, Box box, int latIndex, int lngIndex, int span) {
+        double lowLat = -90 + latIndex * cellDegrees;
+        double highLat = Math.min(90, lowLat + span * cellDegrees);
+        double lowLng = -180 + lngIndex * cellDegrees;
+        double highLng = Math.min(180, lowLng + span * cellDegrees);
+        if (!box.overlaps(lowLat, lowLng, highLat, highLng)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double latGap = lat < lowLat ? lowLat - lat : lat > highLat ? lat - highLat : 0;
+        double lngGap = lng >= lowLng && lng <= highLng ? 0
+                : Math.min(Math.abs(wrap(lowLng - lng)), Math.abs(wrap(highLng - lng)));
+        double dy = latGap * KM_PER_DEGREE;
+        double dx = lngGap * lngKm;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private void detach(long id) {
+        Long key = cellOf.remove(id);
+        if (key == null) {
+            return;
+        }
+        Cell cell = cells.get(key);
+        cell.removeAt(cell.indexOf(id));
+        if (cell.size == 0) {
+            cells.remove(key);
+            long block = blockKey(cell.latIndex / BLOCK, cell.lngIndex / BLOCK);
+            List<Cell> blockCells = blocks.get(block);
+            blockCells.remove(cell);
+            if (blockCells.isEmpty()) {
+                blocks.remove(block);
+            }
+        }
+    }
+
+    private int latIndex(double lat) {
+        return Math.min(latCells - 1, Math.max(0, (int) Math.floor((lat + 90) / cellDegrees)));
+    }
+
+    private int lngIndex(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / cellDegrees), lngCells);
+    }
+
+    private long key(int latIndex, int lngIndex) {
+        return (long) latIndex * lngCells + lngIndex;
+    }
+
+    private long blockKey(int latBlock, int lngBlock) {
+        return (long) latBlock * lngBlocks + lngBlock;
+    }
+
+    // Longitude difference brought into [-180, 180]
+    private static double wrap(double degrees) {
+        if (degrees > 180) {
+            return degrees - 360;
+        }
+        if (degrees < -180) {
+            return degrees + 360;
+        }
+        return degrees;
+    }
+
+    // Points of one cell in parallel arrays, unordered
+    private static final class Cell {
+        final int latIndex;
+        final int lngIndex;
+        long[] ids = new long[4];
+        double[] lats = new double[4];
+        double[] lngs = new double[4];
+        long[] times = new long[4];
+        int size;
+
+        Cell(int latIndex, int lngIndex) {
+            this.latIndex = latIndex;
+            this.lngIndex = lngIndex;
+        }
+
+        void add(long id, double lat, double lng, long time) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            times[size] = time;
+            size++;
+        }
+
+        int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Point " + id + " is not in its cell");
+        }
+
+        // Move the last point into the gap
+        void removeAt(int index) {
+            size--;
+            ids[index] = ids[size];
+            lats[index] = lats[size];
+            lngs[index] = lngs[size];
+            times[index] = times[size];
+        }
+    }
+}
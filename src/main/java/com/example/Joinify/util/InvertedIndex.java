@@ -0,0 +1,623 @@
+package com.example.Joinify.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over a fixed number of text fields per document, ranked with BM25.
+ *
+ * Each field has its own term dictionary. A term's posting list keeps the ids of the
+ * documents containing it sorted in a primitive array, next to the term frequency and the
+ * field's length in that document, so scoring never goes back to the document. Text is
+ * split into lowercase runs of letters and digits; the last query term also matches as a
+ * prefix, so a half-typed word still finds something. Fuzzy queries also match terms a
+ * couple of edits away, found through a {@link TrigramIndex} of each field's dictionary,
+ * at a discount. Queries share a read lock and writes, which are rare, take it exclusively.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Most dictionary terms the last query term expands to as a prefix
+    public static final int MAX_PREFIX_TERMS = 64;
+
+    // Fuzzy terms: dictionary words compared by edit distance, and kept, per query term and field
+    private static final int FUZZY_CANDIDATES = 32;
+    private static final int MAX_FUZZY_TERMS = 8;
+
+    private final int fieldCount;
+    private final List<TreeMap<String, Postings>> dictionaries = new ArrayList<>();
+    private final List<TrigramIndex> spellings = new ArrayList<>();
+    private final long[] totalLengths;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static final class Hit {
+        private final long id;
+        private final double score;
+
+        Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public long getId() { return id; }
+        public double getScore() { return score; }
+    }
+
+    // Best first: higher score, then lower id
+    private static final Comparator<Hit> RANK = Comparator.comparingDouble(Hit::getScore).reversed()
+            .thenComparingLong(Hit::getId);
+
+    public InvertedIndex(int fieldCount) {
+        this.fieldCount = fieldCount;
+        this.totalLengths = new long[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            dictionaries.add(new TreeMap<>());
+            spellings.add(new TrigramIndex());
+        }
+    }
+
+    // Index a document's fields (null for an empty one), replacing whatever was indexed for it
+    public void put(long id, String... texts) {
+        if (texts.length != fieldCount) {
+            throw new IllegalArgumentException("Expected " + fieldCount + " fields, got " + texts.length);
+        }
+        Document document = new Document(fieldCount);
+        for (int field = 0; field < fieldCount; field++) {
+            Map<String, Integer> frequencies = new LinkedHashMap<>();
+            List<String> tokens = tokenize(texts[field]);
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            document.lengths[field] = tokens.size();
+            document.terms[field] = frequencies.keySet().toArray(new String[0]);
+            document.frequencies[field] = frequencies.values().stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            for (int field = 0; field < fieldCount; field++) {
+                TreeMap<String, Postings> dictionary = dictionaries.get(field);
+                TrigramIndex spelling = spellings.get(field);
+                String[] terms = document.terms[field];
+                for (int i = 0; i < terms.length; i++) {
+                    Postings postings = dictionary.get(terms[i]);
+                    if (postings == null) {
+                        postings = new Postings();
+                        dictionary.put(terms[i], postings);
+                        spelling.add(terms[i]);
+                    }
+                    postings.add(id, document.frequencies[field][i], document.lengths[field]);
+                }
+                totalLengths[field] += document.lengths[field];
+            }
+            documents.put(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, boolean matchAll, double afterScore, long afterId, int limit,
+                            int... fields) {
+        return search(query, matchAll, false, afterScore, afterId, limit, fields);
+    }
+
+    /**
+     * Up to {@code limit} documents matching the query in the given fields, best first,
+     * starting after the hit ranked ({@code afterScore}, {@code afterId}); pass
+     * {@code Double.POSITIVE_INFINITY} for the first page. With {@code matchAll} every query
+     * term has to appear in at least one of the fields, otherwise any one of them will do.
+     * With {@code fuzzy} a term also matches dictionary words within {@link #maxEdits} of it.
+     */
+    public List<Hit> search(String query, boolean matchAll, boolean fuzzy, double afterScore, long afterId,
+                            int limit, int... fields) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Scored[]> groups = groups(terms, matchAll, fuzzy, fields);
+            if (groups == null) {
+                return List.of();
+            }
+            TopHits top = new TopHits(afterScore, afterId, limit);
+            collect(groups, matchAll, top);
+            return top.ranked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} documents matching the query in the given fields, lowest id
+     * first, without ranking them; matching stops once the limit is reached. Terms match as
+     * in {@link #search}, without fuzzy spellings.
+     */
+    public List<Long> matching(String query, boolean matchAll, int limit, int... fields) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Scored[]> groups = groups(terms, matchAll, false, fields);
+            if (groups == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+            collect(groups, matchAll, (id, score) -> {
+                ids.add(id);
+                return ids.size() < limit;
+            });
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether one document matches the query in the given fields, as {@link #matching} would
+     * decide it, checked against the document's own terms rather than the posting lists.
+     */
+    public boolean matches(long id, String query, boolean matchAll, int... fields) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(id);
+            if (document == null) {
+                return false;
+            }
+            for (int i = 0; i < terms.size(); i++) {
+                boolean found = contains(document, terms.get(i), i == terms.size() - 1, fields);
+                if (found != matchAll) {
+                    return found;
+                }
+            }
+            return matchAll;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean contains(Document document, String term, boolean prefix, int[] fields) {
+        for (int field : fields) {
+            for (String word : document.terms[field]) {
+                if (prefix ? word.startsWith(term) : word.equals(term)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // One group of posting lists per query term, or null when matchAll and a term matches nothing.
+    // Callers hold the read lock.
+    private List<Scored[]> groups(List<String> terms, boolean matchAll, boolean fuzzy, int[] fields) {
+        int documentCount = documents.size();
+        double[] averageLengths = new double[fieldCount];
+        for (int field : fields) {
+            averageLengths[field] = Math.max(1.0, (double) totalLengths[field] / Math.max(1, documentCount));
+        }
+        List<Scored[]> groups = new ArrayList<>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            Scored[] group = lookup(terms.get(i), i == terms.size() - 1, fuzzy, documentCount, averageLengths, fields);
+            if (group.length == 0 && matchAll) {
+                return null;
+            }
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    // Feed the matching documents to a sink in id order, until it has had enough
+    private static void collect(List<Scored[]> groups, boolean matchAll, Sink sink) {
+        if (matchAll) {
+            intersect(groups, sink);
+            return;
+        }
+        Union union = new Union(groups.stream().flatMap(Arrays::stream).toArray(Scored[]::new));
+        boolean more = union.advanceTo(Long.MIN_VALUE);
+        while (more) {
+            if (!sink.offer(union.id(), union.score())) {
+                return;
+            }
+            more = union.id() < Long.MAX_VALUE && union.advanceTo(union.id() + 1);
+        }
+    }
+
+    // Lowercase runs of letters and digits
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString().toLowerCase(Locale.ROOT));
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    // Caller holds the write lock
+    private void unindex(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (int field = 0; field < fieldCount; field++) {
+            TreeMap<String, Postings> dictionary = dictionaries.get(field);
+            for (String term : document.terms[field]) {
+                Postings postings = dictionary.get(term);
+                if (postings != null && postings.remove(id) && postings.size == 0) {
+                    dictionary.remove(term);
+                    spellings.get(field).remove(term);
+                }
+            }
+            totalLengths[field] -= document.lengths[field];
+        }
+    }
+
+    // Edits a fuzzy term may be away from a dictionary word: none for short words, where one
+    // edit makes a different word, then one, then two from seven letters on
+    public static int maxEdits(String term) {
+        if (term.length() <= 3) {
+            return 0;
+        }
+        return term.length() <= 6 ? 1 : 2;
+    }
+
+    // The posting lists a query term matches in the fields: exactly, as a prefix (the last
+    // term) and, for fuzzy queries, by spelling, discounted by the edits
+    private Scored[] lookup(String term, boolean prefix, boolean fuzzy, int documentCount, double[] averageLengths,
+                            int[] fields) {
+        List<Scored> group = new ArrayList<>();
+        for (int field : fields) {
+            TreeMap<String, Postings> dictionary = dictionaries.get(field);
+            if (prefix) {
+                int expanded = 0;
+                for (Postings postings : dictionary.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                    if (expanded++ == MAX_PREFIX_TERMS) {
+                        break;
+                    }
+                    group.add(new Scored(postings, documentCount, averageLengths[field], 1.0));
+                }
+            } else {
+                Postings postings = dictionary.get(term);
+                if (postings != null) {
+                    group.add(new Scored(postings, documentCount, averageLengths[field], 1.0));
+                }
+            }
+
+            int maxEdits = fuzzy ? maxEdits(term) : 0;
+            if (maxEdits == 0) {
+                continue;
+            }
+            for (TrigramIndex.Match match : spellings.get(field).similar(term, maxEdits, FUZZY_CANDIDATES,
+                    MAX_FUZZY_TERMS)) {
+                Postings postings = dictionary.get(match.getTerm());
+                if (match.getDistance() > 0 && !contains(group, postings)) {
+                    group.add(new Scored(postings, documentCount, averageLengths[field],
+                            1.0 / (1 + match.getDistance())));
+                }
+            }
+        }
+        return group.toArray(new Scored[0]);
+    }
+
+    private static boolean contains(List<Scored> group, Postings postings) {
+        for (Scored scored : group) {
+            if (scored.postings == postings) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Documents in every group, by leapfrogging: each group jumps to the highest id any
+    // other group is at, so long posting lists are galloped through rather than walked
+    private static void intersect(List<Scored[]> groups, Sink sink) {
+        Union[] unions = groups.stream().map(Union::new).toArray(Union[]::new);
+        if (!unions[0].advanceTo(Long.MIN_VALUE)) {
+            return;
+        }
+        long candidate = unions[0].id();
+        int agreeing = 1;
+        int next = 1 % unions.length;
+        while (true) {
+            if (agreeing == unions.length) {
+                double score = 0;
+                for (Union union : unions) {
+                    score += union.score();
+                }
+                if (!sink.offer(candidate, score)) {
+                    return;
+                }
+                if (candidate == Long.MAX_VALUE || !unions[next].advanceTo(candidate + 1)) {
+                    return;
+                }
+                candidate = unions[next].id();
+                agreeing = 1;
+            } else {
+                if (!unions[next].advanceTo(candidate)) {
+                    return;
+                }
+                if (unions[next].id() == candidate) {
+                    agreeing++;
+                } else {
+                    candidate = unions[next].id();
+                    agreeing = 1;
+                }
+            }
+            next = (next + 1) % unions.length;
+        }
+    }
+
+    // First position at or after from whose id is not below target: exponential steps, then a binary search
+    private static int advance(long[] ids, int size, int from, long target) {
+        if (from >= size || ids[from] >= target) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while (high < size && ids[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        int index = Arrays.binarySearch(ids, low + 1, Math.min(high + 1, size), target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static final class Document {
+        final String[][] terms;
+        final int[][] frequencies;
+        final int[] lengths;
+
+        Document(int fieldCount) {
+            terms = new String[fieldCount][];
+            frequencies = new int[fieldCount][];
+            lengths = new int[fieldCount];
+        }
+    }
+
+    // Sorted document ids with each one's term frequency and field length
+    private static final class Postings {
+        long[] ids = new long[4];
+        int[] frequencies = new int[4];
+        int[] lengths = new int[4];
+        int size;
+
+        // New events have the highest ids, so this is nearly always an append
+        void add(long id, int frequency, int length) {
+            int index = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0 && index < size) {
+                frequencies[index] = frequency;
+                lengths[index] = length;
+                return;
+            }
+            int insertAt = index >= 0 ? index : -index - 1;
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+            System.arraycopy(lengths, insertAt, lengths, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            frequencies[insertAt] = frequency;
+            lengths[insertAt] = length;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            int tail = size - index - 1;
+            System.arraycopy(ids, index + 1, ids, index, tail);
+            System.arraycopy(frequencies, index + 1, frequencies, index, tail);
+            System.arraycopy(lengths, index + 1, lengths, index, tail);
+            size--;
+            return true;
+        }
+
+        int indexOf(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? index : -1;
+        }
+    }
+
+    // A posting list with the BM25 constants of one query; weight discounts misspelled matches
+    private static final class Scored {
+        final Postings postings;
+        final double idf;
+        final double averageLength;
+
+        Scored(Postings postings, int documentCount, double averageLength, double weight) {
+            this.postings = postings;
+            this.idf = weight * Math.log(1 + (documentCount - postings.size + 0.5) / (postings.size + 0.5));
+            this.averageLength = averageLength;
+        }
+
+        double score(int index) {
+            int frequency = postings.frequencies[index];
+            double norm = K1 * (1 - B + B * postings.lengths[index] / averageLength);
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+
+    // Cursor over the union of some posting lists in id order. It sits on the lowest id any
+    // list is at; a document's score, summed across the lists holding it, is only worked
+    // out when asked for.
+    private static final class Union {
+        private final Scored[] lists;
+        private final int[] positions;
+        // Min-heap of list numbers, keyed by the id at each list's position
+        private final int[] heap;
+        private int heapSize;
+
+        Union(Scored[] lists) {
+            this.lists = lists;
+            this.positions = new int[lists.length];
+            this.heap = new int[lists.length];
+            for (int list = 0; list < lists.length; list++) {
+                if (lists[list].postings.size > 0) {
+                    heap[heapSize++] = list;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        // Move to the first id not below target; false once every list is used up
+        boolean advanceTo(long target) {
+            while (heapSize > 0 && current(heap[0]) < target) {
+                int list = heap[0];
+                Postings postings = lists[list].postings;
+                positions[list] = advance(postings.ids, postings.size, positions[list], target);
+                if (positions[list] == postings.size) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(0);
+            }
+            return heapSize > 0;
+        }
+
+        long id() {
+            return current(heap[0]);
+        }
+
+        // The lists on the current id are the top of the heap
+        double score() {
+            return score(0, id());
+        }
+
+        private double score(int node, long id) {
+            if (node >= heapSize || current(heap[node]) != id) {
+                return 0;
+            }
+            int list = heap[node];
+            return lists[list].score(positions[list]) + score(2 * node + 1, id) + score(2 * node + 2, id);
+        }
+
+        private long current(int list) {
+            return lists[list].postings.ids[positions[list]];
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < heapSize && current(heap[left]) < current(heap[smallest])) {
+                    smallest = left;
+                }
+                if (right < heapSize && current(heap[right]) < current(heap[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                int swap = heap[i];
+                heap[i] = heap[smallest];
+                heap[smallest] = swap;
+                i = smallest;
+            }
+        }
+    }
+
+    // Takes matching documents in id order; false once it wants no more
+    private interface Sink {
+        boolean offer(long id, double score);
+    }
+
+    // The best hits ranked after a cursor, in a heap no bigger than the page
+    private static final class TopHits implements Sink {
+        private final double afterScore;
+        private final long afterId;
+        private final int limit;
+        // Worst first
+        private final PriorityQueue<Hit> heap;
+
+        TopHits(double afterScore, long afterId, int limit) {
+            this.afterScore = afterScore;
+            this.afterId = afterId;
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(limit + 1, RANK.reversed());
+        }
+
+        @Override
+        public boolean offer(long id, double score) {
+            if (score > afterScore || (score == afterScore && id <= afterId)) {
+                return true;
+            }
+            if (heap.size() < limit) {
+                heap.add(new Hit(id, score));
+                return true;
+            }
+            Hit worst = heap.peek();
+            if (score > worst.score || (score == worst.score && id < worst.id)) {
+                heap.poll();
+                heap.add(new Hit(id, score));
+            }
+            return true;
+        }
+
+        List<Hit> ranked() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(RANK);
+            return hits;
+        }
+    }
+}
@@ -1,31 +1,70 @@
 package com.example.Joinify.util;
 
+import com.example.Joinify.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * The signing key and parser are built once. Verifying a token parses it once; tokens
+ * verified recently are remembered by their SHA-256 digest until they expire, so a
+ * client's repeat requests skip the base64 decoding, JSON parsing and HMAC.
+ */
 @Component
 public class JwtUtil {
 
+    // Claims that let a request be authenticated without loading the user
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    // Generate JWT token with user details
-    public String generateToken(UserDetails userDetails) {
+    // 0 turns the verified-token cache off
+    @Value("${joinify.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private TtlCache<String, Claims> verified;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verified = new TtlCache<>(Math.max(1, verifiedCacheSize), expiration);
+    }
+
+    // Generate JWT token carrying the user's id, role and token version
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return createToken(claims, user.getUsername());
     }
 
     // Create JWT token with claims and subject
@@ -33,18 +72,14 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                // Lets a single token be revoked on logout
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // Get signing key for token security
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     // Extract username from JWT token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -57,27 +92,43 @@ public class JwtUtil {
 
     // Extract specific claim from token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    // Extract all claims from token
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verify signature and expiry and return the claims; throws JwtException otherwise.
+    // Cached claims are shared between requests, so treat them as read-only
+    public Claims parseClaims(String token) {
+        if (verifiedCacheSize <= 0) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+
+        String digest = digest(token);
+        Claims claims = verified.get(digest);
+        if (claims != null) {
+            return claims;
+        }
+
+        // Throws on a bad signature or an expired token, so only good tokens are cached
+        claims = parser.parseClaimsJws(token).getBody();
+        Date expiresAt = claims.getExpiration();
+        if (expiresAt != null) {
+            verified.putUntil(digest, claims, expiresAt.getTime());
+        }
+        return claims;
     }
 
-    // Check if token is expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Recently verified tokens held in memory
+    public int verifiedCacheSize() {
+        return verified.size();
     }
 
-    // Validate JWT token (check expiration, signature)
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    private String digest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
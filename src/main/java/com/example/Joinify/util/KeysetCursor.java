@@ -0,0 +1,55 @@
+package com.example.Joinify.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (dateTime, id): the sort key of the last row served.
+ * The next page is everything strictly after it, which the database finds with an index
+ * seek however deep the page is, where OFFSET would read and skip every earlier row.
+ * Clients get it as an opaque token.
+ */
+public final class KeysetCursor {
+
+    // Bounds of MySQL's DATETIME range, for the first page of a listing
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final LocalDateTime dateTime;
+    private final long id;
+
+    public KeysetCursor(LocalDateTime dateTime, long id) {
+        this.dateTime = dateTime;
+        this.id = id;
+    }
+
+    // Position before the first row of an ascending or descending listing
+    public static KeysetCursor start(boolean ascending) {
+        return ascending ? new KeysetCursor(EARLIEST, 0) : new KeysetCursor(LATEST, Long.MAX_VALUE);
+    }
+
+    public LocalDateTime getDateTime() { return dateTime; }
+    public long getId() { return id; }
+
+    public String encode() {
+        String raw = dateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for anything encode() didn't produce
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Joinify.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranked search listing: the score and id of the last hit served. Like
+ * {@link KeysetCursor} the next page is everything ranked strictly after it, so pages
+ * don't shift when hits are added in front. Scores move a little as the index changes,
+ * which can reorder hits across pages of a long-running scroll. Clients get it as an
+ * opaque token.
+ */
+public final class SearchCursor {
+
+    private final double score;
+    private final long id;
+
+    public SearchCursor(double score, long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    // Position before the best hit
+    public static SearchCursor start() {
+        return new SearchCursor(Double.POSITIVE_INFINITY, Long.MIN_VALUE);
+    }
+
+    // Position before the nearest hit, for listings ranked by ascending distance
+    public static SearchCursor nearest() {
+        return new SearchCursor(Double.NEGATIVE_INFINITY, Long.MIN_VALUE);
+    }
+
+    public double getScore() { return score; }
+    public long getId() { return id; }
+
+    public String encode() {
+        String raw = score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for anything encode() didn't produce
+    public static SearchCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        double score = Double.parseDouble(raw.substring(0, separator));
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new SearchCursor(score, Long.parseLong(raw.substring(separator + 1)));
+    }
+}
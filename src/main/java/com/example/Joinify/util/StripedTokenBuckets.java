@@ -0,0 +1,138 @@
+package com.example.Joinify.util;
+
+/**
+ * Token buckets for many keys in fixed memory, with no allocation per call.
+ *
+ * Each bucket is stored as the time it will be full again (the GCRA form of a token
+ * bucket): taking a token pushes that time forward by one refill interval, and a call
+ * is allowed while that time is no further ahead than the burst allows. A bucket whose
+ * time has passed is full, which is the same as having no bucket, so idle buckets are
+ * evicted by letting their slots be reused.
+ *
+ * Keys are 64-bit hashes (see {@link #key}) spread over stripes, each an open-addressed
+ * table behind its own lock. A key lives in a short window of slots; when every slot
+ * there holds a busy bucket, the one closest to full is replaced, which can only make a
+ * limit more lenient.
+ */
+public class StripedTokenBuckets {
+
+    private static final int PROBES = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private static final class Stripe {
+        // 0 marks an empty slot
+        final long[] keys;
+        final long[] fullAtNanos;
+        final int mask;
+
+        Stripe(int slots) {
+            this.keys = new long[slots];
+            this.fullAtNanos = new long[slots];
+            this.mask = slots - 1;
+        }
+    }
+
+    // Room for about maxKeys busy buckets across the given number of stripes (both rounded up to powers of two)
+    public StripedTokenBuckets(int stripes, int maxKeys) {
+        if (stripes <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Stripes and keys must be positive");
+        }
+        int stripeCount = powerOfTwoAtLeast(stripes);
+        int slots = powerOfTwoAtLeast(Math.max(PROBES, (maxKeys + stripeCount - 1) / stripeCount));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(slots);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Take a token from a key's bucket, which holds up to {@code burst} tokens and gains
+     * one every {@code refillIntervalNanos}.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long key, int burst, long refillIntervalNanos, long nowNanos) {
+        Stripe stripe = stripes[(int) (key >>> 32) & stripeMask];
+        int home = (int) key & stripe.mask;
+        long tolerance = (burst - 1) * refillIntervalNanos;
+
+        synchronized (stripe) {
+            int slot = -1;
+            int reusable = -1;
+            int victim = home;
+            for (int i = 0; i < PROBES; i++) {
+                int s = (home + i) & stripe.mask;
+                if (stripe.keys[s] == key) {
+                    slot = s;
+                    break;
+                }
+                if (reusable < 0 && (stripe.keys[s] == 0 || stripe.fullAtNanos[s] - nowNanos <= 0)) {
+                    reusable = s;
+                } else if (stripe.fullAtNanos[s] - stripe.fullAtNanos[victim] < 0) {
+                    victim = s;
+                }
+            }
+            if (slot < 0) {
+                slot = reusable >= 0 ? reusable : victim;
+                stripe.keys[slot] = key;
+                stripe.fullAtNanos[slot] = nowNanos;
+            }
+
+            // A full bucket is "full since now"; each token taken moves that point one interval on
+            long fullAt = stripe.fullAtNanos[slot] - nowNanos > 0 ? stripe.fullAtNanos[slot] : nowNanos;
+            long ahead = fullAt - nowNanos;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            stripe.fullAtNanos[slot] = fullAt + refillIntervalNanos;
+            return 0;
+        }
+    }
+
+    // Buckets that are not full; a scan of every stripe, meant for metrics
+    public int size(long nowNanos) {
+        int busy = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (int s = 0; s < stripe.keys.length; s++) {
+                    if (stripe.keys[s] != 0 && stripe.fullAtNanos[s] - nowNanos > 0) {
+                        busy++;
+                    }
+                }
+            }
+        }
+        return busy;
+    }
+
+    // Key for a string such as an IP address within a namespace (e.g. a route); never 0
+    public static long key(int namespace, CharSequence value) {
+        long hash = 0xcbf29ce484222325L ^ namespace;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return finish(hash);
+    }
+
+    // Key for a number such as a user id within a namespace; never 0
+    public static long key(int namespace, long value) {
+        return finish(value * 0x9e3779b97f4a7c15L + namespace);
+    }
+
+    // splitmix64 finalizer, so both the stripe and slot bits are well spread
+    private static long finish(long hash) {
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
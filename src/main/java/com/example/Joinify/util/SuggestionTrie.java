@@ -0,0 +1,569 @@
+package com.example.Joinify.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie of phrases for prefix autocomplete. Every node keeps the best few phrases in
+ * its subtree, so a lookup is a walk down the prefix and a copy of one short array.
+ *
+ * A phrase is a text of some kind (say an event title or a location), reachable from its
+ * start and from the start of each of its first few words. Items (events) carrying the
+ * same text share one phrase, which ranks as the best of them: most popular, then
+ * soonest. Putting or removing an item re-ranks its phrases and touches the lists on their
+ * paths only; a bulk load adds everything first and ranks the whole trie once. Reads share
+ * a lock; writes take it exclusively.
+ */
+public class SuggestionTrie {
+
+    // Word starts a phrase can be found from, the first included
+    private static final int MAX_WORD_STARTS = 4;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Phrase[] NO_PHRASES = new Phrase[0];
+
+    // What a lookup returns, copied out of the trie
+    public static final class Suggestion {
+        private final String text;
+        private final int kind;
+        private final long bestItemId;
+        private final int itemCount;
+
+        Suggestion(String text, int kind, long bestItemId, int itemCount) {
+            this.text = text;
+            this.kind = kind;
+            this.bestItemId = bestItemId;
+            this.itemCount = itemCount;
+        }
+
+        public String getText() { return text; }
+        public int getKind() { return kind; }
+        public long getBestItemId() { return bestItemId; }
+        public int getItemCount() { return itemCount; }
+    }
+
+    private final int kinds;
+    private final int topK;
+    private final Node root = new Node("");
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final Map<Long, Item> items = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SuggestionTrie(int kinds, int topK) {
+        this.kinds = kinds;
+        this.topK = topK;
+    }
+
+    // Add an item with one text per kind (null to leave a kind out), replacing what it had before.
+    // Higher popularity ranks first, then lower (sooner) time.
+    public void put(long itemId, long popularity, long time, String... texts) {
+        if (texts.length != kinds) {
+            throw new IllegalArgumentException("Expected " + kinds + " texts, got " + texts.length);
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Phrase, Item> touched = new IdentityHashMap<>();
+            detach(itemId, touched);
+            attach(itemId, popularity, time, texts, touched);
+            repair(touched);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Like put, but leaves the suggestions as they were until rank() is called: for filling a
+    // new trie, where ranking once at the end is far cheaper than after every item
+    public void add(long itemId, long popularity, long time, String... texts) {
+        if (texts.length != kinds) {
+            throw new IllegalArgumentException("Expected " + kinds + " texts, got " + texts.length);
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Phrase, Item> touched = new IdentityHashMap<>();
+            detach(itemId, touched);
+            attach(itemId, popularity, time, texts, touched);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rank every node's suggestions from scratch
+    public void rank() {
+        lock.writeLock().lock();
+        try {
+            rank(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            Map<Phrase, Item> touched = new IdentityHashMap<>();
+            detach(itemId, touched);
+            repair(touched);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best phrases with a word starting with the prefix, best first
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefix(child.label, key, i);
+                if (i + common == key.length()) {
+                    node = child;
+                    break;
+                }
+                if (common < child.label.length()) {
+                    return List.of();
+                }
+                node = child;
+                i += common;
+            }
+            List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, node.top.length));
+            for (int t = 0; t < node.top.length && suggestions.size() < limit; t++) {
+                Phrase phrase = node.top[t];
+                suggestions.add(new Suggestion(phrase.text, phrase.kind, phrase.best.id, phrase.items.size()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lowercase words separated by single spaces
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return String.join(" ", text.trim().toLowerCase(Locale.ROOT).split("\\s+")).trim();
+    }
+
+    private static List<String> wordStarts(String key) {
+        List<String> starts = new ArrayList<>();
+        starts.add(key);
+        for (int i = key.indexOf(' '); i >= 0 && starts.size() < MAX_WORD_STARTS; i = key.indexOf(' ', i + 1)) {
+            starts.add(key.substring(i + 1));
+        }
+        return starts;
+    }
+
+    private void attach(long itemId, long popularity, long time, String[] texts, Map<Phrase, Item> touched) {
+        Item item = new Item(itemId, popularity, time);
+        for (int kind = 0; kind < kinds; kind++) {
+            String key = normalize(texts[kind]);
+            if (key.isEmpty()) {
+                continue;
+            }
+            Phrase phrase = phrases.get(kind + "|" + key);
+            if (phrase == null) {
+                phrase = new Phrase(texts[kind].trim(), kind, key);
+                phrases.put(kind + "|" + key, phrase);
+                for (String start : wordStarts(key)) {
+                    insert(start, phrase);
+                }
+            }
+            touched.putIfAbsent(phrase, phrase.best);
+            phrase.items.add(item);
+            phrase.best = phrase.items.first();
+            item.phrases.add(phrase);
+        }
+        items.put(itemId, item);
+    }
+
+    // Take an item out of its phrases, noting each phrase's best item beforehand; phrases left
+    // without items leave the trie
+    private void detach(long itemId, Map<Phrase, Item> touched) {
+        Item old = items.remove(itemId);
+        if (old == null) {
+            return;
+        }
+        for (Phrase phrase : old.phrases) {
+            touched.putIfAbsent(phrase, phrase.best);
+            phrase.items.remove(old);
+            phrase.best = phrase.items.isEmpty() ? null : phrase.items.first();
+            if (phrase.items.isEmpty()) {
+                phrases.remove(phrase.kind + "|" + phrase.key);
+                for (String start : wordStarts(phrase.key)) {
+                    delete(start, phrase);
+                }
+            }
+        }
+    }
+
+    private void insert(String key, Phrase phrase) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge where the keys part
+                Node middle = new Node(child.label.substring(0, common));
+                node.replaceChild(child, middle);
+                child.label = child.label.substring(common);
+                middle.children = new Node[] { child };
+                middle.top = child.top;
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        node.ends = append(node.ends, phrase);
+    }
+
+    private void delete(String key, Phrase phrase) {
+        List<Node> path = path(key);
+        Node end = path.get(path.size() - 1);
+        if (path.size() - 1 == 0 || !matchesWhole(path, key)) {
+            return;
+        }
+        end.ends = without(end.ends, phrase);
+
+        // Prune nodes left with nothing, and fold a lone child back into its parent
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            if (node.ends.length == 0 && node.children.length == 0) {
+                parent.removeChild(node);
+            } else if (node.ends.length == 0 && node.children.length == 1) {
+                Node only = node.children[0];
+                node.label = node.label + only.label;
+                node.children = only.children;
+                node.ends = only.ends;
+                node.top = only.top;
+            }
+        }
+    }
+
+    // Nodes from the root along as much of the key as whole edges match
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || commonPrefix(child.label, key, i) < child.label.length()) {
+                break;
+            }
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+        return path;
+    }
+
+    private static boolean matchesWhole(List<Node> path, String key) {
+        int length = 0;
+        for (Node node : path) {
+            length += node.label.length();
+        }
+        return length == key.length();
+    }
+
+    // Bring the best-phrase lists above the phrases whose rank moved (their best item changed,
+    // or they came or went) up to date, deepest first, so every list is built on children
+    // already done. The nodes at the end of the phrases' paths are always redone; a parent
+    // only when a child's list came out different or still holds a moved phrase, so most
+    // changes settle a few levels down, short of the crowded nodes near the root. A list
+    // is merged from scratch only when a phrase in it got worse; otherwise the moved phrases
+    // are just taken out and put back in their new places.
+    private void repair(Map<Phrase, Item> touched) {
+        Set<Phrase> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Phrase> worse = Collections.newSetFromMap(new IdentityHashMap<>());
+        touched.forEach((phrase, before) -> {
+            if (before == null || phrase.best == null || Item.RANK.compare(before, phrase.best) != 0) {
+                moved.add(phrase);
+            }
+            if (phrase.best == null || (before != null && Item.RANK.compare(phrase.best, before) > 0)) {
+                worse.add(phrase);
+            }
+        });
+        Map<Node, Integer> depths = new IdentityHashMap<>();
+        Map<Node, Node> parents = new IdentityHashMap<>();
+        // Moved phrases still in the trie, by the nodes above them
+        Map<Node, List<Phrase>> below = new IdentityHashMap<>();
+        Set<Node> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Phrase phrase : moved) {
+            for (String start : wordStarts(phrase.key)) {
+                List<Node> path = path(start);
+                for (int depth = 0; depth < path.size(); depth++) {
+                    Node node = path.get(depth);
+                    depths.put(node, depth);
+                    if (depth > 0) {
+                        parents.put(node, path.get(depth - 1));
+                    }
+                    if (phrase.best != null) {
+                        below.computeIfAbsent(node, n -> new ArrayList<>(2)).add(phrase);
+                    }
+                }
+                stale.add(path.get(path.size() - 1));
+            }
+        }
+
+        List<Map.Entry<Node, Integer>> nodes = new ArrayList<>(depths.entrySet());
+        nodes.sort(Map.Entry.<Node, Integer>comparingByValue().reversed());
+        for (Map.Entry<Node, Integer> entry : nodes) {
+            Node node = entry.getKey();
+            if (!stale.contains(node)) {
+                continue;
+            }
+            Phrase[] previous = node.top;
+            node.top = containsAny(previous, worse)
+                    ? best(node)
+                    : reinsert(previous, moved, below.getOrDefault(node, List.of()));
+            Node parent = parents.get(node);
+            if (parent != null && (!Arrays.equals(previous, node.top) || containsAny(node.top, moved))) {
+                stale.add(parent);
+            }
+        }
+    }
+
+    // A list with the moved phrases taken out and those still below put back by their new rank
+    private Phrase[] reinsert(Phrase[] previous, Set<Phrase> moved, List<Phrase> arrivals) {
+        List<Phrase> top = new ArrayList<>(previous.length + arrivals.size());
+        for (Phrase phrase : previous) {
+            if (!moved.contains(phrase)) {
+                top.add(phrase);
+            }
+        }
+        for (Phrase phrase : arrivals) {
+            int at = Collections.binarySearch(top, phrase, Phrase.RANK);
+            if (at < 0 && -at - 1 < topK) {
+                top.add(-at - 1, phrase);
+            }
+        }
+        if (top.size() > topK) {
+            top.subList(topK, top.size()).clear();
+        }
+        return top.toArray(NO_PHRASES);
+    }
+
+    private void rank(Node node) {
+        for (Node child : node.children) {
+            rank(child);
+        }
+        node.top = best(node);
+    }
+
+    private static boolean containsAny(Phrase[] phrases, Set<Phrase> wanted) {
+        for (Phrase phrase : phrases) {
+            if (wanted.contains(phrase)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A node's best phrases from scratch: its own and its children's best, merged (each
+    // child's list is already ranked) and deduplicated
+    private Phrase[] best(Node node) {
+        Phrase[] ends = node.ends;
+        Node[] children = node.children;
+        // Lists merged: each phrase ending here on its own, then each child's best. Next unused position in each.
+        int lists = ends.length + children.length;
+        int[] heads = new int[lists];
+        Phrase[] top = new Phrase[topK];
+        int size = 0;
+        while (size < topK) {
+            Phrase next = null;
+            int from = -1;
+            for (int list = 0; list < lists; list++) {
+                Phrase head;
+                if (list < ends.length) {
+                    head = heads[list] == 0 ? ends[list] : null;
+                } else {
+                    Phrase[] phrases = children[list - ends.length].top;
+                    head = heads[list] < phrases.length ? phrases[heads[list]] : null;
+                }
+                if (head != null && (next == null || Phrase.RANK.compare(head, next) < 0)) {
+                    next = head;
+                    from = list;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            heads[from]++;
+            // A phrase under two of its word starts comes up twice in a row
+            if (size == 0 || top[size - 1] != next) {
+                top[size++] = next;
+            }
+        }
+        return size == topK ? top : size == 0 ? NO_PHRASES : Arrays.copyOf(top, size);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Phrase[] append(Phrase[] phrases, Phrase phrase) {
+        for (Phrase existing : phrases) {
+            if (existing == phrase) {
+                return phrases;
+            }
+        }
+        Phrase[] grown = Arrays.copyOf(phrases, phrases.length + 1);
+        grown[phrases.length] = phrase;
+        return grown;
+    }
+
+    private static Phrase[] without(Phrase[] phrases, Phrase phrase) {
+        return Arrays.stream(phrases).filter(p -> p != phrase).toArray(Phrase[]::new);
+    }
+
+    private static final class Item {
+        // Best first: most popular, then soonest
+        static final Comparator<Item> RANK = (a, b) -> {
+            if (a.popularity != b.popularity) {
+                return Long.compare(b.popularity, a.popularity);
+            }
+            if (a.time != b.time) {
+                return Long.compare(a.time, b.time);
+            }
+            return Long.compare(a.id, b.id);
+        };
+
+        final long id;
+        final long popularity;
+        final long time;
+        final List<Phrase> phrases = new ArrayList<>(2);
+
+        Item(long id, long popularity, long time) {
+            this.id = id;
+            this.popularity = popularity;
+            this.time = time;
+        }
+    }
+
+    private static final class Phrase {
+        // Ranked by their best item
+        static final Comparator<Phrase> RANK = (a, b) -> {
+            if (a == b) {
+                return 0;
+            }
+            int compare = Item.RANK.compare(a.best, b.best);
+            if (compare != 0) {
+                return compare;
+            }
+            compare = a.key.compareTo(b.key);
+            return compare != 0 ? compare : Integer.compare(a.kind, b.kind);
+        };
+
+        final String text;
+        final int kind;
+        final String key;
+        final TreeSet<Item> items = new TreeSet<>(Item.RANK);
+        // items.first(), kept at hand since ranking compares it a lot
+        Item best;
+
+        Phrase(String text, int kind, String key) {
+            this.text = text;
+            this.kind = kind;
+            this.key = key;
+        }
+    }
+
+    private static final class Node {
+        String label;
+        // Children sorted by the first character of their label
+        Node[] children = NO_CHILDREN;
+        // Phrases reachable by exactly the path to here
+        Phrase[] ends = NO_PHRASES;
+        // Best phrases in this subtree
+        Phrase[] top = NO_PHRASES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            char first = child.label.charAt(0);
+            int at = 0;
+            while (at < children.length && children[at].label.charAt(0) < first) {
+                at++;
+            }
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+
+        // Put a node in a child's place; it has to start with the same character
+        void replaceChild(Node child, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+
+        void removeChild(Node child) {
+            children = Arrays.stream(children).filter(c -> c != child).toArray(Node[]::new);
+        }
+    }
+}
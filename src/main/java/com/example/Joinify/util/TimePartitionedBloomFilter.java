@@ -0,0 +1,133 @@
+package com.example.Joinify.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter for keys that only matter until a known expiry, split into time slots.
+ *
+ * A key goes into the partition of the slot its expiry falls in. Once every key in a
+ * slot has expired the partition is cleared and reused for a later slot, so memory
+ * stays fixed however long the filter runs. A lookup checks the partitions of slots
+ * that haven't ended yet. Membership is probabilistic: no false negatives for live
+ * keys, and false positives at about the configured rate while a partition holds its
+ * expected number of keys.
+ */
+public class TimePartitionedBloomFilter {
+
+    private final long slotMillis;
+    private final Partition[] partitions;
+    private final int bitsPerPartition;
+    private final int hashes;
+
+    private static final class Partition {
+        final AtomicLongArray bits;
+        // Slot this partition currently holds; -1 while unused
+        volatile long slot = -1;
+
+        Partition(int bits) {
+            this.bits = new AtomicLongArray((bits + 63) / 64);
+        }
+    }
+
+    // Sized for the longest time a key can stay live and the keys expected per slot
+    public TimePartitionedBloomFilter(long maxLifetimeMillis, long slotMillis,
+                                      int expectedKeysPerSlot, double falsePositiveRate) {
+        if (slotMillis <= 0 || maxLifetimeMillis <= 0) {
+            throw new IllegalArgumentException("Slot and lifetime must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        this.slotMillis = slotMillis;
+        // Slots a live key can fall in, plus the current one
+        int slots = (int) ((maxLifetimeMillis + slotMillis - 1) / slotMillis) + 1;
+        double n = Math.max(1, expectedKeysPerSlot);
+        this.bitsPerPartition = (int) Math.max(64, Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.hashes = Math.max(1, (int) Math.round(bitsPerPartition / n * Math.log(2)));
+        this.partitions = new Partition[slots];
+        for (int i = 0; i < slots; i++) {
+            partitions[i] = new Partition(bitsPerPartition);
+        }
+    }
+
+    // Remember a key until the given epoch millis; already expired keys are ignored
+    public void add(String key, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        long slot = expiresAtMillis / slotMillis;
+        // Past the filter's horizon: keep it in the last slot, which is checked longer than needed
+        slot = Math.min(slot, now / slotMillis + partitions.length - 1);
+        Partition partition = claim(slot);
+
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitsPerPartition);
+            partition.bits.getAndUpdate(bit >>> 6, word -> word | (1L << (bit & 63)));
+        }
+    }
+
+    // Whether a key might have been added and not expired yet
+    public boolean mightContain(String key) {
+        long currentSlot = System.currentTimeMillis() / slotMillis;
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (Partition partition : partitions) {
+            if (partition.slot >= currentSlot && contains(partition, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Memory held by the filter's bit arrays
+    public long sizeInBytes() {
+        return (long) partitions.length * ((bitsPerPartition + 63) / 64) * Long.BYTES;
+    }
+
+    private boolean contains(Partition partition, int h1, int h2) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitsPerPartition);
+            if ((partition.bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The partition for a slot, cleared first if it still holds an expired slot
+    private Partition claim(long slot) {
+        Partition partition = partitions[(int) Math.floorMod(slot, (long) partitions.length)];
+        if (partition.slot != slot) {
+            synchronized (partition) {
+                if (partition.slot != slot) {
+                    for (int i = 0; i < partition.bits.length(); i++) {
+                        partition.bits.set(i, 0L);
+                    }
+                    partition.slot = slot;
+                }
+            }
+        }
+        return partition;
+    }
+
+    // 64-bit FNV-1a over the key's bytes, finished with a splitmix64 step to spread the bits
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return hash;
+    }
+}
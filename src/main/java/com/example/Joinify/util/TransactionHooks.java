@@ -0,0 +1,57 @@
+package com.example.Joinify.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ties in-memory side effects (caches, indexes, timers) to the outcome of the current
+ * transaction, so they never run ahead of a write that might still roll back. Outside a
+ * transaction there is nothing to wait for and the change runs straight away.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {}
+
+    // Run once the current transaction commits; not at all if it rolls back
+    public static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    // Run once the current transaction ends, committed or rolled back
+    public static void afterCompletion(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                change.run();
+            }
+        });
+    }
+
+    // Undo a change made ahead of the transaction if it rolls back; outside one there is nothing to undo
+    public static void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    undo.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.Joinify.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Trigram index over a set of words, for finding the word a misspelling was meant to be.
+ *
+ * Words are padded with a boundary mark and cut into three-character slices. Words that
+ * share slices with the query are candidates, ranked by Dice overlap, and only the best
+ * few are checked with an edit distance, so a lookup costs a few short posting lists
+ * however many words there are. Not thread-safe: the owner locks around it.
+ */
+public class TrigramIndex {
+
+    private static final char BOUNDARY = ' ';
+
+    public static final class Match {
+        private final String term;
+        private final int distance;
+
+        Match(String term, int distance) {
+            this.term = term;
+            this.distance = distance;
+        }
+
+        public String getTerm() { return term; }
+        public int getDistance() { return distance; }
+    }
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    // Indexed by word id; ids are handed out in increasing order and not reused
+    private String[] words = new String[16];
+    private int[] trigramCounts = new int[16];
+    private int nextId;
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    public void add(String word) {
+        if (ids.containsKey(word)) {
+            return;
+        }
+        int id = nextId++;
+        if (id == words.length) {
+            words = Arrays.copyOf(words, id * 2);
+            trigramCounts = Arrays.copyOf(trigramCounts, id * 2);
+        }
+        long[] trigrams = trigrams(word);
+        ids.put(word, id);
+        words[id] = word;
+        trigramCounts[id] = trigrams.length;
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).append(id);
+        }
+    }
+
+    public void remove(String word) {
+        Integer id = ids.remove(word);
+        if (id == null) {
+            return;
+        }
+        words[id] = null;
+        for (long trigram : trigrams(word)) {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Words within {@code maxEdits} edits of the given one (itself included if indexed),
+     * closest first. Only the {@code candidates} words with the most trigrams in common are
+     * checked, and at most {@code limit} are returned.
+     */
+    public List<Match> similar(String word, int maxEdits, int candidates, int limit) {
+        long[] trigrams = trigrams(word);
+        int total = 0;
+        for (long trigram : trigrams) {
+            Postings list = postings.get(trigram);
+            total += list != null ? list.size : 0;
+        }
+        if (total == 0) {
+            return List.of();
+        }
+
+        // Every posting of every trigram, sorted, so each word's overlap is the length of its run
+        int[] hits = new int[total];
+        int filled = 0;
+        for (long trigram : trigrams) {
+            Postings list = postings.get(trigram);
+            if (list != null) {
+                System.arraycopy(list.ids, 0, hits, filled, list.size);
+                filled += list.size;
+            }
+        }
+        Arrays.sort(hits);
+
+        // Worst first
+        PriorityQueue<double[]> best = new PriorityQueue<>(candidates + 1, Comparator.comparingDouble(c -> c[1]));
+        for (int i = 0; i < hits.length; ) {
+            int id = hits[i];
+            int run = i;
+            while (run < hits.length && hits[run] == id) {
+                run++;
+            }
+            int overlap = run - i;
+            i = run;
+            if (Math.abs(words[id].length() - word.length()) > maxEdits) {
+                continue;
+            }
+            double dice = 2.0 * overlap / (trigrams.length + trigramCounts[id]);
+            if (best.size() < candidates) {
+                best.add(new double[] { id, dice });
+            } else if (dice > best.peek()[1]) {
+                best.poll();
+                best.add(new double[] { id, dice });
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (double[] candidate : best) {
+            String term = words[(int) candidate[0]];
+            int distance = distance(word, term, maxEdits);
+            if (distance <= maxEdits) {
+                matches.add(new Match(term, distance));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::getDistance).thenComparing(Match::getTerm));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    // Distinct trigrams of the padded word, each packed into a long
+    static long[] trigrams(String word) {
+        String padded = BOUNDARY + word + BOUNDARY;
+        long[] trigrams = new long[Math.max(1, padded.length() - 2)];
+        int count = 0;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            long trigram = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            trigrams[count++] = trigram;
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    // Edits (insert, delete, substitute, swap neighbours) between two words, or max + 1 once it's past max
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // Sorted word ids
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void append(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
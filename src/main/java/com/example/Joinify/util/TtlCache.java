@@ -0,0 +1,82 @@
+package com.example.Joinify.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache whose entries also expire after a fixed time to live.
+ * All operations are synchronized; keep the values small and the critical sections short.
+ */
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> map;
+    private long evictions;
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public TtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > TtlCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Get a live entry, or null if it is missing or expired
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            map.remove(key);
+            evictions++;
+            return null;
+        }
+        return entry.value;
+    }
+
+    // Store an entry for the cache's time to live
+    public void put(K key, V value) {
+        putUntil(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    // Store an entry until the given epoch millis, capped at the cache's time to live
+    public synchronized void putUntil(K key, V value, long expiresAt) {
+        map.put(key, new Entry<>(value, Math.min(expiresAt, System.currentTimeMillis() + ttlMillis)));
+    }
+
+    public synchronized void remove(K key) {
+        map.remove(key);
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    // Entries dropped for size or age so far
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+}
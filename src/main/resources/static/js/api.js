@@ -22,6 +22,19 @@ class ApiService {
         localStorage.removeItem('jwt_token');
     }
 
+    // Refresh token, traded for a new access token when the current one expires
+    getRefreshToken() {
+        return localStorage.getItem('refresh_token');
+    }
+
+    setRefreshToken(token) {
+        localStorage.setItem('refresh_token', token);
+    }
+
+    removeRefreshToken() {
+        localStorage.removeItem('refresh_token');
+    }
+
     // Get authorization headers
     getAuthHeaders() {
         const token = this.getToken();
@@ -29,7 +42,7 @@ class ApiService {
     }
 
     // Enhanced Generic API request method with better error handling
-    async request(endpoint, options = {}) {
+    async request(endpoint, options = {}, retried = false) {
         const url = `${this.baseURL}${endpoint}`;
         console.log('Making API request to:', url);
 
@@ -46,6 +59,12 @@ class ApiService {
             const response = await fetch(url, config);
             console.log('API Response status:', response.status);
 
+            // Access token expired or revoked: refresh once and retry
+            if (response.status === 401 && !retried && !endpoint.startsWith('/auth/')
+                    && await this.refresh()) {
+                return this.request(endpoint, options, true);
+            }
+
             // Handle non-JSON responses (like for boolean endpoints)
             const contentType = response.headers.get('content-type');
             let data;
@@ -63,6 +82,10 @@ class ApiService {
                 throw new Error(errorMessage || `HTTP ${response.status}: ${response.statusText}`);
             }
 
+            // Paged listings hand back the rows and the cursor for the next page (null on the last)
+            if (options.page) {
+                return { items: data, nextCursor: response.headers.get('X-Next-Cursor') };
+            }
             return data;
         } catch (error) {
             console.error('API Error:', error);
@@ -91,6 +114,40 @@ class ApiService {
         });
     }
 
+    // Rotate the refresh token and store the new pair; false when the session is over
+    async refresh() {
+        const refreshToken = this.getRefreshToken();
+        if (!refreshToken) return false;
+
+        // Concurrent 401s share one refresh, since each refresh token works only once
+        if (!this.refreshing) {
+            this.refreshing = fetch(`${this.baseURL}/auth/refresh`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ refreshToken })
+            }).then(async response => {
+                if (!response.ok) {
+                    this.removeToken();
+                    this.removeRefreshToken();
+                    return false;
+                }
+                const data = await response.json();
+                this.setToken(data.token);
+                this.setRefreshToken(data.refreshToken);
+                return true;
+            }).catch(() => false)
+              .finally(() => { this.refreshing = null; });
+        }
+        return this.refreshing;
+    }
+
+    async logout() {
+        return this.request('/auth/logout', {
+            method: 'POST',
+            body: JSON.stringify({ refreshToken: this.getRefreshToken() })
+        });
+    }
+
     async checkUsername(username) {
         return this.request(`/auth/check-username/${username}`);
     }
@@ -99,21 +156,29 @@ class ApiService {
         return this.request(`/auth/check-email/${email}`);
     }
 
+    // One page of an event listing or search as { items, nextCursor }; pass nextCursor back
+    // for the page after it
+    async requestPage(endpoint, cursor) {
+        const separator = endpoint.includes('?') ? '&' : '?';
+        const url = cursor ? `${endpoint}${separator}cursor=${encodeURIComponent(cursor)}` : endpoint;
+        return this.request(url, { page: true });
+    }
+
     // Events API methods
-    async getEvents() {
-        return this.request('/events');
+    async getEvents(cursor) {
+        return this.requestPage('/events', cursor);
     }
 
-    async getUpcomingEvents() {
-        return this.request('/events/upcoming');
+    async getUpcomingEvents(cursor) {
+        return this.requestPage('/events/upcoming', cursor);
     }
 
-    async getPastEvents() {
-        return this.request('/events/past');
+    async getPastEvents(cursor) {
+        return this.requestPage('/events/past', cursor);
     }
 
-    async getAvailableEvents() {
-        return this.request('/events/available');
+    async getAvailableEvents(cursor) {
+        return this.requestPage('/events/available', cursor);
     }
 
     async getEventById(id) {
@@ -140,16 +205,24 @@ class ApiService {
         });
     }
 
-    async searchEvents(keyword) {
-        return this.request(`/events/search/title?keyword=${encodeURIComponent(keyword)}`);
+    async searchEvents(keyword, cursor) {
+        return this.requestPage(`/events/search/title?keyword=${encodeURIComponent(keyword)}&fuzzy=true`, cursor);
+    }
+
+    async searchEventsByLocation(location, cursor) {
+        return this.requestPage(`/events/search/location?location=${encodeURIComponent(location)}&fuzzy=true`, cursor);
+    }
+
+    async suggestEvents(prefix) {
+        return this.request(`/events/suggest?prefix=${encodeURIComponent(prefix)}`);
     }
 
-    async searchEventsByLocation(location) {
-        return this.request(`/events/search/location?location=${encodeURIComponent(location)}`);
+    async getNearbyEvents(lat, lng, radiusKm = 25, cursor) {
+        return this.requestPage(`/events/nearby?lat=${lat}&lng=${lng}&radiusKm=${radiusKm}`, cursor);
     }
 
-    async getEventsByDateRange(startDate, endDate) {
-        return this.request(`/events/date-range?startDate=${startDate}&endDate=${endDate}`);
+    async getEventsByDateRange(startDate, endDate, cursor) {
+        return this.requestPage(`/events/date-range?startDate=${startDate}&endDate=${endDate}`, cursor);
     }
 
     // Organizer event methods
@@ -165,8 +238,8 @@ class ApiService {
         return this.request('/events/my-events/past');
     }
 
-    async getEventsByOrganizer(organizerId) {
-        return this.request(`/events/organizer/${organizerId}`);
+    async getEventsByOrganizer(organizerId, cursor) {
+        return this.requestPage(`/events/organizer/${organizerId}`, cursor);
     }
 
     async getEventCapacity(eventId) {
@@ -232,8 +305,21 @@ class ApiService {
     }
 
     // RSVP API methods
-    async createRSVP(eventId) {
-        return this.request(`/rsvp/event/${eventId}`, {
+    async createRSVP(eventId, partySize = 1) {
+        return this.request(`/rsvp/event/${eventId}?partySize=${partySize}`, {
+            method: 'POST'
+        });
+    }
+
+    async createRSVPs(eventIds) {
+        return this.request('/rsvp/batch', {
+            method: 'POST',
+            body: JSON.stringify({ eventIds })
+        });
+    }
+
+    async completeCheckout(eventId) {
+        return this.request(`/rsvp/event/${eventId}/checkout`, {
             method: 'POST'
         });
     }
@@ -286,6 +372,19 @@ class ApiService {
         return this.request(`/rsvp/event/${eventId}/count`);
     }
 
+    // Counts for many events keyed by event id, one request per 100 events
+    async getRSVPCounts(eventIds) {
+        const ids = [...new Set(eventIds)];
+        const chunks = [];
+        for (let i = 0; i < ids.length; i += 100) {
+            chunks.push(ids.slice(i, i + 100));
+        }
+        const results = await Promise.all(
+            chunks.map(chunk => this.request(`/rsvp/counts?eventIds=${chunk.join(',')}`))
+        );
+        return Object.assign({}, ...results);
+    }
+
     async confirmPendingRSVPs(eventId) {
         return this.request(`/rsvp/event/${eventId}/confirm-pending`, {
             method: 'POST'
@@ -51,6 +51,7 @@ class AuthManager {
 
             if (response.token) {
                 api.setToken(response.token);
+                api.setRefreshToken(response.refreshToken);
                 this.isAuthenticated = true;
 
                 // Store user info from login response
@@ -95,7 +96,12 @@ class AuthManager {
 
     // Logout user
     logout() {
+        // Revoke the session server-side; the local tokens go either way
+        if (api.getToken() || api.getRefreshToken()) {
+            api.logout().catch(error => console.error('Logout error:', error));
+        }
         api.removeToken();
+        api.removeRefreshToken();
         this.isAuthenticated = false;
         this.currentUser = null;
         this.updateUIForLoggedOutUser();
@@ -4,6 +4,10 @@ class AttendeeDashboard {
         this.currentUser = null;
         this.myRSVPs = [];
         this.allEvents = [];
+        // Cursor for the next page of upcoming events, null once they're all loaded
+        this.eventsCursor = null;
+        // The discover search being shown: { keyword, results, cursor }, or null for the listing
+        this.search = null;
         this.searchTimeout = null;
         this.init();
     }
@@ -42,19 +46,20 @@ class AttendeeDashboard {
         try {
             console.log('Loading Dashboard Data');
 
-            const [myRSVPs, allEvents] = await Promise.all([
+            const [myRSVPs, eventsPage] = await Promise.all([
                 api.getMyRSVPs().catch(err => {
                     console.error('Failed to load RSVPs:', err);
                     return [];
                 }),
                 api.getUpcomingEvents().catch(err => {
                     console.error('Failed to load events:', err);
-                    return [];
+                    return { items: [], nextCursor: null };
                 })
             ]);
 
             this.myRSVPs = myRSVPs || [];
-            this.allEvents = allEvents || [];
+            this.allEvents = eventsPage.items || [];
+            this.eventsCursor = eventsPage.nextCursor;
 
             console.log('Total RSVPs:', this.myRSVPs.length);
             console.log('Total Available Events:', this.allEvents.length);
@@ -106,7 +111,9 @@ class AttendeeDashboard {
             document.getElementById('upcoming-rsvps').textContent = upcomingRSVPs.length;
             document.getElementById('total-rsvps').textContent = this.myRSVPs.length;
             document.getElementById('events-attended').textContent = pastRSVPs.length;
-            document.getElementById('available-events').textContent = availableEvents.length;
+            // Only the pages loaded so far are counted
+            document.getElementById('available-events').textContent =
+                availableEvents.length + (this.eventsCursor ? '+' : '');
 
         } catch (error) {
             console.error('Error in updateStats:', error);
@@ -174,6 +181,7 @@ class AttendeeDashboard {
         try {
             const container = document.getElementById('discover-events-grid');
             if (!container) return;
+            this.updateLoadMore(this.eventsCursor);
 
             if (!this.allEvents || this.allEvents.length === 0) {
                 container.innerHTML = '<p class="no-data">No events available</p>';
@@ -201,24 +209,7 @@ class AttendeeDashboard {
                 return;
             }
 
-            const eventsWithCounts = await Promise.all(
-                sortedEvents.map(async (event) => {
-                    try {
-                        const rsvpCount = await api.getRSVPCount(event.id);
-                        return {
-                            ...event,
-                            currentRSVPs: rsvpCount.confirmed || 0,
-                            isAtCapacity: rsvpCount.confirmed >= event.maxCapacity
-                        };
-                    } catch (error) {
-                        return {
-                            ...event,
-                            currentRSVPs: 0,
-                            isAtCapacity: false
-                        };
-                    }
-                })
-            );
+            const eventsWithCounts = await this.withRSVPCounts(sortedEvents);
 
             // In your loadDiscoverEvents method
             container.innerHTML = eventsWithCounts.map(event => {
@@ -294,6 +285,7 @@ class AttendeeDashboard {
                         <div class="event-list-meta">
                             <span><i class="fas fa-calendar"></i> ${this.formatDateTime(rsvp.event.dateTime)}</span>
                             <span><i class="fas fa-map-marker-alt"></i> ${rsvp.event.location}</span>
+                            ${rsvp.partySize > 1 ? `<span><i class="fas fa-users"></i> Party of ${rsvp.partySize}</span>` : ''}
                             <span class="event-status ${rsvp.status.toLowerCase()}">${rsvp.status}</span>
                         </div>
                     </div>
@@ -301,8 +293,11 @@ class AttendeeDashboard {
                         <button class="btn btn-sm btn-secondary" onclick="attendeeDashboard.viewEventDetails(${rsvp.event.id})">
                             View Details
                         </button>
-                        ${rsvp.status === 'CONFIRMED' ?
-                            `<button class="btn btn-sm btn-danger" onclick="attendeeDashboard.confirmCancelRSVP(${rsvp.event.id}, '${rsvp.event.title.replace(/'/g, "\\'")}')">Cancel RSVP</button>` :
+                        ${rsvp.status === 'HELD' ?
+                            `<button class="btn btn-sm btn-success" onclick="attendeeDashboard.completeCheckout(${rsvp.event.id})">Complete Checkout</button>` : ''
+                        }
+                        ${rsvp.status === 'CONFIRMED' || rsvp.status === 'WAITLISTED' || rsvp.status === 'HELD' ?
+                            `<button class="btn btn-sm btn-danger" onclick="attendeeDashboard.confirmCancelRSVP(${rsvp.event.id}, '${rsvp.event.title.replace(/'/g, "\\'")}')">${rsvp.status === 'WAITLISTED' ? 'Leave Waitlist' : 'Cancel RSVP'}</button>` :
                             `<button class="btn btn-sm btn-success" onclick="attendeeDashboard.confirmRSVP(${rsvp.event.id})">Confirm</button>`
                         }
                     </div>
@@ -392,6 +387,24 @@ class AttendeeDashboard {
         }
     }
 
+    // Attach RSVP counts to a list of events with one batch request
+    async withRSVPCounts(events) {
+        let counts = {};
+        try {
+            counts = await api.getRSVPCounts(events.map(event => event.id));
+        } catch (error) {
+            console.error('Error loading RSVP counts:', error);
+        }
+        return events.map(event => {
+            const rsvpCount = counts[event.id];
+            return {
+                ...event,
+                currentRSVPs: rsvpCount ? rsvpCount.confirmed : 0,
+                isAtCapacity: rsvpCount ? rsvpCount.atCapacity : false
+            };
+        });
+    }
+
     async confirmRSVPToEvent(eventId, eventTitle) {
         const confirmed = confirm(`Are you sure you want to RSVP to "${eventTitle}"?\n\nThis will confirm your attendance at the event.`);
         if (confirmed) {
@@ -409,8 +422,14 @@ class AttendeeDashboard {
     async rsvpToEvent(eventId) {
         try {
             showLoading();
-            await api.createRSVP(eventId);
-            showToast('RSVP successful!', 'success');
+            const rsvp = await api.createRSVP(eventId);
+            if (rsvp && rsvp.status === 'WAITLISTED') {
+                showToast('Event is full - you have been added to the waitlist', 'info');
+            } else if (rsvp && rsvp.status === 'HELD') {
+                showToast('Seat held - complete checkout before the hold expires', 'info');
+            } else {
+                showToast('RSVP successful!', 'success');
+            }
             await this.loadDashboardData();
         } catch (error) {
             console.error('RSVP failed:', error);
@@ -420,6 +439,20 @@ class AttendeeDashboard {
         }
     }
 
+    async completeCheckout(eventId) {
+        try {
+            showLoading();
+            await api.completeCheckout(eventId);
+            showToast('Checkout complete - your seat is confirmed', 'success');
+            await this.loadDashboardData();
+        } catch (error) {
+            console.error('Checkout failed:', error);
+            showToast(error.message || 'Checkout failed', 'error');
+        } finally {
+            hideLoading();
+        }
+    }
+
     async cancelRSVP(eventId) {
         try {
             showLoading();
@@ -514,29 +547,20 @@ class AttendeeDashboard {
     async searchEvents() {
         const keyword = document.getElementById('discover-search').value.trim();
         if (!keyword) {
+            this.search = null;
             this.loadDiscoverEvents();
             return;
         }
 
         try {
             showLoading();
-            const searchResults = await api.searchEvents(keyword);
-
-            // Filter out past events from search results
-            const now = new Date();
-            const upcomingSearchResults = searchResults.filter(event => {
-                if (!event || !event.dateTime) return false;
-                try {
-                    return new Date(event.dateTime) > now;
-                } catch (error) {
-                    console.error('Error parsing event date:', error);
-                    return false;
-                }
-            });
-
-            console.log(`Search found ${searchResults.length} total events, ${upcomingSearchResults.length} upcoming events`);
+            const page = await api.searchEvents(keyword);
+            this.search = { keyword, results: page.items, cursor: page.nextCursor };
+            console.log(`Search found ${page.items.length} events${page.nextCursor ? ' on its first page' : ''}`);
 
-            await this.renderFilteredDiscoverEvents(upcomingSearchResults);
+            // Past events are filtered out when rendering
+            await this.renderFilteredDiscoverEvents(this.search.results);
+            this.updateLoadMore(this.search.cursor);
         } catch (error) {
             console.error('Search failed:', error);
             showToast('Search failed', 'error');
@@ -545,6 +569,61 @@ class AttendeeDashboard {
         }
     }
 
+    // Fetch the next page of whatever the discover grid shows, the search results or the listing
+    async loadMoreEvents() {
+        try {
+            showLoading();
+            if (this.search) {
+                const search = this.search;
+                const page = await api.searchEvents(search.keyword, search.cursor);
+                search.results = search.results.concat(page.items);
+                search.cursor = page.nextCursor;
+                await this.renderFilteredDiscoverEvents(search.results);
+                this.updateLoadMore(search.cursor);
+            } else {
+                const page = await api.getUpcomingEvents(this.eventsCursor);
+                this.allEvents = this.allEvents.concat(page.items);
+                this.eventsCursor = page.nextCursor;
+                this.updateStats();
+                await this.loadDiscoverEvents();
+            }
+        } catch (error) {
+            console.error('Loading more events failed:', error);
+            showToast('Failed to load more events', 'error');
+        } finally {
+            hideLoading();
+        }
+    }
+
+    // Show the load more button while there is a next page
+    updateLoadMore(cursor) {
+        const loadMore = document.getElementById('discover-load-more');
+        if (loadMore) {
+            loadMore.classList.toggle('hidden', !cursor);
+        }
+    }
+
+    // Fill the search box's dropdown with titles and locations starting with what's typed
+    async suggestEvents(prefix) {
+        const list = document.getElementById('discover-suggestions');
+        if (!list) return;
+        if (!prefix) {
+            list.innerHTML = '';
+            return;
+        }
+        try {
+            const suggestions = await api.suggestEvents(prefix);
+            list.innerHTML = '';
+            suggestions.forEach(suggestion => {
+                const option = document.createElement('option');
+                option.value = suggestion.text;
+                option.label = suggestion.type === 'LOCATION' ? 'Location' : 'Event';
+                list.appendChild(option);
+            });
+        } catch (error) {
+            console.error('Suggestions failed:', error);
+        }
+    }
 
     async renderFilteredDiscoverEvents(events) {
         const container = document.getElementById('discover-events-grid');
@@ -579,24 +658,7 @@ class AttendeeDashboard {
             return;
         }
 
-        const eventsWithCounts = await Promise.all(
-            availableEvents.map(async (event) => {
-                try {
-                    const rsvpCount = await api.getRSVPCount(event.id);
-                    return {
-                        ...event,
-                        currentRSVPs: rsvpCount.confirmed || 0,
-                        isAtCapacity: rsvpCount.confirmed >= event.maxCapacity
-                    };
-                } catch (error) {
-                    return {
-                        ...event,
-                        currentRSVPs: 0,
-                        isAtCapacity: false
-                    };
-                }
-            })
-        );
+        const eventsWithCounts = await this.withRSVPCounts(availableEvents);
 
         // In your loadDiscoverEvents method, update the event card generation:
         container.innerHTML = eventsWithCounts.map(event => {
@@ -657,6 +719,7 @@ class AttendeeDashboard {
             // Remove the keypress event listener for Enter key
             // Add input event listener for real-time search
             searchInput.addEventListener('input', (e) => {
+                this.suggestEvents(e.target.value.trim());
                 // Add a small delay to avoid too many API calls
                 clearTimeout(this.searchTimeout);
                 this.searchTimeout = setTimeout(() => {
@@ -688,6 +751,12 @@ function searchEvents() {
     }
 }
 
+function loadMoreEvents() {
+    if (window.attendeeDashboard) {
+        window.attendeeDashboard.loadMoreEvents();
+    }
+}
+
 function editProfile() {
     showToast('Contact Administrator at support@joinify.com', 'info');
 }
@@ -62,13 +62,16 @@ class OrganizerDashboard {
         let totalAttendees = 0;
         let totalCapacity = 0;
 
-        for (const event of this.myEvents) {
+        if (this.myEvents.length > 0) {
             try {
-                const rsvpCount = await api.request(`/rsvp/event/${event.id}/count`);
-                totalAttendees += rsvpCount.confirmed || 0;
-                totalCapacity += event.maxCapacity;
+                const counts = await api.getRSVPCounts(this.myEvents.map(event => event.id));
+                for (const event of this.myEvents) {
+                    const rsvpCount = counts[event.id];
+                    totalAttendees += rsvpCount ? rsvpCount.confirmed : 0;
+                    totalCapacity += event.maxCapacity;
+                }
             } catch (error) {
-                console.error('Error getting RSVP count for event:', event.id);
+                console.error('Error getting RSVP counts:', error);
             }
         }
 
@@ -279,7 +282,9 @@ class OrganizerDashboard {
             location: formData.get('location'),
             maxCapacity: parseInt(formData.get('maxCapacity')),
             imageUrl: cleanImageUrl || null,
-            fee: cleanFee ? parseFloat(cleanFee) : 0.00
+            fee: cleanFee ? parseFloat(cleanFee) : 0.00,
+            latitude: this.coordinate(formData.get('latitude')),
+            longitude: this.coordinate(formData.get('longitude'))
         };
 
         // Validate required fields
@@ -386,6 +391,11 @@ class OrganizerDashboard {
     }
 
 
+    // Optional map coordinate; empty means none
+    coordinate(value) {
+        return value && value.trim() ? parseFloat(value) : null;
+    }
+
     // Format fee for display
     formatFee(fee) {
         if (!fee || fee === 0) return 'Free';
@@ -403,6 +413,8 @@ class OrganizerDashboard {
             document.getElementById('event-capacity').value = event.maxCapacity;
             document.getElementById('event-image-url').value = event.imageUrl || '';
             document.getElementById('event-fee').value = event.fee || '';
+            document.getElementById('event-latitude').value = event.latitude ?? '';
+            document.getElementById('event-longitude').value = event.longitude ?? '';
 
             // Format datetime for input
             const eventDate = new Date(event.dateTime);
@@ -435,7 +447,9 @@ class OrganizerDashboard {
             location: formData.get('location'),
             maxCapacity: parseInt(formData.get('maxCapacity')),
             imageUrl: rawImageUrl ? rawImageUrl.trim() : null,
-            fee: rawFee ? parseFloat(rawFee) : 0.00
+            fee: rawFee ? parseFloat(rawFee) : 0.00,
+            latitude: this.coordinate(formData.get('latitude')),
+            longitude: this.coordinate(formData.get('longitude'))
         };
 
         try {
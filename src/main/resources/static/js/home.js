@@ -60,8 +60,8 @@ function initializeEventListeners() {
 async function loadUpcomingEvents() {
     try {
         showLoading();
-        const events = await api.getUpcomingEvents();
-        displayEvents(events.slice(0, 3)); // Show only first 3 events
+        const page = await api.getUpcomingEvents();
+        displayEvents(page.items.slice(0, 3)); // Show only first 3 events
     } catch (error) {
         console.error('Error loading events:', error);
         displayEventsError();
@@ -616,6 +616,8 @@ function formatRSVPStatus(status) {
     const statusMap = {
         'CONFIRMED': 'confirmed',
         'PENDING': 'pending',
+        'HELD': 'held',
+        'WAITLISTED': 'waitlisted',
         'CANCELLED': 'cancelled'
     };
     return statusMap[status] || status.toLowerCase();
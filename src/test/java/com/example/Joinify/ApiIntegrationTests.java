@@ -1,8 +1,10 @@
 package com.example.Joinify;
 
 import com.example.Joinify.dto.LoginRequest;
+import com.example.Joinify.dto.RefreshRequest;
 import com.example.Joinify.dto.RegisterRequest;
 import com.example.Joinify.entity.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +16,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+// Every test logs in from the same address; limits are covered by RateLimitFilterTest
+@SpringBootTest(properties = "joinify.rate-limit.enabled=false")
 @AutoConfigureMockMvc
 @Transactional
 public class ApiIntegrationTests {
@@ -169,6 +176,58 @@ public class ApiIntegrationTests {
                 .andExpect(jsonPath("$.title").value("Updated Integration Test Event"));
     }
 
+    @Test
+    public void testIdempotentEventCreation() throws Exception {
+        String eventJson = "{" +
+                "\"title\": \"Idempotent Event\"," +
+                "\"description\": \"Created once, retried twice\"," +
+                "\"dateTime\": \"2030-12-31T10:00:00\"," +
+                "\"location\": \"Retry Hall\"," +
+                "\"maxCapacity\": 20" +
+                "}";
+
+        MvcResult first = mockMvc.perform(post("/api/events")
+                        .header("Authorization", "Bearer " + organizerToken)
+                        .header("Idempotency-Key", "create-event-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(eventJson))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        Long eventId = objectMapper.readTree(first.getResponse().getContentAsString()).get("id").asLong();
+
+        // Retry with the same key replays the stored response instead of creating a second event
+        mockMvc.perform(post("/api/events")
+                        .header("Authorization", "Bearer " + organizerToken)
+                        .header("Idempotency-Key", "create-event-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(eventJson))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(eventId));
+
+        // The same key with a different body is refused rather than answered with the first event
+        mockMvc.perform(post("/api/events")
+                        .header("Authorization", "Bearer " + organizerToken)
+                        .header("Idempotency-Key", "create-event-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(eventJson.replace("\"maxCapacity\": 20", "\"maxCapacity\": 30")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        // A new key is a new request
+        MvcResult second = mockMvc.perform(post("/api/events")
+                        .header("Authorization", "Bearer " + organizerToken)
+                        .header("Idempotency-Key", "create-event-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(eventJson))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        Long secondId = objectMapper.readTree(second.getResponse().getContentAsString()).get("id").asLong();
+        assertThat(secondId).isNotEqualTo(eventId);
+    }
+
     @Test
     public void testEventSecurityAndPermissions() throws Exception {
         // Try to create event without authentication
@@ -334,6 +393,157 @@ public class ApiIntegrationTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void testTokenRevokedByPasswordChange() throws Exception {
+        // The token's claims alone identify the user
+        mockMvc.perform(get("/api/users/profile")
+                        .header("Authorization", "Bearer " + attendeeToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("attendeeTest"));
+
+        mockMvc.perform(put("/api/users/change-password")
+                        .header("Authorization", "Bearer " + attendeeToken)
+                        .param("newPassword", "newpassword123"))
+                .andExpect(status().isOk());
+
+        // The old token no longer passes the token-version check
+        mockMvc.perform(get("/api/users/profile")
+                        .header("Authorization", "Bearer " + attendeeToken))
+                .andExpect(status().isUnauthorized());
+
+        // A fresh login works again
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("attendeeTest", "newpassword123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        String newToken = objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("token").asText();
+        mockMvc.perform(get("/api/users/profile")
+                        .header("Authorization", "Bearer " + newToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRefreshTokenRotation() throws Exception {
+        String refreshToken = login("attendeeTest", "password123").get("refreshToken").asText();
+
+        // A refresh token buys a new access token and a new refresh token
+        MvcResult refreshResult = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("attendeeTest"))
+                .andReturn();
+        JsonNode refreshed = objectMapper.readTree(refreshResult.getResponse().getContentAsString());
+        String nextRefreshToken = refreshed.get("refreshToken").asText();
+        assertThat(nextRefreshToken).isNotEqualTo(refreshToken);
+        mockMvc.perform(get("/api/users/profile")
+                        .header("Authorization", "Bearer " + refreshed.get("token").asText()))
+                .andExpect(status().isOk());
+
+        // Using the old one again looks like theft, so the new one is revoked as well
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(nextRefreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testLogoutRevokesTokens() throws Exception {
+        JsonNode session = login("attendeeTest", "password123");
+        String accessToken = session.get("token").asText();
+        String refreshToken = session.get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        // The access token is refused before it expires, and the refresh token is spent
+        mockMvc.perform(get("/api/users/profile")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+
+        // Other sessions of the same user carry on
+        mockMvc.perform(get("/api/users/profile")
+                        .header("Authorization", "Bearer " + attendeeToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testEventListingPages() throws Exception {
+        // Five events, two of them at the same time so the id breaks the tie
+        LocalDateTime base = LocalDateTime.now().plusDays(30).withNano(0);
+        int[] dayOffsets = { 1, 2, 2, 3, 4 };
+        Long organizerId = null;
+        for (int i = 0; i < dayOffsets.length; i++) {
+            String eventJson = "{" +
+                    "\"title\": \"Paged Event " + i + "\"," +
+                    "\"dateTime\": \"" + base.plusDays(dayOffsets[i]) + "\"," +
+                    "\"location\": \"Paging Hall\"," +
+                    "\"imageUrl\": \"https://example.com/paged.png\"," +
+                    "\"maxCapacity\": 10" +
+                    "}";
+            MvcResult result = mockMvc.perform(post("/api/events")
+                            .header("Authorization", "Bearer " + organizerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(eventJson))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            organizerId = objectMapper.readTree(result.getResponse().getContentAsString())
+                    .get("organizer").get("id").asLong();
+        }
+
+        // Walk the organizer's events two at a time, latest first
+        List<JsonNode> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = mockMvc.perform(get("/api/events/organizer/" + organizerId)
+                            .param("limit", "2")
+                            .param("cursor", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+            assertThat(page.size()).isLessThanOrEqualTo(2);
+            page.forEach(seen::add);
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(5);
+        for (int i = 1; i < seen.size(); i++) {
+            LocalDateTime previous = LocalDateTime.parse(seen.get(i - 1).get("dateTime").asText());
+            LocalDateTime current = LocalDateTime.parse(seen.get(i).get("dateTime").asText());
+            assertThat(current).isBeforeOrEqualTo(previous);
+            if (current.equals(previous)) {
+                assertThat(seen.get(i).get("id").asLong()).isLessThan(seen.get(i - 1).get("id").asLong());
+            }
+        }
+
+        mockMvc.perform(get("/api/events").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode login(String username, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(username, password))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
     @Test
     public void testDataValidation() throws Exception {
         // Try to create event with invalid data
@@ -1,9 +1,12 @@
 package com.example.Joinify;
 
+import com.example.Joinify.dto.BatchRSVPResult;
 import com.example.Joinify.dto.RegisterRequest;
 import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.RSVPStatus;
 import com.example.Joinify.entity.User;
 import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.exception.BadRequestException;
 import com.example.Joinify.service.EventService;
 import com.example.Joinify.service.RSVPService;
 import com.example.Joinify.service.UserService;
@@ -115,4 +118,63 @@ public class ServiceUnitTests {
         assertThat(rsvpService.hasUserRSVPd(attendee.getId(), event.getId())).isFalse();
         assertThat(rsvpService.getConfirmedRSVPCount(event.getId())).isEqualTo(0);
     }
+
+    @Test
+    public void testBatchRSVPOperations() {
+        User organizer = userService.registerUser(new RegisterRequest("batchOrg", "batchorg@example.com", "password123", UserRole.ORGANIZER));
+        User attendee = userService.registerUser(new RegisterRequest("batchAtt", "batchatt@example.com", "password123", UserRole.ATTENDEE));
+        User other = userService.registerUser(new RegisterRequest("batchOther", "batchother@example.com", "password123", UserRole.ATTENDEE));
+
+        Event open = eventService.createEvent("Open Session", "Has seats", LocalDateTime.now().plusDays(3), "Hall A", 10, organizer);
+        Event full = eventService.createEvent("Full Session", "One seat", LocalDateTime.now().plusDays(3), "Hall B", 1, organizer);
+        Event already = eventService.createEvent("Booked Session", "Already booked", LocalDateTime.now().plusDays(3), "Hall C", 10, organizer);
+
+        rsvpService.createRSVP(other.getId(), full.getId());
+        rsvpService.createRSVP(attendee.getId(), already.getId());
+
+        // One call, one result per event in request order
+        List<BatchRSVPResult> results = rsvpService.createRSVPs(attendee.getId(),
+                List.of(open.getId(), full.getId(), already.getId(), -1L));
+
+        assertThat(results).extracting(BatchRSVPResult::getEventId)
+                .containsExactly(open.getId(), full.getId(), already.getId(), -1L);
+        assertThat(results.get(0).getStatus()).isEqualTo(RSVPStatus.CONFIRMED);
+        assertThat(results.get(1).getStatus()).isEqualTo(RSVPStatus.WAITLISTED);
+        assertThat(results.get(2).isSuccess()).isFalse();
+        assertThat(results.get(3).isSuccess()).isFalse();
+
+        assertThat(rsvpService.getRSVPStatus(attendee.getId(), open.getId())).contains(RSVPStatus.CONFIRMED);
+        assertThat(rsvpService.getConfirmedRSVPCount(open.getId())).isEqualTo(1);
+        assertThat(rsvpService.getConfirmedRSVPCount(full.getId())).isEqualTo(1);
+    }
+
+    @Test
+    public void testPartySizeRSVPOperations() {
+        User organizer = userService.registerUser(new RegisterRequest("partyOrg", "partyorg@example.com", "password123", UserRole.ORGANIZER));
+        User family = userService.registerUser(new RegisterRequest("partyFamily", "family@example.com", "password123", UserRole.ATTENDEE));
+        User team = userService.registerUser(new RegisterRequest("partyTeam", "team@example.com", "password123", UserRole.ATTENDEE));
+        User couple = userService.registerUser(new RegisterRequest("partyCouple", "couple@example.com", "password123", UserRole.ATTENDEE));
+
+        Event event = eventService.createEvent("Family Day", "Five seats", LocalDateTime.now().plusDays(5), "Park", 5, organizer);
+
+        // Each party takes one seat per member
+        assertThat(rsvpService.createRSVP(family.getId(), event.getId(), 3).getStatus()).isEqualTo(RSVPStatus.CONFIRMED);
+        assertThat(rsvpService.getAvailableSpots(event.getId())).isEqualTo(2);
+        assertThat(rsvpService.createRSVP(team.getId(), event.getId(), 3).getStatus()).isEqualTo(RSVPStatus.WAITLISTED);
+        // The line is served in order: the couple would fit, but waits behind the team
+        assertThat(rsvpService.createRSVP(couple.getId(), event.getId(), 2).getStatus()).isEqualTo(RSVPStatus.WAITLISTED);
+        assertThat(rsvpService.getConfirmedRSVPCount(event.getId())).isEqualTo(3);
+
+        // The three freed seats go to the waiting party of three, the two left free to the couple
+        rsvpService.cancelRSVP(family.getId(), event.getId());
+        assertThat(rsvpService.getRSVPStatus(team.getId(), event.getId())).contains(RSVPStatus.CONFIRMED);
+        assertThat(rsvpService.getRSVPStatus(couple.getId(), event.getId())).contains(RSVPStatus.CONFIRMED);
+        assertThat(rsvpService.getConfirmedRSVPCount(event.getId())).isEqualTo(5);
+        assertThat(rsvpService.getAvailableSpots(event.getId())).isZero();
+        assertThat(rsvpService.isEventAtCapacity(event.getId())).isTrue();
+        assertThat(eventService.getEventsWithAvailableCapacity()).extracting(Event::getId).doesNotContain(event.getId());
+
+        // A party bigger than the event is turned away rather than waitlisted forever
+        assertThrows(BadRequestException.class, () -> rsvpService.createRSVP(family.getId(), event.getId(), 6));
+    }
 }
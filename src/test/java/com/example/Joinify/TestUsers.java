@@ -0,0 +1,20 @@
+package com.example.Joinify;
+
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+
+// Unsaved users for tests that need rows to hang events and RSVPs on
+public final class TestUsers {
+
+    private TestUsers() {}
+
+    public static User newUser(String username, UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        // Stored as-is, these users never log in
+        user.setPassword("password");
+        user.setRole(role);
+        return user;
+    }
+}
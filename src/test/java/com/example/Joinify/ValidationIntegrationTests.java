@@ -14,7 +14,8 @@ import org.springframework.transaction.annotation.Transactional;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+// Every test logs in from the same address; limits are covered by RateLimitFilterTest
+@SpringBootTest(properties = "joinify.rate-limit.enabled=false")
 @AutoConfigureMockMvc
 @Transactional
 public class ValidationIntegrationTests {
@@ -0,0 +1,111 @@
+package com.example.Joinify.repository;
+
+import com.example.Joinify.dto.EventSummary;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional  // The seeded events are rolled back after each test
+public class EventPaginationBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User organizer;
+
+    @BeforeEach
+    public void setUp() {
+        User newUser = new User();
+        newUser.setUsername("pagebenchorg");
+        newUser.setEmail("pagebenchorg@example.com");
+        newUser.setPassword("password");
+        newUser.setRole(UserRole.ORGANIZER);
+        organizer = userRepository.saveAndFlush(newUser);
+
+        // Plain JDBC batches, so seeding doesn't dominate the run
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            rows.add(new Object[] { "Paged Event " + i, Timestamp.valueOf(start.plusMinutes(i / 2)),
+                    "Bench Hall", 100, "https://example.com/paged.png", organizer.getId() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event (title, date_time, location, max_capacity, image_url, " +
+                "confirmed_count, organizer_id) VALUES (?, ?, ?, ?, ?, 0, ?)", rows);
+    }
+
+    @Test
+    public void testDeepPagesCostTheSameAsTheFirst() {
+        int deepOffset = EVENTS - PAGE_SIZE;
+        KeysetCursor top = KeysetCursor.start(false);
+        KeysetCursor deep = jdbcTemplate.queryForObject(
+                "SELECT date_time, id FROM event WHERE organizer_id = ? ORDER BY date_time DESC, id DESC LIMIT 1 OFFSET ?",
+                (rs, rowNum) -> new KeysetCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                organizer.getId(), deepOffset - 1);
+
+        // Both ways reach the same page
+        List<EventSummary> byOffset = offsetPage(deepOffset);
+        List<EventSummary> byKeyset = keysetPage(deep);
+        assertThat(byKeyset).extracting(EventSummary::getId).containsExactlyElementsOf(
+                byOffset.stream().map(EventSummary::getId).toList());
+
+        long offsetFirst = time(() -> offsetPage(0));
+        long offsetDeep = time(() -> offsetPage(deepOffset));
+        long keysetFirst = time(() -> keysetPage(top));
+        long keysetDeep = time(() -> keysetPage(deep));
+
+        System.out.printf("Page of %d at row %d of %d: OFFSET %.2f ms (first page %.2f ms), " +
+                        "keyset %.2f ms (first page %.2f ms)%n",
+                PAGE_SIZE, deepOffset, EVENTS, offsetDeep / 1e6, offsetFirst / 1e6,
+                keysetDeep / 1e6, keysetFirst / 1e6);
+
+        assertThat(keysetDeep).isLessThan(offsetDeep);
+    }
+
+    private List<EventSummary> offsetPage(int offset) {
+        KeysetCursor top = KeysetCursor.start(false);
+        return eventRepository.findSummaryPageByOrganizerId(organizer.getId(), top.getDateTime(), top.getId(),
+                PageRequest.of(offset / PAGE_SIZE, PAGE_SIZE));
+    }
+
+    private List<EventSummary> keysetPage(KeysetCursor after) {
+        return eventRepository.findSummaryPageByOrganizerId(organizer.getId(), after.getDateTime(), after.getId(),
+                PageRequest.of(0, PAGE_SIZE));
+    }
+
+    // Average nanos per call after a warmup
+    private long time(Runnable page) {
+        for (int i = 0; i < 3; i++) {
+            page.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            page.run();
+        }
+        return (System.nanoTime() - start) / RUNS;
+    }
+}
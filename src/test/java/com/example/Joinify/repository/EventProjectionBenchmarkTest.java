@@ -0,0 +1,122 @@
+package com.example.Joinify.repository;
+
+import com.example.Joinify.dto.EventSummary;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional  // The seeded events are rolled back after each test
+public class EventProjectionBenchmarkTest {
+
+    private static final int EVENTS = 10_000;
+    private static final int RUNS = 10;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User organizer;
+
+    @BeforeEach
+    public void setUp() {
+        User newUser = new User();
+        newUser.setUsername("projbenchorg");
+        newUser.setEmail("projbenchorg@example.com");
+        newUser.setPassword("password");
+        newUser.setRole(UserRole.ORGANIZER);
+        organizer = userRepository.saveAndFlush(newUser);
+
+        // Longer than the excerpt, so there is something to cut
+        String description = "A long description of the event. ".repeat(7);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            rows.add(new Object[] { "Listed Event " + i, description, Timestamp.valueOf(start.plusMinutes(i)),
+                    "Bench Hall", 100, "https://example.com/listed.png", organizer.getId() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event (title, description, date_time, location, max_capacity, " +
+                "image_url, confirmed_count, organizer_id) VALUES (?, ?, ?, ?, ?, ?, 0, ?)", rows);
+        entityManager.clear();
+    }
+
+    @Test
+    public void testSummariesAreLighterThanEntities() {
+        KeysetCursor top = KeysetCursor.start(false);
+        Supplier<List<?>> entities = () -> eventRepository.findByOrganizerId(organizer.getId());
+        Supplier<List<?>> summaries = () -> eventRepository.findSummaryPageByOrganizerId(organizer.getId(),
+                top.getDateTime(), top.getId(), PageRequest.of(0, EVENTS));
+
+        // Same rows either way, but only the entities are tracked by the persistence context
+        assertThat(entities.get()).hasSize(EVENTS);
+        int managedByEntities = managedEntities();
+        entityManager.clear();
+        List<?> cards = summaries.get();
+        assertThat(cards).hasSize(EVENTS);
+        assertThat(((EventSummary) cards.get(0)).getDescription()).hasSize(EventSummary.DESCRIPTION_EXCERPT_LENGTH);
+        int managedBySummaries = managedEntities();
+        entityManager.clear();
+
+        long[] entityCost = measure(entities);
+        long[] summaryCost = measure(summaries);
+
+        System.out.printf("Listing %d events: entities %.2f ms, %.1f MB allocated, %d managed; " +
+                        "summaries %.2f ms, %.1f MB allocated, %d managed%n",
+                EVENTS, entityCost[0] / 1e6, entityCost[1] / 1e6, managedByEntities,
+                summaryCost[0] / 1e6, summaryCost[1] / 1e6, managedBySummaries);
+
+        assertThat(managedBySummaries).isZero();
+        assertThat(managedByEntities).isGreaterThanOrEqualTo(EVENTS);
+        assertThat(summaryCost[1]).isLessThan(entityCost[1]);
+    }
+
+    private int managedEntities() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+    // Average nanos and bytes allocated per call after a warmup, with a fresh persistence context each time
+    private long[] measure(Supplier<List<?>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 3; i++) {
+            listing.get();
+            entityManager.clear();
+        }
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            listing.get();
+            nanos += System.nanoTime() - start;
+            bytes += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            entityManager.clear();
+        }
+        return new long[] { nanos / RUNS, bytes / RUNS };
+    }
+}
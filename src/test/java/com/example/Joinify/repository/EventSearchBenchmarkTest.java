@@ -0,0 +1,143 @@
+package com.example.Joinify.repository;
+
+import com.example.Joinify.dto.EventSearchCriteria;
+import com.example.Joinify.dto.EventSummary;
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional  // The seeded events are rolled back after each test
+public class EventSearchBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int RUNS = 10;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User organizer;
+    private LocalDateTime start;
+
+    @BeforeEach
+    public void setUp() {
+        User newUser = new User();
+        newUser.setUsername("searchbenchorg");
+        newUser.setEmail("searchbenchorg@example.com");
+        newUser.setPassword("password");
+        newUser.setRole(UserRole.ORGANIZER);
+        organizer = userRepository.saveAndFlush(newUser);
+
+        // Plain JDBC batches, so seeding doesn't dominate the run
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            rows.add(new Object[] { (i % 5 == 0 ? "Jazz Night " : "Tech Talk ") + i,
+                    Timestamp.valueOf(start.plusMinutes(i)), i % 3 == 0 ? "Pune Hall" : "Bangalore Arena",
+                    10, i % 7 == 0 ? 10 : 0, BigDecimal.valueOf((i % 4) * 100L), "https://example.com/search.png",
+                    organizer.getId() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event (title, date_time, location, max_capacity, confirmed_count, " +
+                "fee, image_url, organizer_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    public void testOneQueryAgainstIntersectingSeparateSearches() {
+        EventSearchCriteria criteria = new EventSearchCriteria();
+        criteria.setKeyword("jazz");
+        criteria.setLocation("pune");
+        criteria.setFrom(start);
+        criteria.setTo(start.plusMinutes(EVENTS * 3 / 4));
+        criteria.setMinFee(BigDecimal.valueOf(100));
+        criteria.setMaxFee(BigDecimal.valueOf(200));
+        criteria.setOrganizerId(organizer.getId());
+        criteria.setHasCapacity(true);
+
+        // Both ways find the same first page
+        List<Long> combined = combinedPage(criteria).stream().map(EventSummary::getId).toList();
+        List<Long> separate = separateCalls(criteria).stream().map(Event::getId).toList();
+        assertThat(combined).hasSize(PAGE_SIZE);
+        assertThat(combined).containsExactlyElementsOf(separate);
+
+        long combinedNanos = time(() -> combinedPage(criteria));
+        long separateNanos = time(() -> separateCalls(criteria));
+
+        System.out.printf("First page of %d matching all filters over %d events: one query %.2f ms, " +
+                        "four searches intersected %.2f ms%n",
+                PAGE_SIZE, EVENTS, combinedNanos / 1e6, separateNanos / 1e6);
+
+        assertThat(combinedNanos).isLessThan(separateNanos);
+    }
+
+    private List<EventSummary> combinedPage(EventSearchCriteria criteria) {
+        KeysetCursor top = KeysetCursor.start(true);
+        return eventRepository.searchSummaryPage(criteria, top.getDateTime(), top.getId(), PAGE_SIZE);
+    }
+
+    // What a client had to do before: one full search per filter the endpoints offer, intersected,
+    // then the fee and organizer filters and the ordering applied by hand
+    private List<Event> separateCalls(EventSearchCriteria criteria) {
+        List<Event> byTitle = eventRepository.findByTitleContainingIgnoreCase(criteria.getKeyword());
+        Set<Long> byLocation = ids(eventRepository.findByLocationContainingIgnoreCase(criteria.getLocation()));
+        Set<Long> byDate = ids(eventRepository.findEventsBetweenDates(criteria.getFrom(), criteria.getTo()));
+        Set<Long> available = ids(eventRepository.findEventsWithAvailableCapacity(LocalDateTime.now()));
+        List<Event> page = byTitle.stream()
+                .filter(event -> byLocation.contains(event.getId()) && byDate.contains(event.getId())
+                        && available.contains(event.getId()))
+                .filter(event -> event.getFee().compareTo(criteria.getMinFee()) >= 0
+                        && event.getFee().compareTo(criteria.getMaxFee()) <= 0)
+                .filter(event -> event.getOrganizer().getId().equals(criteria.getOrganizerId()))
+                .sorted(Comparator.comparing(Event::getDateTime).thenComparing(Event::getId))
+                .limit(PAGE_SIZE)
+                .toList();
+        // Each call is a separate request; don't let the next one find these already loaded
+        entityManager.clear();
+        return page;
+    }
+
+    private static Set<Long> ids(List<Event> events) {
+        return events.stream().map(Event::getId).collect(Collectors.toSet());
+    }
+
+    // Average nanos per call after a warmup
+    private long time(Supplier<?> search) {
+        for (int i = 0; i < 3; i++) {
+            search.get();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            search.get();
+        }
+        return (System.nanoTime() - begin) / RUNS;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.Joinify.security;
+
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.UserRepository;
+import com.example.Joinify.service.UserService;
+import com.example.Joinify.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Times the security filters alone: the endpoint at the end of the chain does nothing
+@SpringBootTest
+public class PublicReadChainBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Autowired
+    @Qualifier("publicReadFilterChain")
+    private SecurityFilterChain publicReadFilterChain;
+
+    @Autowired
+    @Qualifier("filterChain")
+    private SecurityFilterChain filterChain;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        User newUser = new User();
+        newUser.setUsername("chainbenchuser");
+        newUser.setEmail("chainbenchuser@example.com");
+        newUser.setPassword("not-used");
+        newUser.setRole(UserRole.ATTENDEE);
+        user = userRepository.save(newUser);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userService.deleteUser(user.getId());
+    }
+
+    @Test
+    public void testPublicReadsSkipAuthentication() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        FilterChain endpoint = (request, response) ->
+                seen.set(SecurityContextHolder.getContext().getAuthentication());
+
+        // Before: every request went through the full chain and its token was checked
+        new FilterChainProxy(filterChain).doFilter(browse(), new MockHttpServletResponse(), endpoint);
+        assertThat(seen.get().getPrincipal()).isInstanceOf(AuthenticatedUser.class);
+
+        // After: public reads match the fast path, which never looks at the token
+        new FilterChainProxy(List.of(publicReadFilterChain, filterChain))
+                .doFilter(browse(), new MockHttpServletResponse(), endpoint);
+        assertThat(seen.get()).isNull();
+
+        // Reads that need the caller still take the full chain
+        MockHttpServletRequest myEvents = browse();
+        myEvents.setRequestURI("/api/events/my-events");
+        new FilterChainProxy(List.of(publicReadFilterChain, filterChain))
+                .doFilter(myEvents, new MockHttpServletResponse(), endpoint);
+        assertThat(seen.get().getPrincipal()).isInstanceOf(AuthenticatedUser.class);
+    }
+
+    @Test
+    public void testFilterChainOverhead() throws Exception {
+        FilterChain endpoint = (request, response) -> { };
+        FilterChainProxy before = new FilterChainProxy(filterChain);
+        FilterChainProxy after = new FilterChainProxy(List.of(publicReadFilterChain, filterChain));
+
+        long beforeNanos = time(before, endpoint);
+        long afterNanos = time(after, endpoint);
+
+        System.out.printf("Security filters for GET /api/events with a bearer token: before %d ns/request, " +
+                "public fast path %d ns/request%n", beforeNanos / ITERATIONS, afterNanos / ITERATIONS);
+        assertThat(afterNanos).isLessThan(beforeNanos);
+    }
+
+    private long time(FilterChainProxy chain, FilterChain endpoint) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            chain.doFilter(browse(), new MockHttpServletResponse(), endpoint);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            chain.doFilter(browse(), new MockHttpServletResponse(), endpoint);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // A logged-in browser fetching the event list, which sends its token along
+    private MockHttpServletRequest browse() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
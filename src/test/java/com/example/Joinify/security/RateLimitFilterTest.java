@@ -0,0 +1,102 @@
+package com.example.Joinify.security;
+
+import com.example.Joinify.dto.LoginRequest;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "joinify.rate-limit.login.burst=3",
+        "joinify.rate-limit.login.per-minute=1",
+        "joinify.rate-limit.rsvp.burst=2",
+        "joinify.rate-limit.rsvp.per-minute=1"
+})
+@AutoConfigureMockMvc
+public class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    public void testLoginLimitedPerClientAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(login("10.0.0.1"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // The burst is spent: turned away before the password is checked
+        mockMvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        // Another address has its own bucket
+        mockMvc.perform(login("10.0.0.2"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRsvpLimitedPerUser() throws Exception {
+        String firstToken = token(9_000_001L, "rateLimitFirst");
+        String secondToken = token(9_000_002L, "rateLimitSecond");
+
+        // Neither user exists, so the calls that get through are refused by authentication
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(rsvp(firstToken))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(rsvp(firstToken))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Same address, different user
+        mockMvc.perform(rsvp(secondToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder login(String remoteAddress) throws Exception {
+        return post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("noSuchUser", "password123")));
+    }
+
+    private MockHttpServletRequestBuilder rsvp(String token) {
+        return post("/api/rsvp/event/1")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.3");
+                    return request;
+                })
+                .header("Authorization", "Bearer " + token);
+    }
+
+    // A validly signed token for a user id that is not in the database
+    private String token(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(UserRole.ATTENDEE);
+        user.setTokenVersion(0);
+        return jwtUtil.generateToken(user);
+    }
+}
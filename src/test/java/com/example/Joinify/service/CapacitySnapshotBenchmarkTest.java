@@ -0,0 +1,171 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.dto.CapacitySnapshot;
+import com.example.Joinify.dto.RSVPCounts;
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.RSVPRepository;
+import com.example.Joinify.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.Joinify.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: each call has to run in its own transaction, as it does behind the endpoint
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class CapacitySnapshotBenchmarkTest {
+
+    private static final int ATTENDEES = 20;
+    private static final int CAPACITY = 30;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private CapacityService capacityService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User organizer;
+    private Event event;
+    private final List<User> attendees = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        organizer = userRepository.save(newUser("capbenchorg", UserRole.ORGANIZER));
+        Event newEvent = new Event();
+        newEvent.setTitle("Capacity Benchmark");
+        newEvent.setDescription("Polled capacity endpoint");
+        newEvent.setDateTime(LocalDateTime.now().plusDays(10));
+        newEvent.setLocation("Bench Hall");
+        newEvent.setMaxCapacity(CAPACITY);
+        newEvent.setImageUrl("https://example.com/capacity.png");
+        newEvent.setOrganizer(organizer);
+        event = eventRepository.save(newEvent);
+
+        for (int i = 0; i < ATTENDEES; i++) {
+            User attendee = userRepository.save(newUser("capbenchatt" + i, UserRole.ATTENDEE));
+            attendees.add(attendee);
+            rsvpService.createRSVP(attendee.getId(), event.getId());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        rsvpRepository.deleteAll(rsvpRepository.findByEventId(event.getId()));
+        eventRepository.deleteById(event.getId());
+        userRepository.deleteAll(attendees);
+        userRepository.delete(organizer);
+    }
+
+    @Test
+    public void testQueriesPerCapacityRequest() {
+        Long eventId = event.getId();
+
+        // Before: the four lookups the count endpoint used to make
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rsvpService.getConfirmedRSVPCount(eventId);
+            rsvpService.getTotalRSVPCount(eventId);
+            rsvpService.getAvailableSpots(eventId);
+            rsvpService.isEventAtCapacity(eventId);
+        }
+        long sequentialNanos = System.nanoTime() - start;
+        double sequentialQueries = (double) statistics.getPrepareStatementCount() / ITERATIONS;
+
+        // After: one aggregate query per uncached snapshot
+        statistics.clear();
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            capacityService.invalidate(eventId);
+            capacityService.getSnapshot(eventId);
+        }
+        long snapshotNanos = System.nanoTime() - start;
+        double snapshotQueries = (double) statistics.getPrepareStatementCount() / ITERATIONS;
+
+        // After, cached: polling between writes never reaches the database
+        capacityService.getSnapshot(eventId);
+        statistics.clear();
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            capacityService.getSnapshot(eventId);
+        }
+        long cachedNanos = System.nanoTime() - start;
+        double cachedQueries = (double) statistics.getPrepareStatementCount() / ITERATIONS;
+
+        System.out.printf("Capacity lookup, %d requests: sequential %.1f queries/req %.3f ms/req, " +
+                        "snapshot %.1f queries/req %.3f ms/req, cached %.1f queries/req %.4f ms/req%n",
+                ITERATIONS,
+                sequentialQueries, sequentialNanos / 1_000_000.0 / ITERATIONS,
+                snapshotQueries, snapshotNanos / 1_000_000.0 / ITERATIONS,
+                cachedQueries, cachedNanos / 1_000_000.0 / ITERATIONS);
+
+        assertThat(sequentialQueries).isGreaterThanOrEqualTo(4);
+        assertThat(snapshotQueries).isEqualTo(1);
+        assertThat(cachedQueries).isZero();
+
+        // Same answers either way
+        CapacitySnapshot snapshot = capacityService.getSnapshot(eventId);
+        assertThat(snapshot.getConfirmedSeats()).isEqualTo(rsvpService.getConfirmedRSVPCount(eventId)).isEqualTo(ATTENDEES);
+        assertThat(snapshot.getTotalRSVPs()).isEqualTo(rsvpService.getTotalRSVPCount(eventId));
+        assertThat(snapshot.getAvailableSpots()).isEqualTo(rsvpService.getAvailableSpots(eventId)).isEqualTo(CAPACITY - ATTENDEES);
+        assertThat(snapshot.isAtCapacity()).isEqualTo(rsvpService.isEventAtCapacity(eventId)).isFalse();
+    }
+
+    @Test
+    public void testSnapshotDroppedOnRSVPWrite() {
+        Long eventId = event.getId();
+        assertThat(capacityService.getSnapshot(eventId).getTotalRSVPs()).isEqualTo(ATTENDEES);
+
+        rsvpService.cancelRSVP(attendees.get(0).getId(), eventId);
+
+        CapacitySnapshot snapshot = capacityService.getSnapshot(eventId);
+        assertThat(snapshot.getTotalRSVPs()).isEqualTo(ATTENDEES - 1);
+        assertThat(snapshot.getAvailableSpots()).isEqualTo(CAPACITY - ATTENDEES + 1);
+    }
+
+    @Test
+    public void testCountsForManyEventsInTwoQueries() {
+        Long eventId = event.getId();
+
+        statistics.clear();
+        Map<Long, RSVPCounts> counts = capacityService.getCounts(List.of(eventId, Long.MAX_VALUE));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(counts).containsOnlyKeys(eventId);
+        RSVPCounts eventCounts = counts.get(eventId);
+        assertThat(eventCounts.getConfirmed()).isEqualTo(ATTENDEES);
+        assertThat(eventCounts.getTotal()).isEqualTo(ATTENDEES);
+        assertThat(eventCounts.getAvailable()).isEqualTo(CAPACITY - ATTENDEES);
+        assertThat(eventCounts.isAtCapacity()).isFalse();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.dto.LoginRequest;
+import com.example.Joinify.dto.LoginResponse;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.exception.ServiceUnavailableException;
+import com.example.Joinify.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: logins run on worker threads, each in its own transaction as behind the endpoint
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class LoginLoadTest {
+
+    private static final int USERS = 20;
+    private static final int LOGINS_PER_SECOND = 200;
+    private static final int SECONDS = 5;
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String hash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("loginload" + i);
+            user.setEmail("loginload" + i + "@example.com");
+            user.setPassword(hash);
+            user.setRole(UserRole.ATTENDEE);
+            users.add(userRepository.save(user));
+        }
+    }
+
+    // Through the service, so the user cache forgets them too
+    @AfterEach
+    public void tearDown() {
+        users.forEach(user -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    public void testLoginsAtTwoHundredPerSecond() throws InterruptedException {
+        // Cold: each user's first login reads its row once
+        statistics.clear();
+        for (User user : users) {
+            assertThat(authService.loginUser(new LoginRequest(user.getUsername(), PASSWORD)).getToken()).isNotNull();
+        }
+        double coldQueries = (double) statistics.getPrepareStatementCount() / USERS;
+
+        // Open loop at a fixed rate; latency counts from when each login was due, so a
+        // backed-up pool shows up in the percentiles instead of slowing the offered load
+        int total = LOGINS_PER_SECOND * SECONDS;
+        long[] latencies = new long[total];
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        ExecutorService workers = Executors.newFixedThreadPool(64);
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger issued = new AtomicInteger();
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / LOGINS_PER_SECOND;
+        long start = System.nanoTime();
+
+        statistics.clear();
+        ticker.scheduleAtFixedRate(() -> {
+            int i = issued.getAndIncrement();
+            if (i >= total) {
+                return;
+            }
+            long due = start + i * periodNanos;
+            User user = users.get(i % USERS);
+            workers.execute(() -> {
+                try {
+                    LoginResponse response = authService.loginUser(new LoginRequest(user.getUsername(), PASSWORD));
+                    if (response.getToken() == null) {
+                        failures.incrementAndGet();
+                    }
+                } catch (ServiceUnavailableException e) {
+                    // Shed by the hashing pool: a fast 503 rather than a wrong answer
+                    shed.incrementAndGet();
+                } finally {
+                    latencies[i] = System.nanoTime() - due;
+                    done.countDown();
+                }
+            });
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        try {
+            assertThat(done.await(SECONDS * 20L, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            ticker.shutdownNow();
+            workers.shutdownNow();
+        }
+        double loadQueries = (double) statistics.getPrepareStatementCount() / total;
+
+        Arrays.sort(latencies);
+        System.out.printf("Login at %d/s for %ds: cold %.2f queries/login, warm %.2f queries/login, " +
+                        "p50 %.1f ms, p99 %.1f ms, max %.1f ms, shed %d%n",
+                LOGINS_PER_SECOND, SECONDS, coldQueries, loadQueries,
+                latencies[total / 2] / 1e6, latencies[(int) (total * 0.99)] / 1e6, latencies[total - 1] / 1e6, shed.get());
+
+        assertThat(failures.get()).isZero();
+        assertThat(coldQueries).isEqualTo(1);
+        assertThat(loadQueries).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void testWrongPasswordAndUnknownUserGetTheSameAnswer() {
+        LoginResponse wrongPassword = authService.loginUser(new LoginRequest("loginload0", "wrongpassword"));
+        LoginResponse unknownUser = authService.loginUser(new LoginRequest("nosuchloginuser", PASSWORD));
+
+        assertThat(wrongPassword.getToken()).isNull();
+        assertThat(unknownUser.getToken()).isNull();
+        assertThat(wrongPassword.getMessage()).isEqualTo(unknownUser.getMessage());
+    }
+}
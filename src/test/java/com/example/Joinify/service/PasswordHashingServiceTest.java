@@ -0,0 +1,120 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// No Spring context needed; the pool is set up the way the container would
+public class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService hashingService;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        hashingService.shutdown();
+    }
+
+    @Test
+    public void testFullQueueIsRejectedStraightAway() throws Exception {
+        hashingService = newHashingService(1, 1, 10_000);
+
+        // One hash running, one waiting: the pool is full
+        Future<String> first = callers.submit(() -> hashingService.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> second = callers.submit(() -> hashingService.encode("second"));
+        waitForQueueDepth(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hashingService.matches("third", "hash"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(meterRegistry.get("joinify.password_hashing.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("joinify.password_hashing.queue_depth").gauge().value()).isEqualTo(1);
+
+        // The callers already in finish once the pool frees up
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+    }
+
+    @Test
+    public void testHashesRunOnThePool() {
+        release.countDown();
+        hashingService = newHashingService(2, 4, 10_000);
+
+        assertThat(hashingService.encode("password123")).isEqualTo("hashed:password123");
+        assertThat(hashingService.matches("password123", "hashed:password123")).isTrue();
+        assertThat(meterRegistry.get("joinify.password_hashing.latency").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testSlowHashTimesOut() {
+        hashingService = newHashingService(1, 1, 50);
+
+        assertThatThrownBy(() -> hashingService.encode("slow"))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hashingService.queueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(hashingService.queueDepth()).isEqualTo(depth);
+    }
+
+    private PasswordHashingService newHashingService(int threads, int queueSize, long timeoutMs) {
+        PasswordHashingService service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "passwordEncoder", new BlockingEncoder());
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "threads", threads);
+        ReflectionTestUtils.setField(service, "queueSize", queueSize);
+        ReflectionTestUtils.setField(service, "timeoutMs", timeoutMs);
+        service.init();
+        return service;
+    }
+
+    // Stands in for BCrypt; holds every hash until the test releases it
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return ("hashed:" + rawPassword).equals(encodedPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.dto.BulkConfirmResponse;
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.RSVPStatus;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.RSVPRepository;
+import com.example.Joinify.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+public class RSVPBulkConfirmBenchmarkTest {
+
+    private static final int PENDING = 10_000;
+    private static final int CAPACITY = 6_000;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testConfirmTenThousandPendingRSVPs() {
+        // Given
+        User organizer = new User();
+        organizer.setUsername("bulkorg");
+        organizer.setEmail("bulkorg@example.com");
+        organizer.setPassword("password");
+        organizer.setRole(UserRole.ORGANIZER);
+        User savedOrganizer = userRepository.save(organizer);
+
+        Event event = new Event();
+        event.setTitle("Bulk Confirm Event");
+        event.setDescription("10k pending RSVPs");
+        event.setDateTime(LocalDateTime.now().plusDays(30));
+        event.setLocation("Bulk Hall");
+        event.setMaxCapacity(CAPACITY);
+        event.setImageUrl("https://example.com/bulk.png");
+        event.setOrganizer(savedOrganizer);
+        Event savedEvent = eventRepository.saveAndFlush(event);
+
+        seedPendingRSVPs(savedEvent.getId());
+
+        // When
+        long start = System.nanoTime();
+        BulkConfirmResponse result = rsvpService.confirmPendingRSVPs(savedEvent.getId());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Bulk confirm: %d pending, %d confirmed, %d left pending in %d ms%n",
+                PENDING, result.getConfirmed(), result.getRemainingPending(), elapsedMillis);
+
+        // Then
+        assertThat(result.getConfirmed()).isEqualTo(CAPACITY);
+        assertThat(result.getRemainingPending()).isEqualTo(PENDING - CAPACITY);
+        assertThat(rsvpRepository.countConfirmedRSVPsByEventId(savedEvent.getId())).isEqualTo(CAPACITY);
+        assertThat(rsvpRepository.countByEventIdAndStatus(savedEvent.getId(), RSVPStatus.PENDING))
+                .isEqualTo(PENDING - CAPACITY);
+
+        // The oldest RSVPs were the ones confirmed
+        Long oldestPending = jdbcTemplate.queryForObject(
+                "SELECT MIN(r.rsvp_date) FROM rsvp r WHERE r.event_id = ? AND r.status = 'PENDING'",
+                (rs, rowNum) -> rs.getTimestamp(1).getTime(), savedEvent.getId());
+        Long newestConfirmed = jdbcTemplate.queryForObject(
+                "SELECT MAX(r.rsvp_date) FROM rsvp r WHERE r.event_id = ? AND r.status = 'CONFIRMED'",
+                (rs, rowNum) -> rs.getTimestamp(1).getTime(), savedEvent.getId());
+        assertThat(newestConfirmed).isLessThanOrEqualTo(oldestPending);
+    }
+
+    // Plain JDBC batches keep the 20k seed rows out of the measurement
+    private void seedPendingRSVPs(Long eventId) {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < PENDING; i++) {
+            users.add(new Object[]{"bulkatt" + i, "bulkatt" + i + "@example.com", "password", UserRole.ATTENDEE.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, ?)", users);
+
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username LIKE 'bulkatt%' ORDER BY id", Long.class);
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        List<Object[]> rsvps = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            rsvps.add(new Object[]{userIds.get(i), eventId, RSVPStatus.PENDING.name(),
+                    Timestamp.valueOf(base.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rsvp (user_id, event_id, status, rsvp_date) VALUES (?, ?, ?, ?)", rsvps);
+    }
+}
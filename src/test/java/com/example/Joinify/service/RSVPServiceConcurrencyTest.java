@@ -0,0 +1,170 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.RSVP;
+import com.example.Joinify.entity.RSVPStatus;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.RSVPRepository;
+import com.example.Joinify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.Joinify.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: every thread has to commit on its own for the race to be real.
+// The seat ledger is switched on, so the burst hands the event over to it partway through.
+@SpringBootTest(properties = "joinify.seat-ledger.enabled=true")
+public class RSVPServiceConcurrencyTest {
+
+    private static final int CAPACITY = 50;
+    private static final int ATTENDEES = 400;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RSVPRepository rsvpRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    private User organizer;
+    private Event event;
+    private final List<User> attendees = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        organizer = userRepository.save(newUser("stressorg", UserRole.ORGANIZER));
+
+        for (int i = 0; i < ATTENDEES; i++) {
+            attendees.add(userRepository.save(newUser("stressatt" + i, UserRole.ATTENDEE)));
+        }
+
+        Event newEvent = new Event();
+        newEvent.setTitle("Ticket Drop");
+        newEvent.setDescription("Seat reservation stress test");
+        newEvent.setDateTime(LocalDateTime.now().plusDays(7));
+        newEvent.setLocation("Stress Arena");
+        newEvent.setMaxCapacity(CAPACITY);
+        newEvent.setImageUrl("https://example.com/stress.png");
+        newEvent.setOrganizer(organizer);
+        event = eventRepository.save(newEvent);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        rsvpRepository.deleteAll(rsvpRepository.findByEventId(event.getId()));
+        eventRepository.deleteById(event.getId());
+        userRepository.deleteAll(attendees);
+        userRepository.delete(organizer);
+    }
+
+    @Test
+    public void testConcurrentRSVPsNeverOversell() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(ATTENDEES);
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger waitlisted = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        for (User attendee : attendees) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    RSVP rsvp = rsvpService.createRSVP(attendee.getId(), event.getId());
+                    if (rsvp.getStatus() == RSVPStatus.CONFIRMED) {
+                        confirmed.incrementAndGet();
+                    } else {
+                        waitlisted.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("Seat reservation: %d requests on %d threads in %.3fs (%.0f req/s), %d confirmed, %d waitlisted, %d failed%n",
+                ATTENDEES, THREADS, seconds, ATTENDEES / seconds, confirmed.get(), waitlisted.get(), failed.get());
+
+        assertThat(failed.get()).isZero();
+        assertThat(confirmed.get()).isEqualTo(CAPACITY);
+        assertThat(waitlisted.get()).isEqualTo(ATTENDEES - CAPACITY);
+        assertThat(rsvpRepository.countConfirmedRSVPsByEventId(event.getId())).isEqualTo(CAPACITY);
+
+        // The burst is enough to hand the event to the seat ledger; write its counter back first
+        seatLedger.flush();
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getConfirmedCount()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    public void testConcurrentCancellationsPromoteWaitlistInOrder() throws InterruptedException {
+        for (User attendee : attendees) {
+            rsvpService.createRSVP(attendee.getId(), event.getId());
+        }
+
+        // Every confirmed attendee cancels at once; each freed seat must go to a different waitlisted user
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CAPACITY);
+        AtomicInteger failed = new AtomicInteger();
+
+        for (User attendee : attendees.subList(0, CAPACITY)) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    rsvpService.cancelRSVP(attendee.getId(), event.getId());
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        executor.shutdown();
+
+        assertThat(failed.get()).isZero();
+        assertThat(rsvpRepository.countConfirmedRSVPsByEventId(event.getId())).isEqualTo(CAPACITY);
+        // The next CAPACITY people in line were promoted, everybody after them is still waiting
+        for (User attendee : attendees.subList(CAPACITY, 2 * CAPACITY)) {
+            assertThat(rsvpService.getRSVPStatus(attendee.getId(), event.getId())).contains(RSVPStatus.CONFIRMED);
+        }
+        for (User attendee : attendees.subList(2 * CAPACITY, ATTENDEES)) {
+            assertThat(rsvpService.getRSVPStatus(attendee.getId(), event.getId())).contains(RSVPStatus.WAITLISTED);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.RSVP;
+import com.example.Joinify.entity.RSVPStatus;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static com.example.Joinify.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest
+@Transactional
+public class SeatClaimRaceTest {
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Lets a test play the seat ledger taking an event over mid-claim
+    @MockitoSpyBean
+    private SeatLedger seatLedger;
+
+    @Test
+    public void testRowClaimIsUndoneWhenTheLedgerTakesOverFull() {
+        // Given an event with room on its row
+        User organizer = userRepository.save(newUser("raceorg", UserRole.ORGANIZER));
+        User attendee = userRepository.save(newUser("raceatt", UserRole.ATTENDEE));
+        Event event = new Event();
+        event.setTitle("Takeover Race");
+        event.setDateTime(LocalDateTime.now().plusDays(2));
+        event.setLocation("Race Hall");
+        event.setMaxCapacity(5);
+        event.setImageUrl("https://example.com/race.png");
+        event.setOrganizer(organizer);
+        event = eventRepository.saveAndFlush(event);
+
+        // When the ledger owns the event by the time the row claim returns, and its count is full
+        doReturn(false).when(seatLedger).adoptIfOwned(eq(event.getId()), anyInt());
+        RSVP rsvp = rsvpService.createRSVP(attendee.getId(), event.getId(), 2);
+
+        // Then the attendee waits and the row doesn't keep the seats nobody holds
+        assertThat(rsvp.getStatus()).isEqualTo(RSVPStatus.WAITLISTED);
+        assertThat(jdbcTemplate.queryForObject("SELECT confirmed_count FROM event WHERE id = ?", Integer.class,
+                event.getId())).isZero();
+    }
+}
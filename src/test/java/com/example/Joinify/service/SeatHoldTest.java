@@ -0,0 +1,130 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.dto.BulkConfirmResponse;
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.RSVP;
+import com.example.Joinify.entity.RSVPStatus;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.exception.BadRequestException;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.example.Joinify.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+public class SeatHoldTest {
+
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testLapsedHoldGoesToWaitlist() {
+        // Given a paid event with a single seat
+        User organizer = userRepository.save(newUser("holdorg", UserRole.ORGANIZER));
+        User first = userRepository.save(newUser("holdfirst", UserRole.ATTENDEE));
+        User second = userRepository.save(newUser("holdsecond", UserRole.ATTENDEE));
+        Event event = eventRepository.saveAndFlush(newPaidEvent(organizer));
+
+        // When
+        RSVP held = rsvpService.createRSVP(first.getId(), event.getId());
+        RSVP waiting = rsvpService.createRSVP(second.getId(), event.getId());
+
+        // Then the seat is held, not confirmed, and the next attendee waits
+        assertThat(held.getStatus()).isEqualTo(RSVPStatus.HELD);
+        assertThat(held.getHoldExpiresAt()).isAfter(LocalDateTime.now());
+        assertThat(waiting.getStatus()).isEqualTo(RSVPStatus.WAITLISTED);
+
+        // A live hold doesn't expire
+        assertThat(rsvpService.expireHold(first.getId(), event.getId())).isFalse();
+
+        // Once the hold lapses its seat goes to the waitlist, held again for checkout
+        jdbcTemplate.update("UPDATE rsvp SET hold_expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusSeconds(1), held.getId());
+        assertThat(rsvpService.expireHold(first.getId(), event.getId())).isTrue();
+        assertThat(rsvpService.getRSVPStatus(first.getId(), event.getId())).isEmpty();
+        assertThat(rsvpService.getRSVPStatus(second.getId(), event.getId())).contains(RSVPStatus.HELD);
+
+        // Checkout confirms the seat without claiming another one
+        RSVP confirmed = rsvpService.confirmHold(second.getId(), event.getId());
+        assertThat(confirmed.getStatus()).isEqualTo(RSVPStatus.CONFIRMED);
+        assertThat(confirmed.getHoldExpiresAt()).isNull();
+        // Read past the persistence context, the counter is only changed by bulk updates
+        assertThat(jdbcTemplate.queryForObject("SELECT confirmed_count FROM event WHERE id = ?", Integer.class, event.getId()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testCheckoutAfterHoldLapsedIsRejected() {
+        User organizer = userRepository.save(newUser("lateorg", UserRole.ORGANIZER));
+        User attendee = userRepository.save(newUser("lateatt", UserRole.ATTENDEE));
+        Event event = eventRepository.saveAndFlush(newPaidEvent(organizer));
+
+        RSVP held = rsvpService.createRSVP(attendee.getId(), event.getId());
+        jdbcTemplate.update("UPDATE rsvp SET hold_expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusSeconds(1), held.getId());
+
+        assertThatThrownBy(() -> rsvpService.confirmHold(attendee.getId(), event.getId()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    public void testBulkConfirmHoldsSeatsOnPaidEvents() {
+        // Given a paid event with two seats and three people pending
+        User organizer = userRepository.save(newUser("bulkholdorg", UserRole.ORGANIZER));
+        Event newEvent = newPaidEvent(organizer);
+        newEvent.setMaxCapacity(2);
+        Event event = eventRepository.saveAndFlush(newEvent);
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < 3; i++) {
+            User attendee = userRepository.saveAndFlush(newUser("bulkholdatt" + i, UserRole.ATTENDEE));
+            jdbcTemplate.update("INSERT INTO rsvp (user_id, event_id, status, party_size, rsvp_date) VALUES (?, ?, ?, 1, ?)",
+                    attendee.getId(), event.getId(), RSVPStatus.PENDING.name(), base.plusMinutes(i));
+        }
+
+        // When
+        BulkConfirmResponse result = rsvpService.confirmPendingRSVPs(event.getId());
+
+        // Then the two oldest get held seats to pay for, not confirmed ones
+        assertThat(result.getConfirmed()).isZero();
+        assertThat(result.getHeld()).isEqualTo(2);
+        assertThat(result.getRemainingPending()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rsvp WHERE event_id = ? AND status = 'HELD' " +
+                "AND hold_expires_at > ?", Integer.class, event.getId(), LocalDateTime.now())).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT confirmed_count FROM event WHERE id = ?", Integer.class, event.getId()))
+                .isEqualTo(2);
+    }
+
+    private Event newPaidEvent(User organizer) {
+        Event event = new Event();
+        event.setTitle("Paid Workshop");
+        event.setDescription("One paid seat");
+        event.setDateTime(LocalDateTime.now().plusDays(3));
+        event.setLocation("Checkout Hall");
+        event.setMaxCapacity(1);
+        event.setImageUrl("https://example.com/paid.png");
+        event.setFee(new BigDecimal("250.00"));
+        event.setOrganizer(organizer);
+        return event;
+    }
+}
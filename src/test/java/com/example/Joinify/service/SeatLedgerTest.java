@@ -0,0 +1,90 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.Event;
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.EventRepository;
+import com.example.Joinify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.Joinify.TestUsers.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: releases only take effect once their own transaction commits
+@SpringBootTest(properties = "joinify.seat-ledger.enabled=true")
+public class SeatLedgerTest {
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User organizer;
+    private Event event;
+
+    @BeforeEach
+    public void setUp() {
+        organizer = userRepository.save(newUser("ledgerorg", UserRole.ORGANIZER));
+        Event newEvent = new Event();
+        newEvent.setTitle("Ledger Night");
+        newEvent.setDateTime(LocalDateTime.now().plusDays(3));
+        newEvent.setLocation("Ledger Hall");
+        newEvent.setMaxCapacity(1);
+        newEvent.setImageUrl("https://example.com/ledger.png");
+        newEvent.setOrganizer(organizer);
+        event = eventRepository.save(newEvent);
+
+        seatLedger.enable(event.getId());
+        seatLedger.flush();
+        assertThat(seatLedger.owns(event.getId())).isTrue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        seatLedger.remove(List.of(event.getId()));
+        eventRepository.deleteById(event.getId());
+        userRepository.delete(organizer);
+    }
+
+    @Test
+    public void testReleasedSeatFreesUpOnlyOnCommit() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThat(seatLedger.tryReserve(event.getId(), 1)).isTrue();
+
+        // A seat given back in a transaction that rolls back was never free
+        transaction.executeWithoutResult(status -> {
+            assertThat(seatLedger.release(event.getId(), 1)).isTrue();
+            assertThat(seatLedger.tryReserve(event.getId(), 1)).isFalse();
+            status.setRollbackOnly();
+        });
+        assertThat(seatLedger.confirmedCount(event.getId())).isEqualTo(1);
+
+        transaction.executeWithoutResult(status -> seatLedger.release(event.getId(), 1));
+        assertThat(seatLedger.confirmedCount(event.getId())).isZero();
+        assertThat(seatLedger.tryReserve(event.getId(), 1)).isTrue();
+    }
+
+    @Test
+    public void testDeletedEventIsNoLongerCounted() {
+        seatLedger.remove(List.of(event.getId()));
+
+        assertThat(seatLedger.owns(event.getId())).isFalse();
+        assertThat(seatLedger.confirmedCount(event.getId())).isNull();
+    }
+}
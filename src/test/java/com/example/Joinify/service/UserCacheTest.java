@@ -0,0 +1,108 @@
+package com.example.Joinify.service;
+
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: only committed reads are cached
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class UserCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User newUser = new User();
+        newUser.setUsername("cacheduser");
+        newUser.setEmail("cacheduser@example.com");
+        newUser.setPassword(passwordEncoder.encode("password123"));
+        newUser.setRole(UserRole.ATTENDEE);
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (userRepository.existsById(user.getId())) {
+            userService.deleteUser(user.getId());
+        }
+    }
+
+    @Test
+    public void testRepeatLookupsSkipTheDatabase() {
+        userService.getUserByUsername("cacheduser");
+
+        statistics.clear();
+        assertThat(userService.getUserByUsername("cacheduser")).isPresent();
+        assertThat(userService.getUserById(user.getId()).getUsername()).isEqualTo("cacheduser");
+        UserDetails details = userDetailsService.loadUserByUsername("cacheduser");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(details.getAuthorities()).extracting("authority").containsExactly("ROLE_ATTENDEE");
+        assertThat(userCache.hitRatio()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testCallersCannotChangeTheCachedUser() {
+        userService.getUserByUsername("cacheduser");
+
+        // Controllers blank the password before answering
+        userService.getUserById(user.getId()).setPassword(null);
+
+        assertThat(userService.getUserById(user.getId()).getPassword()).isNotNull();
+        assertThat(userDetailsService.loadUserByUsername("cacheduser").getPassword()).isNotNull();
+    }
+
+    @Test
+    public void testPasswordChangeDropsTheCachedUser() {
+        String oldHash = userService.getUserByUsername("cacheduser").orElseThrow().getPassword();
+
+        userService.updateUserPassword(user.getId(), "newpassword123");
+
+        String newHash = userService.getUserByUsername("cacheduser").orElseThrow().getPassword();
+        assertThat(newHash).isNotEqualTo(oldHash);
+        assertThat(passwordEncoder.matches("newpassword123", newHash)).isTrue();
+    }
+
+    @Test
+    public void testDeletedUserIsNotServedFromMemory() {
+        userService.getUserByUsername("cacheduser");
+
+        userService.deleteUser(user.getId());
+
+        assertThat(userService.getUserByUsername("cacheduser")).isEmpty();
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.Joinify.service;
 
 import com.example.Joinify.dto.RegisterRequest;
+import com.example.Joinify.entity.Event;
 import com.example.Joinify.entity.User;
 import com.example.Joinify.entity.UserRole;
+import com.example.Joinify.repository.EventRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -18,6 +23,15 @@ public class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RSVPService rsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     public void testRegisterUser() {
         // Given
@@ -61,4 +75,64 @@ public class UserServiceTest {
             userService.registerUser(request2);
         });
     }
+
+    @Test
+    public void testDeleteUserGivesTheirSeatsBack() {
+        // Given an event where the user holds a party of three and somebody else one seat
+        User organizer = userService.registerUser(registerRequest("seatsorg", UserRole.ORGANIZER));
+        User leaving = userService.registerUser(registerRequest("seatsleaving", UserRole.ATTENDEE));
+        User staying = userService.registerUser(registerRequest("seatsstaying", UserRole.ATTENDEE));
+        Event event = new Event();
+        event.setTitle("Seat Return");
+        event.setDateTime(LocalDateTime.now().plusDays(2));
+        event.setLocation("Return Hall");
+        event.setMaxCapacity(10);
+        event.setImageUrl("https://example.com/return.png");
+        event.setOrganizer(organizer);
+        event = eventRepository.saveAndFlush(event);
+        rsvpService.createRSVP(leaving.getId(), event.getId(), 3);
+        rsvpService.createRSVP(staying.getId(), event.getId());
+        assertThat(confirmedCount(event.getId())).isEqualTo(4);
+
+        // When
+        userService.deleteUser(leaving.getId());
+
+        // Then only their seats are freed
+        assertThat(confirmedCount(event.getId())).isEqualTo(1);
+    }
+
+    @Test
+    public void testDeleteUserNeverTakesTheCounterBelowZero() {
+        User organizer = userService.registerUser(registerRequest("driftorg", UserRole.ORGANIZER));
+        User leaving = userService.registerUser(registerRequest("driftleaving", UserRole.ATTENDEE));
+        Event event = new Event();
+        event.setTitle("Drifted Counter");
+        event.setDateTime(LocalDateTime.now().plusDays(2));
+        event.setLocation("Drift Hall");
+        event.setMaxCapacity(10);
+        event.setImageUrl("https://example.com/drift.png");
+        event.setOrganizer(organizer);
+        event = eventRepository.saveAndFlush(event);
+        rsvpService.createRSVP(leaving.getId(), event.getId(), 3);
+        // The counter has drifted below the party size
+        jdbcTemplate.update("UPDATE event SET confirmed_count = 1 WHERE id = ?", event.getId());
+
+        userService.deleteUser(leaving.getId());
+
+        assertThat(confirmedCount(event.getId())).isZero();
+    }
+
+    private RegisterRequest registerRequest(String username, UserRole role) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("password123");
+        request.setRole(role);
+        return request;
+    }
+
+    // Read past the persistence context, the counter is only changed by bulk updates
+    private int confirmedCount(Long eventId) {
+        return jdbcTemplate.queryForObject("SELECT confirmed_count FROM event WHERE id = ?", Integer.class, eventId);
+    }
 }
@@ -0,0 +1,171 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GeoGridTest {
+
+    private static final double KM_PER_DEGREE = 6371.0 * Math.PI / 180;
+
+    @Test
+    public void testNearestFirstWithinTheRadius() {
+        GeoGrid grid = new GeoGrid(0.1);
+        grid.put(1, 12.9716, 77.5946, 100);  // Bangalore centre
+        grid.put(2, 12.9352, 77.6245, 100);  // Koramangala, ~5 km
+        grid.put(3, 13.1986, 77.7066, 100);  // Airport, ~28 km
+        grid.put(4, 18.5204, 73.8567, 100);  // Pune, ~840 km
+        grid.put(5, 12.9720, 77.5950, 10);   // Started already
+
+        List<GeoGrid.Hit> hits = grid.nearest(12.9716, 77.5946, 50, GeoGrid.Box.WORLD, 50,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 10);
+        assertThat(ids(hits)).containsExactly(1L, 2L, 3L);
+        assertThat(hits.get(1).getDistanceKm()).isBetween(5.0, 5.5);
+        assertThat(hits.get(2).getDistanceKm()).isBetween(27.0, 29.0);
+
+        assertThat(ids(grid.nearest(12.9716, 77.5946, 10, GeoGrid.Box.WORLD, 50,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 10))).containsExactly(1L, 2L);
+        assertThat(ids(grid.nearest(12.9716, 77.5946, 2000, GeoGrid.Box.WORLD, 50,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 2))).containsExactly(1L, 2L);
+        assertThat(ids(grid.nearest(12.9716, 77.5946, 2000, GeoGrid.Box.WORLD, 0,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 10))).containsExactly(1L, 5L, 2L, 3L, 4L);
+
+        // Only what's inside the box
+        GeoGrid.Box south = new GeoGrid.Box(12.90, 77.55, 13.00, 77.65);
+        assertThat(ids(grid.nearest(12.95, 77.60, 2000, south, 50,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    public void testMovesRemovalsAndTheAntimeridian() {
+        GeoGrid grid = new GeoGrid(0.5);
+        grid.put(1, -17.7, 179.9, 100);
+        grid.put(2, -17.7, -179.9, 100);
+        grid.put(3, -17.7, 178.0, 100);
+
+        // Fiji straddles the antimeridian; the point across it is ~21 km away
+        List<GeoGrid.Hit> hits = grid.nearest(-17.7, 179.9, 100, GeoGrid.Box.WORLD, 0,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 10);
+        assertThat(ids(hits)).containsExactly(1L, 2L);
+        assertThat(hits.get(1).getDistanceKm()).isLessThan(25.0);
+
+        grid.put(1, 10, 10, 100);
+        grid.remove(2);
+        assertThat(grid.nearest(-17.7, 179.9, 100, GeoGrid.Box.WORLD, 0,
+                Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 10)).isEmpty();
+        assertThat(grid.size()).isEqualTo(2);
+
+        assertThat(grid.removeStartedBy(100)).isEqualTo(2);
+        assertThat(grid.size()).isZero();
+    }
+
+    @Test
+    public void testMatchesABruteForceScan() {
+        Random random = new Random(11);
+        GeoGrid grid = new GeoGrid(0.05);
+        Map<Long, double[]> points = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(3_000);
+            if (random.nextInt(5) == 0) {
+                grid.remove(id);
+                points.remove(id);
+            } else {
+                double lat = 52 + random.nextGaussian() * 0.3;
+                double lng = 13 + random.nextGaussian() * 0.5;
+                long time = random.nextInt(1_000);
+                grid.put(id, lat, lng, time);
+                points.put(id, new double[] { lat, lng, time });
+            }
+        }
+
+        for (int query = 0; query < 200; query++) {
+            double lat = 52 + random.nextGaussian() * 0.3;
+            double lng = 13 + random.nextGaussian() * 0.5;
+            double radius = 1 + random.nextInt(60);
+            long notBefore = random.nextInt(1_000);
+            int limit = 1 + random.nextInt(30);
+            // Page through everything and compare with the full ranking
+            List<Long> paged = new ArrayList<>();
+            double afterKm = Double.NEGATIVE_INFINITY;
+            long afterId = Long.MIN_VALUE;
+            List<GeoGrid.Hit> page;
+            do {
+                page = grid.nearest(lat, lng, radius, GeoGrid.Box.WORLD, notBefore, afterKm, afterId, limit);
+                for (GeoGrid.Hit hit : page) {
+                    paged.add(hit.getId());
+                    afterKm = hit.getDistanceKm();
+                    afterId = hit.getId();
+                }
+            } while (page.size() == limit);
+
+            assertThat(paged).isEqualTo(scan(points, lat, lng, radius, notBefore));
+        }
+    }
+
+    @Test
+    public void testSearchLatencyAtOneMillionEvents() {
+        Random random = new Random(42);
+        // Events cluster around cities of very different sizes
+        int cities = 300;
+        double[][] centres = new double[cities][];
+        for (int c = 0; c < cities; c++) {
+            centres[c] = new double[] { -50 + random.nextDouble() * 110, -170 + random.nextDouble() * 340 };
+        }
+        GeoGrid grid = new GeoGrid(0.05);
+        int events = 1_000_000;
+        for (long id = 1; id <= events; id++) {
+            double[] centre = centres[(int) Math.min(cities - 1, Math.floor(Math.pow(cities, random.nextDouble())) - 1)];
+            grid.put(id, centre[0] + random.nextGaussian() * 0.15, centre[1] + random.nextGaussian() * 0.2,
+                    random.nextInt(1_000));
+        }
+
+        int queries = 5_000;
+        long[] nanos = new long[queries];
+        for (int i = 0; i < queries + 1_000; i++) {
+            double[] centre = centres[random.nextInt(cities)];
+            double lat = centre[0] + random.nextGaussian() * 0.1;
+            double lng = centre[1] + random.nextGaussian() * 0.1;
+            double radius = new double[] { 5, 25, 100, 500 }[random.nextInt(4)];
+            long start = System.nanoTime();
+            grid.nearest(lat, lng, radius, GeoGrid.Box.WORLD, 500, Double.NEGATIVE_INFINITY, Long.MIN_VALUE, 51);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 1_000) {
+                nanos[i - 1_000] = elapsed;
+            }
+        }
+        Arrays.sort(nanos);
+        long p50 = nanos[queries / 2];
+        long p99 = nanos[queries * 99 / 100];
+
+        System.out.printf("Nearby search over %d events: p50 %.3f ms, p99 %.3f ms%n", events, p50 / 1e6, p99 / 1e6);
+        assertThat(p99).isLessThan(10_000_000L);
+    }
+
+    private static List<Long> ids(List<GeoGrid.Hit> hits) {
+        return hits.stream().map(GeoGrid.Hit::getId).toList();
+    }
+
+    // Everything in range that hasn't started, nearest first, by the grid's own distance
+    private static List<Long> scan(Map<Long, double[]> points, double lat, double lng, double radius, long notBefore) {
+        double lngKm = KM_PER_DEGREE * Math.cos(Math.toRadians(lat));
+        List<double[]> matches = new ArrayList<>();
+        points.forEach((id, point) -> {
+            double dy = (point[0] - lat) * KM_PER_DEGREE;
+            double dx = (point[1] - lng) * lngKm;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            if (point[2] > notBefore && distance <= radius) {
+                matches.add(new double[] { distance, id });
+            }
+        });
+        matches.sort(Comparator.<double[]>comparingDouble(m -> m[0]).thenComparingDouble(m -> m[1]));
+        return matches.stream().map(m -> (long) m[1]).toList();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    public void testFiresEveryTimeout() throws InterruptedException {
+        int timeouts = 100_000;
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", 10, 64, timeouts, Runnable::run);
+        wheel.start();
+        try {
+            CountDownLatch fired = new CountDownLatch(timeouts);
+            AtomicInteger early = new AtomicInteger();
+            for (int i = 0; i < timeouts; i++) {
+                long delay = i % 1000;
+                long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                wheel.schedule(() -> {
+                    if (System.nanoTime() < due) {
+                        early.incrementAndGet();
+                    }
+                    fired.countDown();
+                }, delay);
+            }
+
+            assertThat(fired.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(early.get()).isZero();
+            assertThat(wheel.pending()).isZero();
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    public void testRejectsTimeoutsPastItsCap() {
+        HashedTimingWheel wheel = new HashedTimingWheel("capped-wheel", 10, 64, 2, Runnable::run);
+
+        assertThat(wheel.schedule(() -> { }, 1000)).isNotNull();
+        assertThat(wheel.schedule(() -> { }, 1000)).isNotNull();
+        assertThat(wheel.schedule(() -> { }, 1000)).isNull();
+        assertThat(wheel.pending()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvertedIndexTest {
+
+    private static final int TITLE = 0;
+    private static final int LOCATION = 1;
+
+    @Test
+    public void testMatchAllAnyAndPrefix() {
+        InvertedIndex index = new InvertedIndex(2);
+        index.put(1, "Java Conference", "Bangalore");
+        index.put(2, "Spring Boot Workshop", "Pune");
+        index.put(3, "Java and Spring meetup", "Bangalore");
+
+        assertThat(ids(index.search("java spring", true, Double.POSITIVE_INFINITY, 0, 10, TITLE)))
+                .containsExactly(3L);
+        assertThat(ids(index.search("java spring", false, Double.POSITIVE_INFINITY, 0, 10, TITLE)))
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+        // The last word is matched as typed so far, case aside
+        assertThat(ids(index.search("CONF", true, Double.POSITIVE_INFINITY, 0, 10, TITLE))).containsExactly(1L);
+        assertThat(ids(index.search("java conf", true, Double.POSITIVE_INFINITY, 0, 10, TITLE))).containsExactly(1L);
+        assertThat(ids(index.search("conf java", true, Double.POSITIVE_INFINITY, 0, 10, TITLE))).isEmpty();
+        // Fields are searched separately
+        assertThat(ids(index.search("bangalore", true, Double.POSITIVE_INFINITY, 0, 10, TITLE))).isEmpty();
+        assertThat(ids(index.search("bangalore", true, Double.POSITIVE_INFINITY, 0, 10, LOCATION)))
+                .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("  !! ", false, Double.POSITIVE_INFINITY, 0, 10, TITLE)).isEmpty();
+    }
+
+    @Test
+    public void testFuzzyMatchesMisspellings() {
+        InvertedIndex index = new InvertedIndex(2);
+        index.put(1, "Java Conference", "Bangalore");
+        index.put(2, "Conference on Confluence", "Pune");
+        index.put(3, "Data Summit", "Bangkok");
+
+        assertThat(index.search("confrence", true, Double.POSITIVE_INFINITY, 0, 10, TITLE)).isEmpty();
+        assertThat(ids(index.search("java confrence", true, true, Double.POSITIVE_INFINITY, 0, 10, TITLE)))
+                .containsExactly(1L);
+        assertThat(ids(index.search("bangalor", true, true, Double.POSITIVE_INFINITY, 0, 10, LOCATION)))
+                .containsExactly(1L);
+        // Short words have to be spelled right
+        assertThat(index.search("jav", true, true, Double.POSITIVE_INFINITY, 0, 10, TITLE)).hasSize(1);
+        assertThat(index.search("dta summit", true, true, Double.POSITIVE_INFINITY, 0, 10, TITLE)).isEmpty();
+
+        // An exact match outranks a misspelled one
+        index.put(4, "Conferense", "Online");
+        List<InvertedIndex.Hit> hits = index.search("conferense", true, true, Double.POSITIVE_INFINITY, 0, 10, TITLE);
+        assertThat(hits.get(0).getId()).isEqualTo(4L);
+        assertThat(ids(hits)).contains(1L, 2L);
+    }
+
+    @Test
+    public void testBm25Ranking() {
+        InvertedIndex index = new InvertedIndex(1);
+        index.put(1, "rust meetup for beginners and experienced rust developers");
+        index.put(2, "rust rust rust");
+        index.put(3, "go meetup");
+        index.put(4, "python meetup");
+
+        // More occurrences in a shorter title rank higher
+        assertThat(ids(index.search("rust", true, Double.POSITIVE_INFINITY, 0, 10, 0))).containsExactly(2L, 1L);
+        // A rare term outweighs a common one
+        List<InvertedIndex.Hit> hits = index.search("go meetup", false, Double.POSITIVE_INFINITY, 0, 10, 0);
+        assertThat(hits.get(0).getId()).isEqualTo(3L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    public void testUpdatesAndRemovals() {
+        InvertedIndex index = new InvertedIndex(1);
+        index.put(5, "Old Title");
+        index.put(2, "Another Title");
+        assertThat(ids(index.search("title", true, Double.POSITIVE_INFINITY, 0, 10, 0))).hasSize(2);
+
+        index.put(5, "New Name");
+        assertThat(ids(index.search("old", true, Double.POSITIVE_INFINITY, 0, 10, 0))).isEmpty();
+        assertThat(ids(index.search("new", true, Double.POSITIVE_INFINITY, 0, 10, 0))).containsExactly(5L);
+
+        index.remove(2);
+        assertThat(ids(index.search("title", true, Double.POSITIVE_INFINITY, 0, 10, 0))).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPagesFollowTheCursor() {
+        InvertedIndex index = new InvertedIndex(1);
+        for (long id = 1; id <= 25; id++) {
+            index.put(id, "Weekly Meetup" + " extra".repeat((int) (id % 4)));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        double afterScore = Double.POSITIVE_INFINITY;
+        long afterId = Long.MIN_VALUE;
+        List<InvertedIndex.Hit> page;
+        do {
+            page = index.search("meetup", true, afterScore, afterId, 10, 0);
+            for (InvertedIndex.Hit hit : page) {
+                seen.add(hit.getId());
+                afterScore = hit.getScore();
+                afterId = hit.getId();
+            }
+        } while (page.size() == 10);
+
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates();
+        assertThat(seen).containsExactlyElementsOf(ids(index.search("meetup", true, Double.POSITIVE_INFINITY,
+                Long.MIN_VALUE, 100, 0)));
+    }
+
+    @Test
+    public void testMatchingListsIdsUpToTheLimit() {
+        InvertedIndex index = new InvertedIndex(2);
+        index.put(4, "Jazz Night", "Pune");
+        index.put(1, "Tech Talk", "Jazz Club");
+        index.put(3, "Late Jazz Session", "Bangalore");
+        index.put(2, "Jazz Brunch", "Pune");
+
+        assertThat(index.matching("jazz", true, 10, 0)).containsExactly(2L, 3L, 4L);
+        assertThat(index.matching("jazz", true, 2, 0)).containsExactly(2L, 3L);
+        assertThat(index.matching("jazz pu", true, 10, 0, 1)).containsExactly(2L, 4L);
+        assertThat(index.matching("jazz opera", true, 10, 0)).isEmpty();
+        assertThat(index.matching("jazz opera", false, 10, 0)).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    public void testMatchesAgreesWithMatching() {
+        InvertedIndex index = new InvertedIndex(2);
+        index.put(1, "Late Jazz Session", "Jazz Club");
+        index.put(2, "Jazzercise", "Pune");
+
+        assertThat(index.matches(1, "session jazz", true, 0)).isTrue();
+        assertThat(index.matches(1, "jazz sess", true, 0)).isTrue();
+        // Only the last word may be a prefix, and words match whole rather than as substrings
+        assertThat(index.matches(1, "sess jazz", true, 0)).isFalse();
+        assertThat(index.matches(2, "jazz pune", true, 0)).isFalse();
+        assertThat(index.matches(2, "jazzercise pu", true, 0, 1)).isTrue();
+        assertThat(index.matches(1, "club opera", false, 1)).isTrue();
+        assertThat(index.matches(3, "jazz", true, 0)).isFalse();
+    }
+
+    @Test
+    public void testSearchLatencyAtOneMillionEvents() {
+        int events = 1_000_000;
+        Random random = new Random(42);
+        String[] words = new String[5_000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = word(random);
+        }
+        String[] cities = new String[500];
+        for (int i = 0; i < cities.length; i++) {
+            cities[i] = word(random) + " " + word(random);
+        }
+
+        InvertedIndex index = new InvertedIndex(2);
+        for (long id = 1; id <= events; id++) {
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < 4; w++) {
+                title.append(words[zipf(random, words.length)]).append(' ');
+            }
+            index.put(id, title.toString(), cities[random.nextInt(cities.length)]);
+        }
+
+        int queries = 2_000;
+        long[] nanos = new long[queries];
+        for (int i = 0; i < queries + 500; i++) {
+            String first = words[zipf(random, words.length)];
+            String second = words[zipf(random, words.length)];
+            // Two words, the second half typed
+            String query = first + " " + second.substring(0, Math.max(2, second.length() - 2));
+            long start = System.nanoTime();
+            index.search(query, true, Double.POSITIVE_INFINITY, Long.MIN_VALUE, 51, TITLE);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 500) {
+                nanos[i - 500] = elapsed;
+            }
+        }
+        Arrays.sort(nanos);
+        long p50 = nanos[queries / 2];
+        long p99 = nanos[queries * 99 / 100];
+
+        // The slowest queries pair the commonest words and match a quarter of the catalogue,
+        // every one of which has to be scored
+        System.out.printf("Title search over %d events: p50 %.3f ms, p99 %.3f ms%n", events, p50 / 1e6, p99 / 1e6);
+        assertThat(p50).isLessThan(5_000_000L);
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getId).toList();
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[5 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    // Skewed towards the first words, as real titles are
+    private static int zipf(Random random, int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.pow(n, random.nextDouble())) - 1);
+    }
+}
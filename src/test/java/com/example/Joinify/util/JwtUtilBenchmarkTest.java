@@ -0,0 +1,132 @@
+package com.example.Joinify.util;
+
+import com.example.Joinify.entity.User;
+import com.example.Joinify.entity.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// No Spring context needed; JwtUtil is set up the way the container would
+public class JwtUtilBenchmarkTest {
+
+    private static final String SECRET = "mySecretKeyForJoinifyEventManagementSystemApplication2024";
+    private static final long EXPIRATION = 86_400_000L;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    public void testValidateThroughput() {
+        JwtUtil uncached = newJwtUtil(0);
+        JwtUtil cached = newJwtUtil(10_000);
+        String token = cached.generateToken(newUser());
+
+        // Before: new key and parser per call, token parsed three times per validation
+        for (int i = 0; i < WARMUP; i++) {
+            validateTheOldWay(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            validateTheOldWay(token);
+        }
+        double oldOpsPerSec = ITERATIONS / ((System.nanoTime() - start) / 1e9);
+
+        // After: shared key and parser, one parse per validation
+        for (int i = 0; i < WARMUP; i++) {
+            uncached.parseClaims(token);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            uncached.parseClaims(token);
+        }
+        double singleParseOpsPerSec = ITERATIONS / ((System.nanoTime() - start) / 1e9);
+
+        // After, repeat token: digest lookup, no parse or HMAC
+        for (int i = 0; i < WARMUP; i++) {
+            cached.parseClaims(token);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            cached.parseClaims(token);
+        }
+        double cachedOpsPerSec = ITERATIONS / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("JWT validation, %d tokens: before %.0f ops/s, single parse %.0f ops/s, " +
+                        "verified-token cache %.0f ops/s%n",
+                ITERATIONS, oldOpsPerSec, singleParseOpsPerSec, cachedOpsPerSec);
+
+        assertThat(singleParseOpsPerSec).isGreaterThan(oldOpsPerSec);
+        assertThat(cachedOpsPerSec).isGreaterThan(singleParseOpsPerSec);
+    }
+
+    @Test
+    public void testCachedTokenKeepsItsClaims() {
+        JwtUtil jwtUtil = newJwtUtil(10_000);
+        String token = jwtUtil.generateToken(newUser());
+
+        Claims first = jwtUtil.parseClaims(token);
+        Claims second = jwtUtil.parseClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSubject()).isEqualTo("benchuser");
+        assertThat(second.get(JwtUtil.USER_ID_CLAIM, Number.class).longValue()).isEqualTo(42L);
+        assertThat(jwtUtil.verifiedCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTamperedTokenIsNeverCached() {
+        JwtUtil jwtUtil = newJwtUtil(10_000);
+        String token = jwtUtil.generateToken(newUser());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtil.parseClaims(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.verifiedCacheSize()).isZero();
+    }
+
+    // What validating a token cost before: filter extractUsername, then validateToken's
+    // extractUsername and extractExpiration, each decoding the key and building a parser
+    private void validateTheOldWay(String token) {
+        String username = parseTheOldWay(token).getSubject();
+        boolean valid = username.equals(parseTheOldWay(token).getSubject())
+                && !parseTheOldWay(token).getExpiration().before(new Date());
+        assertThat(valid).isTrue();
+    }
+
+    private Claims parseTheOldWay(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private JwtUtil newJwtUtil(int verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private User newUser() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("benchuser");
+        user.setEmail("benchuser@example.com");
+        user.setPassword("password");
+        user.setRole(UserRole.ATTENDEE);
+        return user;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Time is passed in, so the buckets are checked without waiting
+public class StripedTokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRefill() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(4, 1024);
+        long key = StripedTokenBuckets.key(0, "10.0.0.1");
+        long now = 1_000 * SECOND;
+
+        // Five at once, then one per second
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire(key, 5, SECOND, now)).isZero();
+        }
+        assertThat(buckets.tryAcquire(key, 5, SECOND, now)).isEqualTo(SECOND);
+        assertThat(buckets.tryAcquire(key, 5, SECOND, now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(buckets.tryAcquire(key, 5, SECOND, now + SECOND)).isZero();
+        assertThat(buckets.tryAcquire(key, 5, SECOND, now + SECOND)).isPositive();
+
+        // Other keys are untouched
+        assertThat(buckets.tryAcquire(StripedTokenBuckets.key(0, "10.0.0.2"), 5, SECOND, now)).isZero();
+        assertThat(buckets.tryAcquire(StripedTokenBuckets.key(1, "10.0.0.1"), 5, SECOND, now)).isZero();
+    }
+
+    @Test
+    public void testIdleBucketsAreEvicted() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 8);
+        long now = 1_000 * SECOND;
+
+        for (long user = 0; user < 8; user++) {
+            buckets.tryAcquire(StripedTokenBuckets.key(0, user), 2, SECOND, now);
+        }
+        assertThat(buckets.size(now)).isEqualTo(8);
+
+        // A second later every bucket has refilled, so they count as gone and their slots are reused
+        assertThat(buckets.size(now + SECOND)).isZero();
+        for (long user = 100; user < 108; user++) {
+            assertThat(buckets.tryAcquire(StripedTokenBuckets.key(0, user), 2, SECOND, now + SECOND)).isZero();
+        }
+        assertThat(buckets.size(now + SECOND)).isEqualTo(8);
+    }
+
+    @Test
+    public void testAcquireThroughput() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 262_144);
+        long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = StripedTokenBuckets.key(0, "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        int iterations = 2_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            buckets.tryAcquire(keys[i % keys.length], 10, SECOND, System.nanoTime());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("Token buckets: %d ns per acquire over %d keys%n", elapsed / iterations, keys.length);
+        assertThat(buckets.size(System.nanoTime())).isEqualTo(keys.length);
+    }
+}
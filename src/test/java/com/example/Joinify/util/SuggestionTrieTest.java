@@ -0,0 +1,214 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SuggestionTrieTest {
+
+    private static final int TITLE = 0;
+    private static final int LOCATION = 1;
+
+    @Test
+    public void testSuggestsByWordPrefixBestFirst() {
+        SuggestionTrie trie = new SuggestionTrie(2, 3);
+        trie.put(1, 10, 100, "Java Conference", "Bangalore");
+        trie.put(2, 50, 200, "JavaScript Meetup", "Bangalore");
+        trie.put(3, 5, 50, "Jazz Night", "Pune");
+        trie.put(4, 5, 40, "Data Conference", "Bangkok");
+
+        // More popular first, whatever the date
+        assertThat(texts(trie.suggest("ja", 10))).containsExactly("JavaScript Meetup", "Java Conference", "Jazz Night");
+        assertThat(texts(trie.suggest("JAVA", 10))).containsExactly("JavaScript Meetup", "Java Conference");
+        // Found from later words too
+        assertThat(texts(trie.suggest("conf", 10))).containsExactly("Java Conference", "Data Conference");
+        assertThat(trie.suggest("x", 10)).isEmpty();
+        assertThat(trie.suggest("javaz", 10)).isEmpty();
+        assertThat(trie.suggest("  ", 10)).isEmpty();
+
+        // Events in the same place share one suggestion, led by the best of them
+        List<SuggestionTrie.Suggestion> places = trie.suggest("bang", 10);
+        assertThat(texts(places)).containsExactly("Bangalore", "Bangkok");
+        assertThat(places.get(0).getKind()).isEqualTo(LOCATION);
+        assertThat(places.get(0).getBestItemId()).isEqualTo(2L);
+        assertThat(places.get(0).getItemCount()).isEqualTo(2);
+
+        // Only the top few are kept per prefix
+        assertThat(trie.suggest("b", 10)).hasSize(2);
+        assertThat(trie.suggest("j", 10)).hasSize(3);
+        assertThat(trie.suggest("j", 1)).hasSize(1);
+    }
+
+    @Test
+    public void testUpdatesAndRemovals() {
+        SuggestionTrie trie = new SuggestionTrie(2, 3);
+        trie.put(1, 10, 100, "Java Conference", "Bangalore");
+        trie.put(2, 50, 200, "JavaScript Meetup", "Bangalore");
+        trie.put(3, 5, 50, "Jazz Night", "Pune");
+
+        // Retitled and moved
+        trie.put(2, 1, 200, "Rust Meetup", "Chennai");
+        assertThat(texts(trie.suggest("ja", 10))).containsExactly("Java Conference", "Jazz Night");
+        assertThat(trie.suggest("bang", 10).get(0).getItemCount()).isEqualTo(1);
+        assertThat(texts(trie.suggest("r", 10))).containsExactly("Rust Meetup");
+
+        // Same text, sooner wins at equal popularity
+        trie.put(4, 5, 20, "Jazz Night", null);
+        assertThat(trie.suggest("jazz", 10).get(0).getBestItemId()).isEqualTo(4L);
+
+        trie.remove(1);
+        trie.remove(4);
+        assertThat(trie.suggest("bang", 10)).isEmpty();
+        assertThat(texts(trie.suggest("j", 10))).containsExactly("Jazz Night");
+        assertThat(trie.size()).isEqualTo(2);
+
+        trie.remove(2);
+        trie.remove(3);
+        assertThat(trie.suggest("j", 10)).isEmpty();
+        assertThat(trie.size()).isZero();
+    }
+
+    @Test
+    public void testMatchesABruteForceScan() {
+        Random random = new Random(1);
+        String[] words = { "java", "jazz", "jam", "data", "dance", "dan", "conference", "con", "meetup", "meet" };
+        SuggestionTrie trie = new SuggestionTrie(2, 5);
+        Map<Long, Object[]> events = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                trie.remove(id);
+                events.remove(id);
+            } else {
+                String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                String location = words[random.nextInt(words.length)];
+                long popularity = random.nextInt(20);
+                long time = random.nextInt(1000);
+                trie.put(id, popularity, time, title, location);
+                events.put(id, new Object[] { popularity, time, title, location });
+            }
+            if (step % 97 == 0) {
+                String prefix = words[random.nextInt(words.length)].substring(0, 1 + random.nextInt(2));
+                assertThat(describe(trie.suggest(prefix, 5))).as(prefix).isEqualTo(scan(events, prefix, 5));
+            }
+        }
+    }
+
+    @Test
+    public void testBulkLoadRanksLikePut() {
+        Random random = new Random(5);
+        String[] words = { "java", "jazz", "jam", "data", "dance", "dan", "conference", "con", "meetup", "meet" };
+        SuggestionTrie one = new SuggestionTrie(2, 5);
+        SuggestionTrie bulk = new SuggestionTrie(2, 5);
+        for (long id = 1; id <= 2_000; id++) {
+            String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            String location = words[random.nextInt(words.length)];
+            long popularity = random.nextInt(50);
+            long time = random.nextInt(1000);
+            one.put(id, popularity, time, title, location);
+            bulk.add(id, popularity, time, title, location);
+        }
+        bulk.rank();
+
+        for (String word : words) {
+            for (int length = 1; length <= word.length(); length++) {
+                String prefix = word.substring(0, length);
+                assertThat(describe(bulk.suggest(prefix, 5))).as(prefix).isEqualTo(describe(one.suggest(prefix, 5)));
+            }
+        }
+    }
+
+    @Test
+    public void testLookupLatencyOverManyEvents() {
+        Random random = new Random(3);
+        String[] words = new String[20_000];
+        for (int i = 0; i < words.length; i++) {
+            char[] letters = new char[4 + random.nextInt(7)];
+            for (int c = 0; c < letters.length; c++) {
+                letters[c] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(letters);
+        }
+
+        int events = 200_000;
+        SuggestionTrie trie = new SuggestionTrie(2, 10);
+        for (long id = 1; id <= events; id++) {
+            String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " " + words[random.nextInt(words.length)];
+            trie.add(id, random.nextInt(200), random.nextInt(1_000_000), title, words[random.nextInt(2_000)]);
+        }
+        trie.rank();
+
+        int lookups = 20_000;
+        long[] nanos = new long[lookups];
+        for (int i = 0; i < lookups + 5_000; i++) {
+            String word = words[random.nextInt(words.length)];
+            String prefix = word.substring(0, 1 + random.nextInt(word.length()));
+            long start = System.nanoTime();
+            trie.suggest(prefix, 10);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 5_000) {
+                nanos[i - 5_000] = elapsed;
+            }
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("Suggestions over %d events: p50 %.1f us, p99 %.1f us%n",
+                events, nanos[lookups / 2] / 1e3, nanos[lookups * 99 / 100] / 1e3);
+        assertThat(nanos[lookups / 2]).isLessThan(1_000_000L);
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionTrie.Suggestion::getText).toList();
+    }
+
+    private static List<String> describe(List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream()
+                .map(s -> s.getText() + "/" + s.getKind() + "/" + s.getBestItemId())
+                .toList();
+    }
+
+    // Every phrase with a word (of its first four) starting with the prefix, ranked the trie's way
+    private static List<String> scan(Map<Long, Object[]> events, String prefix, int limit) {
+        Map<String, long[]> best = new HashMap<>();
+        for (Map.Entry<Long, Object[]> event : events.entrySet()) {
+            Object[] fields = event.getValue();
+            for (int kind = TITLE; kind <= LOCATION; kind++) {
+                String text = (String) fields[2 + kind];
+                String[] textWords = text.split(" ");
+                boolean matches = false;
+                for (int w = 0; w < Math.min(4, textWords.length); w++) {
+                    matches |= textWords[w].startsWith(prefix);
+                }
+                if (!matches) {
+                    continue;
+                }
+                // Lower sorts first: most popular, then soonest, then lowest id
+                long[] rank = { -(Long) fields[0], (Long) fields[1], event.getKey() };
+                best.merge(kind + "|" + text, rank, (a, b) -> Arrays.compare(a, b) <= 0 ? a : b);
+            }
+        }
+        List<String> keys = new ArrayList<>(best.keySet());
+        keys.sort((a, b) -> {
+            int compare = Arrays.compare(best.get(a), best.get(b));
+            if (compare != 0) {
+                return compare;
+            }
+            compare = a.substring(2).compareTo(b.substring(2));
+            return compare != 0 ? compare : a.compareTo(b);
+        });
+        List<String> expected = new ArrayList<>();
+        for (String key : keys.subList(0, Math.min(limit, keys.size()))) {
+            expected.add(key.substring(2) + "/" + key.charAt(0) + "/" + best.get(key)[2]);
+        }
+        return expected;
+    }
+}
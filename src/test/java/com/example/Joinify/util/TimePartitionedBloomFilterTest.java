@@ -0,0 +1,65 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimePartitionedBloomFilterTest {
+
+    @Test
+    public void testNoFalseNegativesAndFewFalsePositives() {
+        long now = System.currentTimeMillis();
+        TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(900_000, 60_000, 10_000, 0.001);
+
+        String[] revoked = new String[10_000];
+        for (int i = 0; i < revoked.length; i++) {
+            revoked[i] = UUID.randomUUID().toString();
+            filter.add(revoked[i], now + 600_000);
+        }
+        for (String key : revoked) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // Configured for 0.1%; allow some slack for chance
+        assertThat(falsePositives).isLessThan(300);
+        System.out.printf("Revocation filter: %d false positives in 100000, %d KiB%n",
+                falsePositives, filter.sizeInBytes() / 1024);
+    }
+
+    @Test
+    public void testExpiredKeysAreForgotten() throws InterruptedException {
+        TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(200, 20, 100, 0.001);
+
+        filter.add("short", System.currentTimeMillis() + 30);
+        filter.add("long", System.currentTimeMillis() + 150);
+        filter.add("expired", System.currentTimeMillis() - 1);
+        assertThat(filter.mightContain("short")).isTrue();
+        assertThat(filter.mightContain("expired")).isFalse();
+
+        // Past the short key's slot, but not the long key's
+        Thread.sleep(80);
+        assertThat(filter.mightContain("short")).isFalse();
+        assertThat(filter.mightContain("long")).isTrue();
+    }
+
+    @Test
+    public void testMemoryStaysFixedAsSlotsAreReused() throws InterruptedException {
+        TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(50, 10, 100, 0.01);
+        long size = filter.sizeInBytes();
+
+        for (int round = 0; round < 20; round++) {
+            filter.add("key-" + round, System.currentTimeMillis() + 40);
+            Thread.sleep(5);
+        }
+        assertThat(filter.sizeInBytes()).isEqualTo(size);
+        assertThat(filter.mightContain("key-19")).isTrue();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransactionHooksTest {
+
+    @Test
+    public void testRunsStraightAwayOutsideATransaction() {
+        List<String> ran = new ArrayList<>();
+        TransactionHooks.afterCommit(() -> ran.add("commit"));
+        TransactionHooks.afterCompletion(() -> ran.add("completion"));
+        TransactionHooks.onRollback(() -> ran.add("rollback"));
+
+        assertThat(ran).containsExactly("commit", "completion");
+    }
+
+    @Test
+    public void testWaitsForTheOutcomeInsideATransaction() {
+        assertThat(end(TransactionSynchronization.STATUS_COMMITTED)).containsExactly("commit", "completion");
+        assertThat(end(TransactionSynchronization.STATUS_ROLLED_BACK)).containsExactly("completion", "rollback");
+    }
+
+    // Register one of each hook in a simulated transaction, then end it with the given status
+    private static List<String> end(int status) {
+        List<String> ran = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionHooks.afterCommit(() -> ran.add("commit"));
+            TransactionHooks.afterCompletion(() -> ran.add("completion"));
+            TransactionHooks.onRollback(() -> ran.add("rollback"));
+            assertThat(ran).isEmpty();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        return ran;
+    }
+}
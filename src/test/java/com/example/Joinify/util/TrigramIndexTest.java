@@ -0,0 +1,77 @@
+package com.example.Joinify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void testFindsCloseSpellings() {
+        TrigramIndex index = new TrigramIndex();
+        for (String word : List.of("conference", "conferences", "confluence", "bangalore", "bangkok", "meetup")) {
+            index.add(word);
+        }
+
+        assertThat(terms(index.similar("confrence", 1, 32, 8))).containsExactly("conference");
+        assertThat(terms(index.similar("confrence", 2, 32, 8))).containsExactly("conference", "conferences", "confluence");
+        assertThat(terms(index.similar("bangalor", 1, 32, 8))).containsExactly("bangalore");
+        // Swapped neighbours count as one edit
+        assertThat(index.similar("meetpu", 1, 32, 8)).extracting(TrigramIndex.Match::getDistance).containsExactly(1);
+        assertThat(index.similar("zzzzzz", 2, 32, 8)).isEmpty();
+
+        index.remove("bangalore");
+        assertThat(index.similar("bangalor", 1, 32, 8)).isEmpty();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testDistanceStopsAtTheBudget() {
+        assertThat(TrigramIndex.distance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(TrigramIndex.distance("kitten", "sitting", 1)).isEqualTo(2);
+        assertThat(TrigramIndex.distance("abcd", "abdc", 1)).isEqualTo(1);
+        assertThat(TrigramIndex.distance("same", "same", 0)).isZero();
+    }
+
+    @Test
+    public void testLookupLatencyOverALargeVocabulary() {
+        Random random = new Random(7);
+        String[] words = new String[200_000];
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < words.length; i++) {
+            char[] letters = new char[5 + random.nextInt(8)];
+            for (int c = 0; c < letters.length; c++) {
+                letters[c] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(letters);
+            index.add(words[i]);
+        }
+
+        int lookups = 5_000;
+        long[] nanos = new long[lookups];
+        for (int i = 0; i < lookups + 1_000; i++) {
+            String word = words[random.nextInt(words.length)];
+            // One letter dropped from the middle
+            String typo = word.substring(0, word.length() / 2) + word.substring(word.length() / 2 + 1);
+            long start = System.nanoTime();
+            List<TrigramIndex.Match> matches = index.similar(typo, InvertedIndex.maxEdits(typo), 32, 8);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 1_000) {
+                nanos[i - 1_000] = elapsed;
+                assertThat(terms(matches)).contains(word);
+            }
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("Spelling lookup over %d words: p50 %.1f us, p99 %.1f us%n",
+                words.length, nanos[lookups / 2] / 1e3, nanos[lookups * 99 / 100] / 1e3);
+    }
+
+    private static List<String> terms(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::getTerm).toList();
+    }
+}